@@ -0,0 +1,153 @@
+package io.github.v4runsharma.ratelimiter.benchmark;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.aspect.RateLimitAspect;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.key.DefaultRateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.metrics.MicrometerRateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.redis.RedisRateLimiter;
+import io.github.v4runsharma.ratelimiter.support.AnnotationRateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitContext;
+import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitEnforcer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Enforcement hot path, layer by layer.
+ * <p>{@code backend=fake} (default) answers Redis calls in-process; {@code -p backend=container}
+ * starts a Redis container through Testcontainers (requires Docker).
+ * Throughput and sample-time modes report ops/s and latency percentiles; add {@code -prof gc} for
+ * allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnforcementBenchmark {
+
+  @Param({"fake"})
+  public String backend;
+
+  private GenericContainer<?> redisContainer;
+  private LettuceConnectionFactory connectionFactory;
+
+  private LimitedService proxy;
+  private DefaultRateLimitEnforcer enforcer;
+  private DefaultRateLimitKeyResolver keyResolver;
+  private MicrometerRateLimitMetricsRecorder metricsRecorder;
+  private RedisRateLimiter rateLimiter;
+  private RateLimitContext context;
+  private RateLimitPolicy policy;
+  private RateLimitDecision decision;
+
+  @Setup(Level.Trial)
+  public void setUp() throws NoSuchMethodException {
+    rateLimiter = new RedisRateLimiter(redisTemplate(), Clock.systemUTC(), "ratelimiter", false, true);
+    keyResolver = new DefaultRateLimitKeyResolver();
+    metricsRecorder = new MicrometerRateLimitMetricsRecorder(new SimpleMeterRegistry());
+    enforcer = new DefaultRateLimitEnforcer(
+        rateLimiter,
+        new AnnotationRateLimitPolicyProvider(),
+        keyResolver,
+        List.of(),
+        metricsRecorder
+    );
+
+    ProxyFactory proxyFactory = new ProxyFactory(new LimitedService());
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvice(new RateLimitAspect(enforcer));
+    proxy = (LimitedService) proxyFactory.getProxy();
+
+    context = new DefaultRateLimitContext(
+        LimitedService.class.getMethod("handle").getAnnotation(RateLimit.class),
+        LimitedService.class,
+        LimitedService.class.getMethod("handle"),
+        new Object[0],
+        null
+    );
+    policy = new RateLimitPolicy(Integer.MAX_VALUE, Duration.ofSeconds(1), "GLOBAL");
+    decision = new RateLimitDecision(true, 0L, null, Duration.ofSeconds(1));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (connectionFactory != null) {
+      connectionFactory.destroy();
+    }
+    if (redisContainer != null) {
+      redisContainer.stop();
+    }
+  }
+
+  @Benchmark
+  public String aspectInvoke() {
+    return proxy.handle();
+  }
+
+  @Benchmark
+  public RateLimitDecision enforcerEvaluate() {
+    return enforcer.evaluate(context);
+  }
+
+  @Benchmark
+  public String keyResolverResolveKey() {
+    return keyResolver.resolveKey(context);
+  }
+
+  @Benchmark
+  public void metricsRecordDecision() {
+    metricsRecorder.recordDecision("bench", policy, decision, Duration.ofNanos(1_000));
+  }
+
+  @Benchmark
+  public RateLimitDecision redisRateLimiterEvaluate() {
+    return rateLimiter.evaluate("global:bench", policy);
+  }
+
+  private StringRedisTemplate redisTemplate() {
+    if ("fake".equals(backend)) {
+      return new InProcessRedisTemplate();
+    }
+    if (!"container".equals(backend)) {
+      throw new IllegalArgumentException("Unknown backend: " + backend);
+    }
+    redisContainer = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+    redisContainer.start();
+    connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    return new StringRedisTemplate(connectionFactory);
+  }
+
+  public static class LimitedService {
+
+    @RateLimit(limit = Integer.MAX_VALUE, duration = 1)
+    public String handle() {
+      return "ok";
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package io.github.v4runsharma.ratelimiter.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * {@link StringRedisTemplate} answering every script call in-process, so benchmarks measure the
+ * client-side cost of an evaluation without network or server time.
+ * <p>The canned reply {@code [1, 1, 0, 1000]} reads as "allowed" for every scripted algorithm.
+ */
+final class InProcessRedisTemplate extends StringRedisTemplate {
+
+  private static final List<Object> ALLOWED_REPLY = List.of(1L, 1L, 0L, 1_000L);
+
+  private final RedisConnection connection;
+
+  InProcessRedisTemplate() {
+    RedisScriptingCommands scriptingCommands = (RedisScriptingCommands) Proxy.newProxyInstance(
+        getClass().getClassLoader(),
+        new Class<?>[] {RedisScriptingCommands.class},
+        (proxy, method, args) -> method.getName().startsWith("eval") ? ALLOWED_REPLY : null
+    );
+    this.connection = (RedisConnection) Proxy.newProxyInstance(
+        getClass().getClassLoader(),
+        new Class<?>[] {RedisConnection.class},
+        (proxy, method, args) -> "scriptingCommands".equals(method.getName()) ? scriptingCommands : null
+    );
+  }
+
+  @Override
+  public <T> T execute(RedisCallback<T> action) {
+    return action.doInRedis(connection);
+  }
+}
@@ -4,6 +4,7 @@ import io.github.v4runsharma.ratelimiter.key.RateLimitKeyResolver;
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
@@ -14,11 +15,13 @@ import java.util.concurrent.TimeUnit;
  * This annotation is part of the public API only:
  * - It carries configuration metadata.
  * - Enforcement is done elsewhere (aspect/interceptor + RateLimiter).
+ * Repeat it to combine limits, e.g. 10 per second and 1000 per hour (see {@link RateLimits}).
  */
 @Documented
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
+@Repeatable(RateLimits.class)
 public @interface RateLimit {
 
   /**
@@ -35,9 +38,16 @@ public @interface RateLimit {
 
   /**
    * Maximum number of allowed requests within the window.
+   * For token buckets this is the refill rate: {@code limit} tokens are added evenly over {@link #duration()}.
    */
   int limit();
 
+  /**
+   * Burst capacity: how many requests may be admitted back-to-back (token bucket / GCRA).
+   * Values {@code <= 0} mean "same as {@link #limit()}".
+   */
+  int burst() default 0;
+
   /**
    * Window size (in {@link #timeUnit()} units).
    */
@@ -48,6 +58,32 @@ public @interface RateLimit {
    */
   TimeUnit timeUnit() default TimeUnit.SECONDS;
 
+  /**
+   * Optional counting algorithm (e.g., "fixed-window", "sliding-window", "token-bucket", "gcra").
+   * Blank means "not explicitly set"; the starter falls back to the globally configured algorithm.
+   */
+  String algorithm() default "";
+
+  /**
+   * Local quota lease size for hot keys (fixed window only).
+   * Each node reserves this many permits from Redis in one call and hands them out in memory until
+   * the slice runs out. Values {@code <= 1} evaluate every request against Redis.
+   */
+  int lease() default 0;
+
+  /**
+   * Permits consumed by each call, e.g. {@code 50} for a bulk export next to {@code 1} for a lookup.
+   * A call that does not fit the remaining budget is denied without consuming anything.
+   */
+  int cost() default 1;
+
+  /**
+   * Optional SpEL expression computing the cost from the method arguments, e.g. {@code "#items.size()"}.
+   * Arguments are available by name ({@code #items}) and index ({@code #p0}). When set, it takes
+   * precedence over {@link #cost()}; results below 1 count as 1.
+   */
+  String costExpression() default "";
+
   /**
    * Key resolver type to compute the rate limit key for this annotation.
    * Note: defaulting to the interface type acts as a sentinel meaning
@@ -60,6 +96,14 @@ public @interface RateLimit {
    */
   String key() default "";
 
+  /**
+   * Optional SpEL expression whose value is appended to the key, e.g. {@code "#userId"} or
+   * {@code "#request.remoteAddr"} for per-user or per-client limits.
+   * Arguments are available by name ({@code #userId}) and index ({@code #p0}). The expression is
+   * compiled once per method; it must not evaluate to {@code null}.
+   */
+  String keyExpression() default "";
+
   /**
    * Feature flag to disable enforcement without removing the annotation.
    */
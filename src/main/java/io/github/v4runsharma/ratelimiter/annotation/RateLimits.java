@@ -0,0 +1,22 @@
+package io.github.v4runsharma.ratelimiter.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeated {@link RateLimit} declarations.
+ * Several limits on one method or type form a composite limit: a call is admitted only when
+ * every limit admits it, and only then is it counted against all of them.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface RateLimits {
+
+  RateLimit[] value();
+}
@@ -2,48 +2,161 @@ package io.github.v4runsharma.ratelimiter.aspect;
 
 import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
 import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimitEnforcer;
 import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitContext;
+import io.github.v4runsharma.ratelimiter.web.RateLimitHandlerInterceptor;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Method interceptor entrypoint that enforces {@link RateLimit} on methods and classes.
+ * <p>Repeated {@link RateLimit} annotations are enforced together as one composite limit.
+ * <p>When a {@link ReactiveRateLimitEnforcer} is available, methods returning {@code Mono} or
+ * {@code Flux} are limited on subscription without blocking. Methods returning {@code CompletableFuture}
+ * or {@code CompletionStage} are invoked once the asynchronous evaluation admits the call, and a denial
+ * completes the returned future exceptionally. When the evaluation is already decided (local limiters,
+ * cached denials) the method runs on the calling thread with its thread-locals. Otherwise it starts on
+ * the thread that completed the evaluation, typically a Redis I/O thread, so it should hand blocking
+ * work to its own executor; an optional async executor moves such invocations off that thread instead.
+ * Other methods are enforced inline.
+ * <p>Controller methods already admitted by {@link RateLimitHandlerInterceptor} for the current
+ * request are not evaluated again.
  */
 public final class RateLimitAspect implements MethodInterceptor {
 
+  /**
+   * Name of the optional {@link Executor} bean that admitted {@code CompletionStage} methods are moved to
+   * when their evaluation completes asynchronously.
+   */
+  public static final String ASYNC_EXECUTOR_BEAN_NAME = "rateLimitAsyncExecutor";
+
+  private static final boolean REACTOR_PRESENT =
+      ClassUtils.isPresent("reactor.core.publisher.Mono", RateLimitAspect.class.getClassLoader());
+
   private final RateLimitEnforcer rateLimitEnforcer;
+  private final ReactiveRateLimitEnforcer reactiveRateLimitEnforcer;
+  private final Executor asyncExecutor;
+  private final ConcurrentMap<MethodClassKey, AnnotatedMethod> annotatedMethods = new ConcurrentHashMap<>();
 
   public RateLimitAspect(RateLimitEnforcer rateLimitEnforcer) {
+    this(rateLimitEnforcer, null);
+  }
+
+  /**
+   * @param reactiveRateLimitEnforcer optional enforcer for reactive return types (may be {@code null})
+   */
+  public RateLimitAspect(RateLimitEnforcer rateLimitEnforcer, ReactiveRateLimitEnforcer reactiveRateLimitEnforcer) {
+    this(rateLimitEnforcer, reactiveRateLimitEnforcer, null);
+  }
+
+  /**
+   * @param reactiveRateLimitEnforcer optional enforcer for reactive return types (may be {@code null})
+   * @param asyncExecutor runs {@code CompletionStage}-returning methods admitted by an evaluation that
+   *     completed on another thread (may be {@code null} to start them on that thread)
+   */
+  public RateLimitAspect(
+      RateLimitEnforcer rateLimitEnforcer,
+      ReactiveRateLimitEnforcer reactiveRateLimitEnforcer,
+      Executor asyncExecutor
+  ) {
     this.rateLimitEnforcer = Objects.requireNonNull(rateLimitEnforcer, "rateLimitEnforcer must not be null");
+    this.reactiveRateLimitEnforcer = REACTOR_PRESENT ? reactiveRateLimitEnforcer : null;
+    this.asyncExecutor = asyncExecutor;
   }
 
   @Override
   public Object invoke(MethodInvocation invocation) throws Throwable {
     Method interfaceMethod = invocation.getMethod();
     Class<?> targetClass = resolveTargetClass(invocation.getThis(), interfaceMethod.getDeclaringClass());
-    Method method = AopUtils.getMostSpecificMethod(interfaceMethod, targetClass);
-    RateLimit annotation = resolveAnnotation(method, targetClass);
+    AnnotatedMethod annotatedMethod = annotatedMethods.computeIfAbsent(
+        new MethodClassKey(interfaceMethod, targetClass),
+        key -> resolveAnnotatedMethod(interfaceMethod, targetClass)
+    );
 
-    if (annotation == null || !annotation.enabled()) {
+    if (annotatedMethod.annotations().isEmpty()) {
       return invocation.proceed();
     }
 
+    Method method = annotatedMethod.method();
+    if (enforcedByHandlerInterceptor(method)) {
+      return invocation.proceed();
+    }
     DefaultRateLimitContext context = new DefaultRateLimitContext(
-        annotation,
+        annotatedMethod.annotations(),
         targetClass,
         method,
         invocation.getArguments(),
         invocation.getThis()
     );
 
+    if (annotatedMethod.reactive()) {
+      return ReactiveInvocations.enforce(reactiveRateLimitEnforcer, context, invocation, method.getReturnType());
+    }
+
+    if (annotatedMethod.completionStage()) {
+      CompletableFuture<Void> permit = rateLimitEnforcer.enforceAsync(context).toCompletableFuture();
+      if (permit.isDone() || asyncExecutor == null) {
+        // A decided permit runs the method right here, on the caller thread.
+        return permit.thenCompose(ignored -> proceedAsync(invocation));
+      }
+      return permit.thenComposeAsync(ignored -> proceedAsync(invocation), asyncExecutor);
+    }
+
     rateLimitEnforcer.enforce(context);
     return invocation.proceed();
   }
 
+  private static boolean enforcedByHandlerInterceptor(Method method) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes != null && method.equals(attributes.getAttribute(
+        RateLimitHandlerInterceptor.ENFORCED_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+  }
+
+  private static boolean isCompletionStage(Class<?> returnType) {
+    return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+  }
+
+  private static CompletionStage<?> proceedAsync(MethodInvocation invocation) {
+    try {
+      Object result = invocation.proceed();
+      return result != null ? (CompletionStage<?>) result : CompletableFuture.completedFuture(null);
+    } catch (Throwable ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  private AnnotatedMethod resolveAnnotatedMethod(Method interfaceMethod, Class<?> targetClass) {
+    Method method = AopUtils.getMostSpecificMethod(interfaceMethod, targetClass);
+    List<RateLimit> annotations = resolveAnnotations(method, targetClass);
+    if (annotations.isEmpty()) {
+      return new AnnotatedMethod(method, List.of(), false, false);
+    }
+    Class<?> returnType = method.getReturnType();
+    return new AnnotatedMethod(
+        method,
+        annotations,
+        reactiveRateLimitEnforcer != null && ReactiveInvocations.isReactive(returnType),
+        isCompletionStage(returnType)
+    );
+  }
+
   private static Class<?> resolveTargetClass(Object target, Class<?> fallback) {
     if (target == null) {
       return fallback;
@@ -51,11 +164,62 @@ public final class RateLimitAspect implements MethodInterceptor {
     return AopUtils.getTargetClass(target);
   }
 
-  private static RateLimit resolveAnnotation(Method method, Class<?> targetClass) {
-    RateLimit methodLevel = AnnotatedElementUtils.findMergedAnnotation(method, RateLimit.class);
-    if (methodLevel != null) {
-      return methodLevel;
+  /**
+   * Method-level limits win over type-level ones; disabled limits are dropped.
+   */
+  private static List<RateLimit> resolveAnnotations(Method method, Class<?> targetClass) {
+    Set<RateLimit> declared = AnnotatedElementUtils.findMergedRepeatableAnnotations(method, RateLimit.class);
+    if (declared.isEmpty()) {
+      declared = AnnotatedElementUtils.findMergedRepeatableAnnotations(targetClass, RateLimit.class);
+    }
+    return declared.stream().filter(RateLimit::enabled).toList();
+  }
+
+  /**
+   * Annotation lookup result for one (method, target class) pair, resolved on first invocation.
+   *
+   * @param annotations effective annotations, empty when the method is not limited
+   */
+  private record AnnotatedMethod(
+      Method method,
+      List<RateLimit> annotations,
+      boolean reactive,
+      boolean completionStage
+  ) {
+  }
+
+  /**
+   * Reactor-specific code, kept in its own class so it only loads when Reactor is on the classpath.
+   */
+  private static final class ReactiveInvocations {
+
+    static boolean isReactive(Class<?> returnType) {
+      return Mono.class.isAssignableFrom(returnType) || Flux.class.isAssignableFrom(returnType);
+    }
+
+    static Object enforce(
+        ReactiveRateLimitEnforcer enforcer,
+        DefaultRateLimitContext context,
+        MethodInvocation invocation,
+        Class<?> returnType
+    ) {
+      Mono<Void> permit = enforcer.enforce(context);
+      if (Mono.class.isAssignableFrom(returnType)) {
+        return permit.then(Mono.defer(() -> (Mono<?>) proceed(invocation, true)));
+      }
+      return permit.thenMany(Flux.defer(() -> (Flux<?>) proceed(invocation, false)));
+    }
+
+    private static Object proceed(MethodInvocation invocation, boolean mono) {
+      try {
+        Object result = invocation.proceed();
+        if (result != null) {
+          return result;
+        }
+        return mono ? Mono.empty() : Flux.empty();
+      } catch (Throwable ex) {
+        return mono ? Mono.error(ex) : Flux.error(ex);
+      }
     }
-    return AnnotatedElementUtils.findMergedAnnotation(targetClass, RateLimit.class);
   }
 }
@@ -0,0 +1,76 @@
+package io.github.v4runsharma.ratelimiter.config;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicyOverride;
+import io.github.v4runsharma.ratelimiter.support.OverridableRateLimitPolicyProvider;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Re-reads {@code ratelimiter.policies} from the {@link Environment} and hands the overrides to an
+ * {@link OverridableRateLimitPolicyProvider}.
+ * <p>Runs on Spring Cloud's {@code EnvironmentChangeEvent} when it is on the classpath (refresh
+ * endpoint, config server, Kubernetes config maps), and whenever {@link #refresh()} is called, e.g.
+ * after updating a property source from another remote configuration system. Invalid overrides are
+ * logged and the previous ones stay in effect.
+ */
+public final class RateLimitPolicyRefresher implements ApplicationListener<ApplicationEvent> {
+
+  private static final Log logger = LogFactory.getLog(RateLimitPolicyRefresher.class);
+
+  private static final String PREFIX = "ratelimiter.policies";
+  private static final String ENVIRONMENT_CHANGE_EVENT =
+      "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+  private final Environment environment;
+  private final OverridableRateLimitPolicyProvider policyProvider;
+  private final Class<?> refreshEventType;
+
+  public RateLimitPolicyRefresher(Environment environment, OverridableRateLimitPolicyProvider policyProvider) {
+    this.environment = Objects.requireNonNull(environment, "environment must not be null");
+    this.policyProvider = Objects.requireNonNull(policyProvider, "policyProvider must not be null");
+    ClassLoader classLoader = RateLimitPolicyRefresher.class.getClassLoader();
+    this.refreshEventType = ClassUtils.isPresent(ENVIRONMENT_CHANGE_EVENT, classLoader)
+        ? ClassUtils.resolveClassName(ENVIRONMENT_CHANGE_EVENT, classLoader)
+        : null;
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationEvent event) {
+    if (refreshEventType != null && refreshEventType.isInstance(event)) {
+      refresh();
+    }
+  }
+
+  /**
+   * Binds the current overrides and applies them atomically.
+   *
+   * @return {@code false} when the overrides are invalid and the previous ones were kept
+   */
+  public boolean refresh() {
+    try {
+      Map<String, RateLimiterProperties.Policy> policies = Binder.get(environment)
+          .bind(PREFIX, Bindable.mapOf(String.class, RateLimiterProperties.Policy.class))
+          .orElseGet(Map::of);
+      policyProvider.update(toOverrides(policies));
+      return true;
+    } catch (RuntimeException ex) {
+      logger.warn("Ignoring invalid " + PREFIX + " overrides; keeping the previous ones", ex);
+      return false;
+    }
+  }
+
+  static Map<String, RateLimitPolicyOverride> toOverrides(Map<String, RateLimiterProperties.Policy> policies) {
+    Map<String, RateLimitPolicyOverride> overrides = new HashMap<>();
+    policies.forEach((name, policy) -> overrides.put(name, policy.toOverride()));
+    return overrides;
+  }
+}
@@ -1,23 +1,50 @@
 package io.github.v4runsharma.ratelimiter.config;
 
 import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.annotation.RateLimits;
 import io.github.v4runsharma.ratelimiter.aspect.RateLimitAspect;
 import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
 import io.github.v4runsharma.ratelimiter.core.RateLimitPolicyProvider;
 import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimiter;
 import io.github.v4runsharma.ratelimiter.exception.RateLimitExceptionHandler;
+import io.github.v4runsharma.ratelimiter.key.ClientAddressResolver;
+import io.github.v4runsharma.ratelimiter.key.ClientIpKeyResolver;
 import io.github.v4runsharma.ratelimiter.key.DefaultRateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.key.HeaderKeyResolver;
+import io.github.v4runsharma.ratelimiter.key.PrincipalKeyResolver;
+import io.github.v4runsharma.ratelimiter.local.DenialCachingRateLimiter;
+import io.github.v4runsharma.ratelimiter.local.InMemoryRateLimiter;
+import io.github.v4runsharma.ratelimiter.local.TwoTierRateLimiter;
 import io.github.v4runsharma.ratelimiter.key.RateLimitKeyResolver;
 import io.github.v4runsharma.ratelimiter.metrics.MicrometerRateLimitMetricsRecorder;
 import io.github.v4runsharma.ratelimiter.metrics.NoOpRateLimitMetricsRecorder;
 import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.redis.BatchingRedisRateLimiter;
+import io.github.v4runsharma.ratelimiter.redis.ReactiveRedisRateLimiter;
+import io.github.v4runsharma.ratelimiter.redis.RedisNodeHeartbeat;
 import io.github.v4runsharma.ratelimiter.redis.RedisRateLimiter;
+import io.github.v4runsharma.ratelimiter.resilience.CircuitBreaker;
+import io.github.v4runsharma.ratelimiter.resilience.FailureMode;
+import io.github.v4runsharma.ratelimiter.resilience.ResilientRateLimiter;
 import io.github.v4runsharma.ratelimiter.support.AnnotationRateLimitPolicyProvider;
 import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.support.DefaultReactiveRateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.support.OverridableRateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.web.RateLimitHandlerInterceptor;
+import io.github.v4runsharma.ratelimiter.web.RateLimitResponseWriter;
+import io.github.v4runsharma.ratelimiter.web.RateLimitRule;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
 import org.aopalliance.intercept.MethodInterceptor;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
 import org.springframework.beans.factory.ObjectProvider;
@@ -25,6 +52,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -32,14 +60,27 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
 import org.springframework.http.ProblemDetail;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.publisher.Mono;
 
 /**
- * Auto-configuration for redis-backed rate limiting.
+ * Auto-configuration for redis-backed rate limiting, with an in-memory fallback when Redis is absent.
  */
-@AutoConfiguration(after = {RedisAutoConfiguration.class, AopAutoConfiguration.class})
+@AutoConfiguration(after = {
+    RedisAutoConfiguration.class,
+    RedisReactiveAutoConfiguration.class,
+    AopAutoConfiguration.class
+})
 @ConditionalOnClass({StringRedisTemplate.class, Advisor.class, MethodInterceptor.class})
 @EnableConfigurationProperties(RateLimiterProperties.class)
 @ConditionalOnProperty(prefix = "ratelimiter", name = "enabled", havingValue = "true", matchIfMissing = true)
@@ -47,8 +88,21 @@ public class RateLimiterAutoConfiguration {
 
   @Bean
   @ConditionalOnMissingBean(RateLimitPolicyProvider.class)
-  public RateLimitPolicyProvider rateLimitPolicyProvider() {
-    return new AnnotationRateLimitPolicyProvider();
+  public OverridableRateLimitPolicyProvider rateLimitPolicyProvider(RateLimiterProperties properties) {
+    return new OverridableRateLimitPolicyProvider(
+        new AnnotationRateLimitPolicyProvider(properties.getAlgorithm(), properties.getLeaseSizes()),
+        RateLimitPolicyRefresher.toOverrides(properties.getPolicies())
+    );
+  }
+
+  @Bean
+  @ConditionalOnMissingBean(RateLimitPolicyRefresher.class)
+  @ConditionalOnBean(OverridableRateLimitPolicyProvider.class)
+  public RateLimitPolicyRefresher rateLimitPolicyRefresher(
+      Environment environment,
+      OverridableRateLimitPolicyProvider policyProvider
+  ) {
+    return new RateLimitPolicyRefresher(environment, policyProvider);
   }
 
   @Bean("defaultRateLimitKeyResolver")
@@ -60,13 +114,92 @@ public class RateLimiterAutoConfiguration {
   @Bean
   @ConditionalOnMissingBean(RateLimiter.class)
   @ConditionalOnBean(StringRedisTemplate.class)
-  public RateLimiter redisRateLimiter(StringRedisTemplate redisTemplate, RateLimiterProperties properties) {
-    return new RedisRateLimiter(
+  @ConditionalOnProperty(prefix = "ratelimiter", name = "backend", havingValue = "redis", matchIfMissing = true)
+  public RateLimiter redisRateLimiter(
+      StringRedisTemplate redisTemplate,
+      RateLimiterProperties properties,
+      RateLimitMetricsRecorder metricsRecorder
+  ) {
+    RateLimiterProperties.Resilience resilience = properties.getResilience();
+    RedisRateLimiter redisRateLimiter = new RedisRateLimiter(
         redisTemplate,
         java.time.Clock.systemUTC(),
         properties.getRedisKeyPrefix(),
-        properties.isFailOpen()
+        // With resilience enabled, backend failures must reach the circuit breaker.
+        properties.isFailOpen() && !resilience.isEnabled(),
+        properties.isScriptEnabled(),
+        properties.getRedisKeyLayout(),
+        properties.getRedisKeyCodec()
     );
+    RateLimiter rateLimiter = redisRateLimiter;
+    RateLimiterProperties.Batching batching = properties.getBatching();
+    if (batching.isEnabled()) {
+      rateLimiter = new BatchingRedisRateLimiter(redisRateLimiter, batching.getWindow(), batching.getMaxSize());
+    }
+    if (resilience.isEnabled()) {
+      rateLimiter = resilientRateLimiter(rateLimiter, properties, metricsRecorder);
+    }
+    RateLimiterProperties.TwoTier twoTier = properties.getTwoTier();
+    if (twoTier.isEnabled()) {
+      RateLimiterProperties.InMemory inMemory = properties.getInMemory();
+      IntSupplier nodeCount = twoTier.getNodeCount() > 0
+          ? twoTier::getNodeCount
+          : new RedisNodeHeartbeat(
+              redisTemplate,
+              java.time.Clock.systemUTC(),
+              properties.getRedisKeyPrefix() + ":nodes",
+              twoTier.getHeartbeatInterval()
+          );
+      rateLimiter = new TwoTierRateLimiter(
+          rateLimiter,
+          new InMemoryRateLimiter(java.time.Clock.systemUTC(), inMemory.getMaxKeys(), inMemory.getSweepInterval()),
+          nodeCount,
+          twoTier.getMargin()
+      );
+    }
+    RateLimiterProperties.DenialCache denialCache = properties.getDenialCache();
+    if (denialCache.isEnabled()) {
+      rateLimiter = new DenialCachingRateLimiter(rateLimiter, java.time.Clock.systemUTC(), denialCache.getMaxSize());
+    }
+    return rateLimiter;
+  }
+
+  private static RateLimiter resilientRateLimiter(
+      RateLimiter rateLimiter,
+      RateLimiterProperties properties,
+      RateLimitMetricsRecorder metricsRecorder
+  ) {
+    RateLimiterProperties.Resilience resilience = properties.getResilience();
+    FailureMode failureMode = resilience.getFailureMode() != null
+        ? resilience.getFailureMode()
+        : (properties.isFailOpen() ? FailureMode.FAIL_OPEN : FailureMode.FAIL_CLOSED);
+    RateLimiter localFallback = null;
+    if (failureMode == FailureMode.DEGRADE_LOCAL) {
+      RateLimiterProperties.InMemory inMemory = properties.getInMemory();
+      localFallback = new InMemoryRateLimiter(
+          java.time.Clock.systemUTC(), inMemory.getMaxKeys(), inMemory.getSweepInterval());
+    }
+    CircuitBreaker circuitBreaker = new CircuitBreaker(
+        resilience.getWindowSize(),
+        resilience.getMinimumCalls(),
+        resilience.getFailureRateThreshold(),
+        resilience.getSlowCallDuration(),
+        resilience.getSlowCallRateThreshold(),
+        resilience.getOpenDuration(),
+        resilience.getHalfOpenProbes()
+    );
+    return new ResilientRateLimiter(
+        rateLimiter, resilience.getTimeout(), circuitBreaker, failureMode, localFallback, metricsRecorder);
+  }
+
+  /**
+   * Selected with {@code ratelimiter.backend=in-memory}, and the fallback when no Redis template exists.
+   */
+  @Bean
+  @ConditionalOnMissingBean(RateLimiter.class)
+  public RateLimiter inMemoryRateLimiter(RateLimiterProperties properties) {
+    RateLimiterProperties.InMemory inMemory = properties.getInMemory();
+    return new InMemoryRateLimiter(java.time.Clock.systemUTC(), inMemory.getMaxKeys(), inMemory.getSweepInterval());
   }
 
   @Bean
@@ -77,7 +210,8 @@ public class RateLimiterAutoConfiguration {
       RateLimitPolicyProvider policyProvider,
       @Qualifier("defaultRateLimitKeyResolver") RateLimitKeyResolver defaultKeyResolver,
       ObjectProvider<RateLimitKeyResolver> keyResolversProvider,
-      RateLimitMetricsRecorder metricsRecorder
+      RateLimitMetricsRecorder metricsRecorder,
+      RateLimiterProperties properties
   ) {
     List<RateLimitKeyResolver> keyResolvers = keyResolversProvider.orderedStream().toList();
     return new DefaultRateLimitEnforcer(
@@ -85,22 +219,35 @@ public class RateLimiterAutoConfiguration {
         policyProvider,
         defaultKeyResolver,
         keyResolvers,
-        metricsRecorder
+        metricsRecorder,
+        properties.isFastRejection()
     );
   }
 
   @Bean
   @ConditionalOnMissingBean(RateLimitAspect.class)
   @ConditionalOnBean(RateLimitEnforcer.class)
-  public RateLimitAspect rateLimitInterceptor(RateLimitEnforcer enforcer) {
-    return new RateLimitAspect(enforcer);
+  public RateLimitAspect rateLimitInterceptor(
+      RateLimitEnforcer enforcer,
+      ObjectProvider<ReactiveRateLimitEnforcer> reactiveEnforcerProvider,
+      @Qualifier(RateLimitAspect.ASYNC_EXECUTOR_BEAN_NAME) ObjectProvider<Executor> asyncExecutorProvider
+  ) {
+    return new RateLimitAspect(
+        enforcer,
+        reactiveEnforcerProvider.getIfAvailable(),
+        asyncExecutorProvider.getIfAvailable()
+    );
   }
 
   @Bean
   @ConditionalOnMissingBean(name = "rateLimitAdvisor")
   @ConditionalOnBean(RateLimitEnforcer.class)
   public Advisor rateLimitAdvisor(RateLimitAspect interceptor) {
-    AnnotationMatchingPointcut pointcut = new AnnotationMatchingPointcut(RateLimit.class, RateLimit.class, true);
+    // Repeated @RateLimit annotations are stored in their @RateLimits container.
+    ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(RateLimit.class, true))
+        .union(new AnnotationMatchingPointcut(RateLimits.class, true))
+        .union(new AnnotationMatchingPointcut(null, RateLimit.class, true))
+        .union(new AnnotationMatchingPointcut(null, RateLimits.class, true));
     return new DefaultPointcutAdvisor(pointcut, interceptor);
   }
 
@@ -109,7 +256,7 @@ public class RateLimiterAutoConfiguration {
   @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
   @ConditionalOnClass({ProblemDetail.class, ExceptionHandler.class})
   public RateLimitExceptionHandler rateLimitExceptionHandler(RateLimiterProperties properties) {
-    return new RateLimitExceptionHandler(properties.isIncludeHttpHeaders());
+    return new RateLimitExceptionHandler(properties.isIncludeHttpHeaders(), properties.isFastRejection());
   }
 
   @Bean
@@ -126,4 +273,156 @@ public class RateLimiterAutoConfiguration {
   public RateLimitMetricsRecorder noOpRateLimitMetricsRecorder() {
     return new NoOpRateLimitMetricsRecorder();
   }
+
+  /**
+   * Non-blocking limiter and enforcer for {@code Mono}/{@code Flux} returning methods.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass({Mono.class, ReactiveStringRedisTemplate.class})
+  static class ReactiveRateLimiterConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveRateLimiter.class)
+    @ConditionalOnBean(ReactiveRedisConnectionFactory.class)
+    public ReactiveRateLimiter reactiveRedisRateLimiter(
+        ReactiveRedisConnectionFactory connectionFactory,
+        RateLimiterProperties properties
+    ) {
+      return new ReactiveRedisRateLimiter(
+          new ReactiveStringRedisTemplate(connectionFactory),
+          java.time.Clock.systemUTC(),
+          properties.getRedisKeyPrefix(),
+          properties.isFailOpen(),
+          properties.getRedisKeyLayout(),
+          properties.getRedisKeyCodec()
+      );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveRateLimitEnforcer.class)
+    @ConditionalOnBean(ReactiveRateLimiter.class)
+    public ReactiveRateLimitEnforcer reactiveRateLimitEnforcer(
+        ReactiveRateLimiter rateLimiter,
+        RateLimitPolicyProvider policyProvider,
+        @Qualifier("defaultRateLimitKeyResolver") RateLimitKeyResolver defaultKeyResolver,
+        ObjectProvider<RateLimitKeyResolver> keyResolversProvider,
+        RateLimitMetricsRecorder metricsRecorder,
+        RateLimiterProperties properties
+    ) {
+      List<RateLimitKeyResolver> keyResolvers = keyResolversProvider.orderedStream().toList();
+      return new DefaultReactiveRateLimitEnforcer(
+          rateLimiter,
+          policyProvider,
+          defaultKeyResolver,
+          keyResolvers,
+          metricsRecorder,
+          properties.isFastRejection()
+      );
+    }
+  }
+
+  /**
+   * Enforcement in a Spring MVC interceptor, enabled with {@code ratelimiter.web.enabled=true}.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  @ConditionalOnClass({HandlerInterceptor.class, WebMvcConfigurer.class})
+  @ConditionalOnProperty(prefix = "ratelimiter.web", name = "enabled", havingValue = "true")
+  static class WebRateLimiterConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitHandlerInterceptor.class)
+    @ConditionalOnBean(RateLimitEnforcer.class)
+    public RateLimitHandlerInterceptor rateLimitHandlerInterceptor(
+        RateLimitEnforcer enforcer,
+        RateLimiter rateLimiter,
+        RateLimitMetricsRecorder metricsRecorder,
+        ObjectProvider<ClientAddressResolver> addressResolverProvider,
+        RateLimiterProperties properties
+    ) {
+      List<RateLimitRule> rules = properties.getWeb().getRules().stream()
+          .map(rule -> toRule(rule, properties))
+          .toList();
+      return new RateLimitHandlerInterceptor(
+          enforcer,
+          rateLimiter,
+          rules,
+          metricsRecorder,
+          new RateLimitResponseWriter(properties.isIncludeHttpHeaders()),
+          addressResolverProvider.getIfAvailable(() -> clientAddressResolver(properties))
+      );
+    }
+
+    @Bean
+    @ConditionalOnBean(RateLimitHandlerInterceptor.class)
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(RateLimitHandlerInterceptor interceptor) {
+      return new WebMvcConfigurer() {
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+          registry.addInterceptor(interceptor).order(Ordered.HIGHEST_PRECEDENCE);
+        }
+      };
+    }
+
+    private static ClientAddressResolver clientAddressResolver(RateLimiterProperties properties) {
+      RateLimiterProperties.Keys keys = properties.getKeys();
+      return new ClientAddressResolver(keys.getTrustedProxies(), keys.getForwardedHeader());
+    }
+
+    private static RateLimitRule toRule(RateLimiterProperties.Rule rule, RateLimiterProperties properties) {
+      RateLimitPolicy policy = new RateLimitPolicy(
+          rule.getLimit(),
+          rule.getDuration(),
+          rule.getScope(),
+          rule.getAlgorithm() != null ? rule.getAlgorithm() : properties.getAlgorithm(),
+          rule.getBurst() > 0 ? rule.getBurst() : rule.getLimit()
+      );
+      return new RateLimitRule(rule.getPattern(), Set.copyOf(rule.getMethods()), rule.getName(), policy);
+    }
+  }
+
+  /**
+   * Key resolvers reading the client address, principal or a header of the current servlet request.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+  @ConditionalOnClass(HttpServletRequest.class)
+  static class ServletKeyResolverConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(ClientAddressResolver.class)
+    public ClientAddressResolver rateLimitClientAddressResolver(RateLimiterProperties properties) {
+      RateLimiterProperties.Keys keys = properties.getKeys();
+      return new ClientAddressResolver(keys.getTrustedProxies(), keys.getForwardedHeader());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClientIpKeyResolver.class)
+    public ClientIpKeyResolver clientIpKeyResolver(
+        @Qualifier("defaultRateLimitKeyResolver") RateLimitKeyResolver defaultKeyResolver,
+        ClientAddressResolver addressResolver
+    ) {
+      return new ClientIpKeyResolver(defaultKeyResolver, addressResolver);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PrincipalKeyResolver.class)
+    public PrincipalKeyResolver principalKeyResolver(
+        @Qualifier("defaultRateLimitKeyResolver") RateLimitKeyResolver defaultKeyResolver,
+        RateLimiterProperties properties
+    ) {
+      return new PrincipalKeyResolver(defaultKeyResolver, properties.getKeys().getMaxIdentityLength());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(HeaderKeyResolver.class)
+    public HeaderKeyResolver headerKeyResolver(
+        @Qualifier("defaultRateLimitKeyResolver") RateLimitKeyResolver defaultKeyResolver,
+        RateLimiterProperties properties
+    ) {
+      RateLimiterProperties.Keys keys = properties.getKeys();
+      return new HeaderKeyResolver(
+          defaultKeyResolver, keys.getHeader(), keys.isHashHeaderValues(), keys.getMaxIdentityLength());
+    }
+  }
 }
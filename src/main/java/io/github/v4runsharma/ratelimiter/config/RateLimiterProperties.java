@@ -1,5 +1,15 @@
 package io.github.v4runsharma.ratelimiter.config;
 
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicyOverride;
+import io.github.v4runsharma.ratelimiter.redis.RedisKeyCodec;
+import io.github.v4runsharma.ratelimiter.redis.RedisKeyLayout;
+import io.github.v4runsharma.ratelimiter.resilience.FailureMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,11 +23,26 @@ public class RateLimiterProperties {
    */
   private boolean enabled = true;
 
+  /**
+   * Backend that evaluates limits. Without a {@code StringRedisTemplate} the in-memory engine is used.
+   */
+  private Backend backend = Backend.REDIS;
+
   /**
    * Redis key prefix used for rate-limit buckets.
    */
   private String redisKeyPrefix = "ratelimiter";
 
+  /**
+   * Layout of Redis keys; {@code hash-tag} keeps all buckets of a key in one Redis Cluster slot.
+   */
+  private RedisKeyLayout redisKeyLayout = RedisKeyLayout.STANDARD;
+
+  /**
+   * Encoding of Redis keys; {@code compact} stores a short key digest and a base-36 window index.
+   */
+  private RedisKeyCodec redisKeyCodec = RedisKeyCodec.PLAIN;
+
   /**
    * Failure strategy when Redis is unavailable.
    * <p>- false: fail-closed (throw exception)
@@ -25,16 +50,78 @@ public class RateLimiterProperties {
    */
   private boolean failOpen = false;
 
+  /**
+   * Whether Redis evaluations run as a single atomic Lua script (EVALSHA with EVAL fallback)
+   * instead of separate INCR and EXPIRE commands.
+   */
+  private boolean scriptEnabled = true;
+
+  /**
+   * Algorithm used when {@code @RateLimit} does not declare one.
+   */
+  private RateLimitAlgorithm algorithm = RateLimitAlgorithm.FIXED_WINDOW;
+
   /**
    * Whether HTTP 429 responses should include rate-limit headers.
    */
   private boolean includeHttpHeaders = true;
 
+  /**
+   * Whether denials raise stackless exceptions and 429 bodies are built from cached per-limit templates.
+   */
+  private boolean fastRejection = false;
+
   /**
    * Whether Micrometer metrics should be recorded when a MeterRegistry is present.
    */
   private boolean metricsEnabled = true;
 
+  /**
+   * Local quota lease sizes by {@code @RateLimit} name, for hot fixed-window keys.
+   * A node reserves this many permits per Redis call and hands them out from memory.
+   */
+  private Map<String, Integer> leaseSizes = new HashMap<>();
+
+  /**
+   * Limit, window, algorithm and burst overrides by {@code @RateLimit} name, re-read on configuration refresh.
+   */
+  private Map<String, Policy> policies = new HashMap<>();
+
+  /**
+   * Client-side coalescing of concurrent Redis evaluations.
+   */
+  private final Batching batching = new Batching();
+
+  /**
+   * In-process cache of denied keys.
+   */
+  private final DenialCache denialCache = new DenialCache();
+
+  /**
+   * Process-local engine used for {@code backend=in-memory} or when Redis is absent.
+   */
+  private final InMemory inMemory = new InMemory();
+
+  /**
+   * Per-node local limit checked before Redis.
+   */
+  private final TwoTier twoTier = new TwoTier();
+
+  /**
+   * Deadline, circuit breaker and failure mode around the Redis backend.
+   */
+  private final Resilience resilience = new Resilience();
+
+  /**
+   * Spring MVC enforcement before argument resolution.
+   */
+  private final Web web = new Web();
+
+  /**
+   * Request-based key resolvers.
+   */
+  private final Keys keys = new Keys();
+
   public boolean isEnabled() {
     return enabled;
   }
@@ -43,6 +130,14 @@ public class RateLimiterProperties {
     this.enabled = enabled;
   }
 
+  public Backend getBackend() {
+    return backend;
+  }
+
+  public void setBackend(Backend backend) {
+    this.backend = backend;
+  }
+
   public String getRedisKeyPrefix() {
     return redisKeyPrefix;
   }
@@ -51,6 +146,22 @@ public class RateLimiterProperties {
     this.redisKeyPrefix = redisKeyPrefix;
   }
 
+  public RedisKeyLayout getRedisKeyLayout() {
+    return redisKeyLayout;
+  }
+
+  public void setRedisKeyLayout(RedisKeyLayout redisKeyLayout) {
+    this.redisKeyLayout = redisKeyLayout;
+  }
+
+  public RedisKeyCodec getRedisKeyCodec() {
+    return redisKeyCodec;
+  }
+
+  public void setRedisKeyCodec(RedisKeyCodec redisKeyCodec) {
+    this.redisKeyCodec = redisKeyCodec;
+  }
+
   public boolean isFailOpen() {
     return failOpen;
   }
@@ -59,6 +170,22 @@ public class RateLimiterProperties {
     this.failOpen = failOpen;
   }
 
+  public boolean isScriptEnabled() {
+    return scriptEnabled;
+  }
+
+  public void setScriptEnabled(boolean scriptEnabled) {
+    this.scriptEnabled = scriptEnabled;
+  }
+
+  public RateLimitAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  public void setAlgorithm(RateLimitAlgorithm algorithm) {
+    this.algorithm = algorithm;
+  }
+
   public boolean isIncludeHttpHeaders() {
     return includeHttpHeaders;
   }
@@ -67,6 +194,14 @@ public class RateLimiterProperties {
     this.includeHttpHeaders = includeHttpHeaders;
   }
 
+  public boolean isFastRejection() {
+    return fastRejection;
+  }
+
+  public void setFastRejection(boolean fastRejection) {
+    this.fastRejection = fastRejection;
+  }
+
   public boolean isMetricsEnabled() {
     return metricsEnabled;
   }
@@ -74,4 +209,644 @@ public class RateLimiterProperties {
   public void setMetricsEnabled(boolean metricsEnabled) {
     this.metricsEnabled = metricsEnabled;
   }
+
+  public Map<String, Integer> getLeaseSizes() {
+    return leaseSizes;
+  }
+
+  public void setLeaseSizes(Map<String, Integer> leaseSizes) {
+    this.leaseSizes = leaseSizes;
+  }
+
+  public Map<String, Policy> getPolicies() {
+    return policies;
+  }
+
+  public void setPolicies(Map<String, Policy> policies) {
+    this.policies = policies;
+  }
+
+  public Batching getBatching() {
+    return batching;
+  }
+
+  public DenialCache getDenialCache() {
+    return denialCache;
+  }
+
+  public InMemory getInMemory() {
+    return inMemory;
+  }
+
+  public TwoTier getTwoTier() {
+    return twoTier;
+  }
+
+  public Resilience getResilience() {
+    return resilience;
+  }
+
+  public Web getWeb() {
+    return web;
+  }
+
+  public Keys getKeys() {
+    return keys;
+  }
+
+  /**
+   * Where rate-limit state is kept.
+   */
+  public enum Backend {
+
+    /**
+     * Shared counters in Redis, enforced across all nodes.
+     */
+    REDIS,
+
+    /**
+     * Counters in this JVM only; each node enforces the full limit on its own.
+     */
+    IN_MEMORY
+  }
+
+  /**
+   * Settings for pipelining concurrent evaluations into one Redis exchange.
+   */
+  public static class Batching {
+
+    /**
+     * Whether concurrent evaluations are coalesced into pipelined batches.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long to wait for more evaluations after the first one of a batch.
+     */
+    private Duration window = Duration.ofNanos(200_000);
+
+    /**
+     * Maximum number of evaluations sent in one pipeline.
+     */
+    private int maxSize = 64;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+      return window;
+    }
+
+    public void setWindow(Duration window) {
+      this.window = window;
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+      this.maxSize = maxSize;
+    }
+  }
+
+  /**
+   * Settings for answering already-denied keys locally until their retry time.
+   */
+  public static class DenialCache {
+
+    /**
+     * Whether denied keys are answered in-process until the backend's retry-after elapses.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of denied keys kept in memory.
+     */
+    private int maxSize = 10_000;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+      this.maxSize = maxSize;
+    }
+  }
+
+  /**
+   * Settings for the process-local rate limiter.
+   */
+  public static class InMemory {
+
+    /**
+     * Maximum number of keys tracked; beyond it, expired keys are purged and new keys denied.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * How often expired keys are removed in the background.
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    public int getMaxKeys() {
+      return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+      this.maxKeys = maxKeys;
+    }
+
+    public Duration getSweepInterval() {
+      return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+      this.sweepInterval = sweepInterval;
+    }
+  }
+
+  /**
+   * Settings for the in-process tier in front of the Redis limiter.
+   */
+  public static class TwoTier {
+
+    /**
+     * Whether requests must first pass a per-node share of the limit before Redis is consulted.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Expected number of nodes; 0 discovers it through a Redis heartbeat key.
+     */
+    private int nodeCount = 0;
+
+    /**
+     * Extra share added to the per-node limit, as a fraction of it.
+     */
+    private double margin = 0.1d;
+
+    /**
+     * How often each node refreshes its heartbeat when the node count is discovered.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getNodeCount() {
+      return nodeCount;
+    }
+
+    public void setNodeCount(int nodeCount) {
+      this.nodeCount = nodeCount;
+    }
+
+    public double getMargin() {
+      return margin;
+    }
+
+    public void setMargin(double margin) {
+      this.margin = margin;
+    }
+
+    public Duration getHeartbeatInterval() {
+      return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+      this.heartbeatInterval = heartbeatInterval;
+    }
+  }
+
+  /**
+   * Settings for the circuit breaker guarding the Redis backend.
+   */
+  public static class Resilience {
+
+    /**
+     * Whether Redis calls run with a deadline behind a circuit breaker.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum time to wait for one Redis evaluation.
+     */
+    private Duration timeout = Duration.ofMillis(100);
+
+    /**
+     * How failed, timed-out and short-circuited calls are decided; defaults to {@code fail-open} or
+     * {@code fail-closed} following {@code ratelimiter.fail-open}.
+     */
+    private FailureMode failureMode;
+
+    /**
+     * Number of most recent calls the failure and slow-call rates are computed over.
+     */
+    private int windowSize = 100;
+
+    /**
+     * Minimum number of recorded calls before the circuit can open.
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * Share of failed calls (0-1] that opens the circuit.
+     */
+    private double failureRateThreshold = 0.5d;
+
+    /**
+     * Calls slower than this count as slow.
+     */
+    private Duration slowCallDuration = Duration.ofMillis(50);
+
+    /**
+     * Share of slow calls (0-1] that opens the circuit.
+     */
+    private double slowCallRateThreshold = 0.8d;
+
+    /**
+     * How long the circuit stays open before probing Redis again.
+     */
+    private Duration openDuration = Duration.ofSeconds(5);
+
+    /**
+     * Number of probe calls that must succeed in half-open state to close the circuit.
+     */
+    private int halfOpenProbes = 5;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+
+    public FailureMode getFailureMode() {
+      return failureMode;
+    }
+
+    public void setFailureMode(FailureMode failureMode) {
+      this.failureMode = failureMode;
+    }
+
+    public int getWindowSize() {
+      return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+      this.windowSize = windowSize;
+    }
+
+    public int getMinimumCalls() {
+      return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+      this.minimumCalls = minimumCalls;
+    }
+
+    public double getFailureRateThreshold() {
+      return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+      this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public Duration getSlowCallDuration() {
+      return slowCallDuration;
+    }
+
+    public void setSlowCallDuration(Duration slowCallDuration) {
+      this.slowCallDuration = slowCallDuration;
+    }
+
+    public double getSlowCallRateThreshold() {
+      return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+      this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public Duration getOpenDuration() {
+      return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+      this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenProbes() {
+      return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+      this.halfOpenProbes = halfOpenProbes;
+    }
+  }
+
+  /**
+   * Settings for enforcing limits in a Spring MVC {@code HandlerInterceptor}.
+   */
+  public static class Web {
+
+    /**
+     * Whether {@code @RateLimit} on MVC handler methods and URL rules are enforced by a
+     * {@code HandlerInterceptor} before argument resolution.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Limits applied to requests by URL pattern, independent of annotations.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public List<Rule> getRules() {
+      return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+      this.rules = rules;
+    }
+  }
+
+  /**
+   * Limit applied to requests matching a URL pattern.
+   */
+  public static class Rule {
+
+    /**
+     * Path pattern, e.g. {@code /api/**}.
+     */
+    private String pattern;
+
+    /**
+     * HTTP methods the rule applies to; all methods when empty.
+     */
+    private List<String> methods = new ArrayList<>();
+
+    /**
+     * Logical limit name used for keys and metrics; the pattern when blank.
+     */
+    private String name;
+
+    /**
+     * Maximum number of requests per window.
+     */
+    private int limit;
+
+    /**
+     * Window length.
+     */
+    private Duration duration = Duration.ofSeconds(1);
+
+    /**
+     * Key scope: {@code GLOBAL}, {@code IP} or {@code USER}.
+     */
+    private String scope = "GLOBAL";
+
+    /**
+     * Algorithm for this rule; {@code ratelimiter.algorithm} when unset.
+     */
+    private RateLimitAlgorithm algorithm;
+
+    /**
+     * Token bucket capacity; the limit when 0.
+     */
+    private int burst;
+
+    public String getPattern() {
+      return pattern;
+    }
+
+    public void setPattern(String pattern) {
+      this.pattern = pattern;
+    }
+
+    public List<String> getMethods() {
+      return methods;
+    }
+
+    public void setMethods(List<String> methods) {
+      this.methods = methods;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getLimit() {
+      return limit;
+    }
+
+    public void setLimit(int limit) {
+      this.limit = limit;
+    }
+
+    public Duration getDuration() {
+      return duration;
+    }
+
+    public void setDuration(Duration duration) {
+      this.duration = duration;
+    }
+
+    public String getScope() {
+      return scope;
+    }
+
+    public void setScope(String scope) {
+      this.scope = scope;
+    }
+
+    public RateLimitAlgorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    public void setAlgorithm(RateLimitAlgorithm algorithm) {
+      this.algorithm = algorithm;
+    }
+
+    public int getBurst() {
+      return burst;
+    }
+
+    public void setBurst(int burst) {
+      this.burst = burst;
+    }
+  }
+
+  /**
+   * Settings for the client IP, principal and header key resolvers.
+   */
+  public static class Keys {
+
+    /**
+     * Proxy addresses or CIDR ranges whose forwarding header is trusted; the header is ignored when empty.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * Header listing the addresses a request was forwarded for.
+     */
+    private String forwardedHeader = "X-Forwarded-For";
+
+    /**
+     * Header read by {@code HeaderKeyResolver}, e.g. an API key.
+     */
+    private String header = "X-API-Key";
+
+    /**
+     * Whether header values are always replaced by a digest in keys.
+     */
+    private boolean hashHeaderValues = true;
+
+    /**
+     * Principal names and header values longer than this are replaced by a digest.
+     */
+    private int maxIdentityLength = 64;
+
+    public List<String> getTrustedProxies() {
+      return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+      this.trustedProxies = trustedProxies;
+    }
+
+    public String getForwardedHeader() {
+      return forwardedHeader;
+    }
+
+    public void setForwardedHeader(String forwardedHeader) {
+      this.forwardedHeader = forwardedHeader;
+    }
+
+    public String getHeader() {
+      return header;
+    }
+
+    public void setHeader(String header) {
+      this.header = header;
+    }
+
+    public boolean isHashHeaderValues() {
+      return hashHeaderValues;
+    }
+
+    public void setHashHeaderValues(boolean hashHeaderValues) {
+      this.hashHeaderValues = hashHeaderValues;
+    }
+
+    public int getMaxIdentityLength() {
+      return maxIdentityLength;
+    }
+
+    public void setMaxIdentityLength(int maxIdentityLength) {
+      this.maxIdentityLength = maxIdentityLength;
+    }
+  }
+
+  /**
+   * Overrides for the policy of one {@code @RateLimit} name; unset values keep the declared ones.
+   */
+  public static class Policy {
+
+    /**
+     * Maximum number of requests per window.
+     */
+    private Integer limit;
+
+    /**
+     * Window length.
+     */
+    private Duration duration;
+
+    /**
+     * Counting algorithm.
+     */
+    private RateLimitAlgorithm algorithm;
+
+    /**
+     * Token bucket capacity.
+     */
+    private Integer burst;
+
+    public Integer getLimit() {
+      return limit;
+    }
+
+    public void setLimit(Integer limit) {
+      this.limit = limit;
+    }
+
+    public Duration getDuration() {
+      return duration;
+    }
+
+    public void setDuration(Duration duration) {
+      this.duration = duration;
+    }
+
+    public RateLimitAlgorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    public void setAlgorithm(RateLimitAlgorithm algorithm) {
+      this.algorithm = algorithm;
+    }
+
+    public Integer getBurst() {
+      return burst;
+    }
+
+    public void setBurst(Integer burst) {
+      this.burst = burst;
+    }
+
+    public RateLimitPolicyOverride toOverride() {
+      return new RateLimitPolicyOverride(limit, duration, algorithm, burst);
+    }
+  }
 }
@@ -3,6 +3,7 @@ package io.github.v4runsharma.ratelimiter.core;
 import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 /**
  * Invocation context used by the starter to resolve:
@@ -20,6 +21,22 @@ public interface RateLimitContext {
    */
   RateLimit getAnnotation();
 
+  /**
+   * All effective {@link RateLimit} annotations, when the invocation is guarded by several limits.
+   * The first element is {@link #getAnnotation()}.
+   */
+  default List<RateLimit> getAnnotations() {
+    return List.of(getAnnotation());
+  }
+
+  /**
+   * Permits this invocation consumes when {@link RateLimit} does not declare a cost of its own.
+   * Callers enforcing limits programmatically can override it to weight invocations.
+   */
+  default int getCost() {
+    return 1;
+  }
+
   /**
    * The target class that declares or is proxied for the invocation.
    * Useful for composing keys, tagging metrics, and annotation lookup strategies.
@@ -2,6 +2,10 @@ package io.github.v4runsharma.ratelimiter.core;
 
 import io.github.v4runsharma.ratelimiter.exception.RateLimitExceededException;
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * High-level entry point for enforcing rate limits against an invocation context.
@@ -22,6 +26,29 @@ public interface RateLimitEnforcer {
    */
   RateLimitDecision evaluate(RateLimitContext context);
 
+  /**
+   * Consume a permit if the limit allows it, without raising an exception when it does not.
+   * <p>For callers that branch on the outcome, e.g. to degrade instead of failing.
+   *
+   * @return {@code true} when the invocation is allowed
+   */
+  default boolean tryAcquire(RateLimitContext context) {
+    return evaluate(context).isAllowed();
+  }
+
+  /**
+   * Evaluate the limits of several independent invocations, e.g. the items of one bulk request.
+   * <p>Returns one decision per context, in order; callers admit the allowed items and reject the
+   * others. The default implementation evaluates the contexts one after another.
+   */
+  default List<RateLimitDecision> evaluateAll(List<? extends RateLimitContext> contexts) {
+    List<RateLimitDecision> decisions = new ArrayList<>(contexts.size());
+    for (RateLimitContext context : contexts) {
+      decisions.add(evaluate(context));
+    }
+    return decisions;
+  }
+
   /**
    * Enforce the limit for the given context.
    * Typical flow in an implementation:
@@ -29,4 +56,30 @@ public interface RateLimitEnforcer {
    * - if denied, throw {@link RateLimitExceededException}
    */
   void enforce(RateLimitContext context) throws RateLimitExceededException;
+
+  /**
+   * Asynchronous variant of {@link #evaluate(RateLimitContext)}.
+   * <p>The default implementation evaluates synchronously on the calling thread.
+   */
+  default CompletionStage<RateLimitDecision> evaluateAsync(RateLimitContext context) {
+    try {
+      return CompletableFuture.completedFuture(evaluate(context));
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #enforce(RateLimitContext)}.
+   * <p>The returned stage completes normally when the invocation is allowed, or exceptionally with
+   * {@link RateLimitExceededException} when it is denied.
+   */
+  default CompletionStage<Void> enforceAsync(RateLimitContext context) {
+    try {
+      enforce(context);
+      return CompletableFuture.completedFuture(null);
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
 }
@@ -5,7 +5,7 @@ import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
 /**
  * Resolves the effective {@link RateLimitPolicy} for an invocation.
  * Why this exists:
- * - Keeps policy resolution (annotation defaults, config overrides later) separate from enforcement.
+ * - Keeps policy resolution (annotation defaults, config overrides) separate from enforcement.
  * - Allows swapping strategies without changing the {@code RateLimiter} implementation.
  */
 public interface RateLimitPolicyProvider {
@@ -2,10 +2,91 @@ package io.github.v4runsharma.ratelimiter.core;
 
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 // Evaluates a rate limit for a given key and policy
 public interface RateLimiter {
 
   RateLimitDecision evaluate(String key, RateLimitPolicy policy);
-}
 
+  /**
+   * Evaluates a request that consumes {@code cost} permits at once.
+   * <p>A denied request consumes nothing. Callers pass a cost other than 1 only to limiters whose
+   * {@link #supportsCost()} is {@code true}; the default implementation evaluates a cost of 1.
+   */
+  default RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
+    if (cost != 1) {
+      throw new IllegalArgumentException("cost must be 1 for a limiter without weighted permits");
+    }
+    return evaluate(key, policy);
+  }
+
+  /**
+   * Whether {@link #evaluate(String, RateLimitPolicy, int)} charges costs other than 1.
+   * <p>Checked when the metadata of a weighted {@code @RateLimit} method is resolved, so an unsupported
+   * cost fails there, naming the method and the limiter. The built-in backends charge any cost atomically.
+   */
+  default boolean supportsCost() {
+    return false;
+  }
+
+  /**
+   * Asynchronous variant of {@link #evaluate(String, RateLimitPolicy)}.
+   * <p>The default implementation evaluates synchronously on the calling thread; backends with a
+   * non-blocking client override it. Failures complete the stage exceptionally.
+   */
+  default CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy) {
+    try {
+      return CompletableFuture.completedFuture(evaluate(key, policy));
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  /**
+   * Asynchronous variant of {@link #evaluate(String, RateLimitPolicy, int)}.
+   */
+  default CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy, int cost) {
+    if (cost == 1) {
+      return evaluateAsync(key, policy);
+    }
+    try {
+      return CompletableFuture.completedFuture(evaluate(key, policy, cost));
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  /**
+   * Evaluates several limits (tiers) that together guard one request, e.g. "10/sec and 1000/hour".
+   * <p>Returns one decision per tier, in order; the request is admitted only if every decision
+   * admits. Backends that override this charge the tiers atomically and only when all of them admit.
+   * The default implementation evaluates the tiers one after another, so tiers that admit are
+   * charged even when another tier denies.
+   */
+  default List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    List<RateLimitDecision> decisions = new ArrayList<>(tiers.size());
+    for (RateLimitRequest tier : tiers) {
+      decisions.add(evaluate(tier.getKey(), tier.getPolicy(), tier.getCost()));
+    }
+    return decisions;
+  }
+
+  /**
+   * Evaluates independent requests at once, e.g. one per item of a bulk import or a fan-out query.
+   * <p>Each request is decided on its own (partial admission): one denial does not affect the other
+   * requests. Returns one decision per request, in order. The default implementation evaluates the
+   * requests one after another; backends override it to send all of them in one exchange.
+   */
+  default List<RateLimitDecision> evaluateAll(List<RateLimitRequest> requests) {
+    List<RateLimitDecision> decisions = new ArrayList<>(requests.size());
+    for (RateLimitRequest request : requests) {
+      decisions.add(evaluate(request.getKey(), request.getPolicy(), request.getCost()));
+    }
+    return decisions;
+  }
+}
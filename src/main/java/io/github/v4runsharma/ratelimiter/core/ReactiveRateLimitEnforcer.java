@@ -0,0 +1,27 @@
+package io.github.v4runsharma.ratelimiter.core;
+
+import io.github.v4runsharma.ratelimiter.exception.RateLimitExceededException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link RateLimitEnforcer}.
+ * Why this exists:
+ * - Lets {@code Mono}/{@code Flux} returning methods be limited without blocking event-loop threads.
+ * - Applies the same key/policy resolution rules as the blocking enforcer.
+ */
+public interface ReactiveRateLimitEnforcer {
+
+  /**
+   * Evaluate the limit for the given context on subscription.
+   *
+   * @return decision describing whether the invocation is allowed
+   */
+  Mono<RateLimitDecision> evaluate(RateLimitContext context);
+
+  /**
+   * Enforce the limit for the given context.
+   * Completes empty when allowed and errors with {@link RateLimitExceededException} when denied.
+   */
+  Mono<Void> enforce(RateLimitContext context);
+}
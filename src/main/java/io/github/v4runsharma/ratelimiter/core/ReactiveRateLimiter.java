@@ -0,0 +1,44 @@
+package io.github.v4runsharma.ratelimiter.core;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RateLimiter} for reactive applications.
+ * <p>Implementations must not block the subscribing thread; the evaluation happens on subscription.
+ */
+public interface ReactiveRateLimiter {
+
+  Mono<RateLimitDecision> evaluate(String key, RateLimitPolicy policy);
+
+  /**
+   * Reactive variant of {@link RateLimiter#evaluate(String, RateLimitPolicy, int)}, with the same semantics.
+   */
+  default Mono<RateLimitDecision> evaluate(String key, RateLimitPolicy policy, int cost) {
+    if (cost != 1) {
+      return Mono.error(new IllegalArgumentException("cost must be 1 for a limiter without weighted permits"));
+    }
+    return evaluate(key, policy);
+  }
+
+  /**
+   * Reactive variant of {@link RateLimiter#supportsCost()}, with the same semantics.
+   */
+  default boolean supportsCost() {
+    return false;
+  }
+
+  /**
+   * Reactive variant of {@link RateLimiter#evaluateComposite(List)}, with the same semantics.
+   * <p>The default implementation evaluates the tiers one after another.
+   */
+  default Mono<List<RateLimitDecision>> evaluateComposite(List<RateLimitRequest> tiers) {
+    return Flux.fromIterable(tiers)
+        .concatMap(tier -> evaluate(tier.getKey(), tier.getPolicy(), tier.getCost()))
+        .collectList();
+  }
+}
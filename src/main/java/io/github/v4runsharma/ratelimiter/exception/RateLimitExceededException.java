@@ -11,6 +11,8 @@ import java.util.Objects;
  * Typical usage:
  * - Aspect/interceptor throws this when {@link RateLimitDecision#isAllowed()} is false.
  * - Applications can translate it to HTTP 429 (Too Many Requests).
+ * The message is formatted once, on first access rather than at construction, and the stack trace can be
+ * left unfilled for hot rejection paths where it carries no information.
  */
 public final class RateLimitExceededException extends RuntimeException {
 
@@ -21,13 +23,28 @@ public final class RateLimitExceededException extends RuntimeException {
   private final String key;
   private final RateLimitPolicy policy;
   private final RateLimitDecision decision;
+  // Formatted on first access; a racing thread at worst formats the same immutable string again.
+  private transient String message;
 
   public RateLimitExceededException(String key, RateLimitPolicy policy, RateLimitDecision decision) {
     this(null, key, policy, decision);
   }
 
   public RateLimitExceededException(String name, String key, RateLimitPolicy policy, RateLimitDecision decision) {
-    super(buildMessage(name, key, policy, decision));
+    this(name, key, policy, decision, true);
+  }
+
+  /**
+   * @param writableStackTrace {@code false} to skip capturing the stack trace
+   */
+  public RateLimitExceededException(
+      String name,
+      String key,
+      RateLimitPolicy policy,
+      RateLimitDecision decision,
+      boolean writableStackTrace
+  ) {
+    super(null, null, true, writableStackTrace);
     this.name = (name == null || name.isBlank()) ? null : name;
     this.key = requireNonBlank(key);
     this.policy = Objects.requireNonNull(policy, "policy must not be null");
@@ -37,6 +54,16 @@ public final class RateLimitExceededException extends RuntimeException {
     }
   }
 
+  @Override
+  public String getMessage() {
+    String formatted = message;
+    if (formatted == null) {
+      formatted = buildMessage(name, key, policy, decision);
+      message = formatted;
+    }
+    return formatted;
+  }
+
   /** Optional logical name for the limit (may be null). */
   public String getName() {
     return name;
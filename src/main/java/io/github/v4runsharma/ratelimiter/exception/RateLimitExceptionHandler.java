@@ -1,9 +1,16 @@
 package io.github.v4runsharma.ratelimiter.exception;
 
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -14,19 +21,42 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 /**
  * Converts {@link RateLimitExceededException} into HTTP 429 responses.
+ * <p>With templated responses, the fields that only depend on the limit name and policy are
+ * prepared once per limit, the detail omits the per-call key and remaining time, and the
+ * timestamp is formatted at most once per second.
  */
 @ControllerAdvice
 public final class RateLimitExceptionHandler {
 
+  private static final int MAX_TEMPLATES = 1024;
+
   private final boolean includeHttpHeaders;
+  private final boolean templatedResponses;
+  private final ConcurrentMap<TemplateKey, ProblemTemplate> templates = new ConcurrentHashMap<>();
+  private volatile Timestamp timestamp = new Timestamp(0L, Instant.EPOCH.toString());
+
+  public RateLimitExceptionHandler(boolean includeHttpHeaders) {
+    this(includeHttpHeaders, false);
+  }
 
-  public RateLimitExceptionHandler(@Value("${ratelimiter.include-http-headers:true}") boolean includeHttpHeaders) {
+  /**
+   * @param templatedResponses whether 429 bodies are built from cached per-limit templates
+   */
+  @Autowired
+  public RateLimitExceptionHandler(
+      @Value("${ratelimiter.include-http-headers:true}") boolean includeHttpHeaders,
+      @Value("${ratelimiter.fast-rejection:false}") boolean templatedResponses
+  ) {
     this.includeHttpHeaders = includeHttpHeaders;
+    this.templatedResponses = templatedResponses;
   }
 
   @ExceptionHandler(RateLimitExceededException.class)
   public ResponseEntity<ProblemDetail> handleRateLimitExceeded(RateLimitExceededException ex) {
     Objects.requireNonNull(ex, "ex must not be null");
+    if (templatedResponses) {
+      return templatedResponse(ex);
+    }
 
     ProblemDetail detail = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
     detail.setTitle("Rate limit exceeded");
@@ -53,9 +83,76 @@ public final class RateLimitExceptionHandler {
     return new ResponseEntity<>(detail, headers, HttpStatus.TOO_MANY_REQUESTS);
   }
 
+  private ResponseEntity<ProblemDetail> templatedResponse(RateLimitExceededException ex) {
+    ProblemTemplate template = template(ex.getName(), ex.getPolicy());
+    long retryAfterSeconds = resolveRetryAfterSeconds(ex.getDecision(), ex.getPolicy().getWindow());
+
+    ProblemDetail detail = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
+    detail.setTitle("Rate limit exceeded");
+    detail.setDetail(template.detail());
+    Map<String, Object> properties = new LinkedHashMap<>(template.properties());
+    properties.put("timestamp", currentTimestamp());
+    properties.put("key", ex.getKey());
+    properties.put("retryAfterSeconds", retryAfterSeconds);
+    detail.setProperties(properties);
+
+    HttpHeaders headers = new HttpHeaders();
+    if (includeHttpHeaders) {
+      String retryAfter = Long.toString(retryAfterSeconds);
+      headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+      headers.set("RateLimit-Limit", template.limitHeader());
+      headers.set("RateLimit-Remaining", "0");
+      headers.set("RateLimit-Reset", retryAfter);
+    }
+    return new ResponseEntity<>(detail, headers, HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  private ProblemTemplate template(String name, RateLimitPolicy policy) {
+    TemplateKey key = new TemplateKey(name, policy);
+    ProblemTemplate template = templates.get(key);
+    if (template != null) {
+      return template;
+    }
+    if (templates.size() >= MAX_TEMPLATES) {
+      // Full: keep the cached templates hot and build this one without caching it.
+      return ProblemTemplate.of(name, policy);
+    }
+    return templates.computeIfAbsent(key, ignored -> ProblemTemplate.of(name, policy));
+  }
+
+  private String currentTimestamp() {
+    long epochSecond = System.currentTimeMillis() / 1000L;
+    Timestamp current = timestamp;
+    if (current.epochSecond() != epochSecond) {
+      current = new Timestamp(epochSecond, Instant.ofEpochSecond(epochSecond).toString());
+      timestamp = current;
+    }
+    return current.text();
+  }
+
   private static long resolveRetryAfterSeconds(RateLimitDecision decision, Duration fallbackWindow) {
     Duration retryAfter = decision.getRetryAfter().orElse(fallbackWindow);
     long seconds = retryAfter.toSeconds();
     return Math.max(1L, seconds);
   }
+
+  private record TemplateKey(String name, RateLimitPolicy policy) {
+  }
+
+  private record ProblemTemplate(String detail, Map<String, Object> properties, String limitHeader) {
+
+    static ProblemTemplate of(String name, RateLimitPolicy policy) {
+      Map<String, Object> properties = new LinkedHashMap<>();
+      properties.put("limit", policy.getLimit());
+      properties.put("windowSeconds", policy.getWindow().toSeconds());
+      if (name != null) {
+        properties.put("name", name);
+      }
+      String detail = name != null ? "Rate limit exceeded: " + name : "Rate limit exceeded";
+      return new ProblemTemplate(detail, Collections.unmodifiableMap(properties), Integer.toString(policy.getLimit()));
+    }
+  }
+
+  private record Timestamp(long epochSecond, String text) {
+  }
 }
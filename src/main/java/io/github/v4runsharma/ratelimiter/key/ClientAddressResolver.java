@@ -0,0 +1,329 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Determines the client address of a servlet request, honouring a forwarding header only when the
+ * request comes through a trusted proxy.
+ * <p>Starting from the connection's peer, addresses in {@code X-Forwarded-For} are walked from right
+ * to left while they belong to trusted proxies; the first untrusted one is the client. Without
+ * trusted proxies the header is ignored, so clients cannot choose their own bucket.
+ * <p>Addresses are parsed in place, without splitting the header, and returned in canonical form:
+ * dotted IPv4 (also for IPv4-mapped IPv6) and compressed lower-case IPv6 as in RFC 5952, e.g.
+ * {@code 2001:db8::1} for {@code 2001:0DB8:0:0:0:0:0:0001}. Ports, brackets and zone ids are dropped.
+ */
+public final class ClientAddressResolver {
+
+  private final List<AddressRange> trustedProxies;
+  private final String forwardedHeader;
+
+  public ClientAddressResolver(List<String> trustedProxies) {
+    this(trustedProxies, "X-Forwarded-For");
+  }
+
+  /**
+   * @param trustedProxies proxy addresses or CIDR ranges, e.g. {@code 10.0.0.0/8} or {@code ::1}
+   * @param forwardedHeader header listing the addresses a request was forwarded for
+   */
+  public ClientAddressResolver(List<String> trustedProxies, String forwardedHeader) {
+    Objects.requireNonNull(trustedProxies, "trustedProxies must not be null");
+    if (forwardedHeader == null || forwardedHeader.isBlank()) {
+      throw new IllegalArgumentException("forwardedHeader must not be blank");
+    }
+    List<AddressRange> ranges = new ArrayList<>(trustedProxies.size());
+    for (String proxy : trustedProxies) {
+      ranges.add(AddressRange.parse(proxy));
+    }
+    this.trustedProxies = List.copyOf(ranges);
+    this.forwardedHeader = forwardedHeader;
+  }
+
+  /**
+   * Canonical client address, or the raw remote address when it is not an IP literal.
+   */
+  public String resolve(HttpServletRequest request) {
+    Objects.requireNonNull(request, "request must not be null");
+    String remoteAddr = request.getRemoteAddr();
+    byte[] client = remoteAddr != null ? parse(remoteAddr, 0, remoteAddr.length()) : null;
+    if (client == null) {
+      return remoteAddr;
+    }
+    if (!isTrusted(client)) {
+      return format(client);
+    }
+
+    List<String> lines = Collections.list(request.getHeaders(forwardedHeader));
+    for (int line = lines.size() - 1; line >= 0; line--) {
+      String header = lines.get(line);
+      int end = header.length();
+      while (end > 0) {
+        int start = header.lastIndexOf(',', end - 1) + 1;
+        byte[] hop = parse(header, start, end);
+        if (hop == null) {
+          return format(client);
+        }
+        client = hop;
+        if (!isTrusted(client)) {
+          return format(client);
+        }
+        end = start - 1;
+      }
+    }
+    return format(client);
+  }
+
+  private boolean isTrusted(byte[] address) {
+    for (AddressRange range : trustedProxies) {
+      if (range.contains(address)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parses the IP literal in {@code value[from, to)}, ignoring surrounding whitespace, brackets,
+   * ports and zone ids.
+   *
+   * @return 4 or 16 address bytes, or {@code null} when the text is not an IP literal
+   */
+  static byte[] parse(String value, int from, int to) {
+    while (from < to && Character.isWhitespace(value.charAt(from))) {
+      from++;
+    }
+    while (to > from && Character.isWhitespace(value.charAt(to - 1))) {
+      to--;
+    }
+    if (from == to) {
+      return null;
+    }
+    if (value.charAt(from) == '[') {
+      int close = value.indexOf(']', from);
+      if (close < 0 || close >= to) {
+        return null;
+      }
+      from++;
+      to = close;
+    }
+    int zone = value.indexOf('%', from);
+    if (zone >= 0 && zone < to) {
+      to = zone;
+    }
+
+    int colon = value.indexOf(':', from);
+    if (colon < 0 || colon >= to) {
+      return parseIpv4(value, from, to);
+    }
+    if (value.indexOf(':', colon + 1) < 0 || value.indexOf(':', colon + 1) >= to) {
+      // host:port
+      return parseIpv4(value, from, colon);
+    }
+    byte[] address = parseIpv6(value, from, to);
+    return address != null && isIpv4Mapped(address) ? copyTail(address) : address;
+  }
+
+  private static byte[] parseIpv4(String value, int from, int to) {
+    byte[] address = new byte[4];
+    int part = 0;
+    int i = from;
+    while (part < 4) {
+      int octet = 0;
+      int digits = 0;
+      while (i < to && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+        octet = octet * 10 + (value.charAt(i) - '0');
+        if (++digits > 3 || octet > 255) {
+          return null;
+        }
+        i++;
+      }
+      if (digits == 0) {
+        return null;
+      }
+      address[part++] = (byte) octet;
+      if (part < 4) {
+        if (i >= to || value.charAt(i) != '.') {
+          return null;
+        }
+        i++;
+      }
+    }
+    return i == to ? address : null;
+  }
+
+  private static byte[] parseIpv6(String value, int from, int to) {
+    byte[] address = new byte[16];
+    int groups = 0;
+    int compressedAt = -1;
+    int i = from;
+    if (value.startsWith("::", i)) {
+      compressedAt = 0;
+      i += 2;
+    } else if (value.charAt(i) == ':') {
+      return null;
+    }
+
+    while (i < to) {
+      if (groups == 8) {
+        return null;
+      }
+      int start = i;
+      int group = 0;
+      int digits = 0;
+      while (i < to && Character.digit(value.charAt(i), 16) >= 0) {
+        group = (group << 4) | Character.digit(value.charAt(i), 16);
+        i++;
+        digits++;
+      }
+      if (i < to && value.charAt(i) == '.') {
+        byte[] ipv4 = groups <= 6 ? parseIpv4(value, start, to) : null;
+        if (ipv4 == null) {
+          return null;
+        }
+        System.arraycopy(ipv4, 0, address, groups * 2, 4);
+        groups += 2;
+        break;
+      }
+      if (digits == 0 || digits > 4) {
+        return null;
+      }
+      address[groups * 2] = (byte) (group >>> 8);
+      address[groups * 2 + 1] = (byte) group;
+      groups++;
+      if (i == to) {
+        break;
+      }
+      if (value.charAt(i) != ':') {
+        return null;
+      }
+      i++;
+      if (i < to && value.charAt(i) == ':') {
+        if (compressedAt >= 0) {
+          return null;
+        }
+        compressedAt = groups;
+        i++;
+      } else if (i == to) {
+        return null;
+      }
+    }
+
+    if (compressedAt < 0) {
+      return groups == 8 ? address : null;
+    }
+    if (groups == 8) {
+      return null;
+    }
+    int tailBytes = (groups - compressedAt) * 2;
+    System.arraycopy(address, compressedAt * 2, address, 16 - tailBytes, tailBytes);
+    Arrays.fill(address, compressedAt * 2, 16 - tailBytes, (byte) 0);
+    return address;
+  }
+
+  private static boolean isIpv4Mapped(byte[] address) {
+    for (int i = 0; i < 10; i++) {
+      if (address[i] != 0) {
+        return false;
+      }
+    }
+    return address[10] == (byte) 0xff && address[11] == (byte) 0xff;
+  }
+
+  private static byte[] copyTail(byte[] address) {
+    byte[] ipv4 = new byte[4];
+    System.arraycopy(address, 12, ipv4, 0, 4);
+    return ipv4;
+  }
+
+  static String format(byte[] address) {
+    if (address.length == 4) {
+      return (address[0] & 0xff) + "." + (address[1] & 0xff) + "." + (address[2] & 0xff) + "." + (address[3] & 0xff);
+    }
+
+    int bestStart = -1;
+    int bestLength = 1;
+    for (int group = 0; group < 8; ) {
+      if (group(address, group) != 0) {
+        group++;
+        continue;
+      }
+      int start = group;
+      while (group < 8 && group(address, group) == 0) {
+        group++;
+      }
+      if (group - start > bestLength) {
+        bestStart = start;
+        bestLength = group - start;
+      }
+    }
+
+    StringBuilder text = new StringBuilder(39);
+    for (int group = 0; group < 8; group++) {
+      if (group == bestStart) {
+        text.append("::");
+        group += bestLength - 1;
+        continue;
+      }
+      if (text.length() > 0 && text.charAt(text.length() - 1) != ':') {
+        text.append(':');
+      }
+      text.append(Integer.toHexString(group(address, group)));
+    }
+    return text.toString();
+  }
+
+  private static int group(byte[] address, int group) {
+    return ((address[group * 2] & 0xff) << 8) | (address[group * 2 + 1] & 0xff);
+  }
+
+  /**
+   * Address prefix of a trusted proxy.
+   */
+  private record AddressRange(byte[] network, int prefixLength) {
+
+    static AddressRange parse(String range) {
+      if (range == null || range.isBlank()) {
+        throw new IllegalArgumentException("trusted proxy must not be blank");
+      }
+      int slash = range.indexOf('/');
+      byte[] network = ClientAddressResolver.parse(range, 0, slash < 0 ? range.length() : slash);
+      if (network == null) {
+        throw new IllegalArgumentException("Invalid trusted proxy address: " + range);
+      }
+      int prefixLength = network.length * 8;
+      if (slash >= 0) {
+        try {
+          prefixLength = Integer.parseInt(range.substring(slash + 1).trim());
+        } catch (NumberFormatException ex) {
+          throw new IllegalArgumentException("Invalid trusted proxy prefix length: " + range, ex);
+        }
+        if (prefixLength < 0 || prefixLength > network.length * 8) {
+          throw new IllegalArgumentException("Invalid trusted proxy prefix length: " + range);
+        }
+      }
+      return new AddressRange(network, prefixLength);
+    }
+
+    boolean contains(byte[] address) {
+      if (address.length != network.length) {
+        return false;
+      }
+      int fullBytes = prefixLength / 8;
+      for (int i = 0; i < fullBytes; i++) {
+        if (address[i] != network[i]) {
+          return false;
+        }
+      }
+      int remainingBits = prefixLength % 8;
+      if (remainingBits == 0) {
+        return true;
+      }
+      int mask = (0xff << (8 - remainingBits)) & 0xff;
+      return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+  }
+}
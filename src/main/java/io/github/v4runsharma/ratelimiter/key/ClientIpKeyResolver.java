@@ -0,0 +1,33 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Objects;
+
+/**
+ * Per-client keys from the address of the current request, e.g. {@code ip:OrderController#list:2001:db8::7}.
+ * <p>Select it with {@code @RateLimit(keyResolver = ClientIpKeyResolver.class)}; see
+ * {@link ClientAddressResolver} for how proxies and {@code X-Forwarded-For} are handled.
+ */
+public final class ClientIpKeyResolver extends RequestKeyResolver {
+
+  /**
+   * Longer than any canonical IP literal; only non-IP remote addresses (e.g. socket paths) reach it.
+   */
+  private static final int MAX_ADDRESS_LENGTH = 64;
+
+  private final ClientAddressResolver addressResolver;
+
+  /**
+   * @param baseResolver resolves the key the client address is appended to
+   */
+  public ClientIpKeyResolver(RateLimitKeyResolver baseResolver, ClientAddressResolver addressResolver) {
+    super(baseResolver, MAX_ADDRESS_LENGTH);
+    this.addressResolver = Objects.requireNonNull(addressResolver, "addressResolver must not be null");
+  }
+
+  @Override
+  String identity(HttpServletRequest request) {
+    String address = addressResolver.resolve(request);
+    return address != null ? address : ANONYMOUS;
+  }
+}
@@ -3,16 +3,24 @@ package io.github.v4runsharma.ratelimiter.key;
 import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
 import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
 import io.github.v4runsharma.ratelimiter.model.RateLimitScope;
+import io.github.v4runsharma.ratelimiter.support.RateLimitMetadataCache;
 import java.util.Objects;
 
 /**
  * Default resolver that creates stable keys from scope + annotation/static method metadata.
+ * <p>The key only depends on static metadata, so it is computed once per method.
  */
 public final class DefaultRateLimitKeyResolver implements RateLimitKeyResolver {
 
+  private final RateLimitMetadataCache<String> keys = new RateLimitMetadataCache<>();
+
   @Override
   public String resolveKey(RateLimitContext context) {
     Objects.requireNonNull(context, "context must not be null");
+    return keys.get(context, DefaultRateLimitKeyResolver::buildKey);
+  }
+
+  private static String buildKey(RateLimitContext context) {
     RateLimit annotation = Objects.requireNonNull(context.getAnnotation(), "annotation must not be null");
 
     String scope = normalizeScope(annotation.scope());
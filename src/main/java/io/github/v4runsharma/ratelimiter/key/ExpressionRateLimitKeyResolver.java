@@ -0,0 +1,93 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.support.RateLimitMetadataCache;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Appends the value of {@link RateLimit#keyExpression()} to the key of a base resolver, e.g.
+ * {@code user:OrderController#list:42} for {@code keyExpression = "#userId"}.
+ * <p>Expressions are parsed once per method in {@link SpelCompilerMode#IMMEDIATE} mode, so they are
+ * compiled to bytecode after their first evaluation; parameter names are discovered once as well.
+ * Arguments are available by name ({@code #userId}) and index ({@code #p0}, {@code #a0}), the target
+ * as {@code #root}. An expression evaluating to {@code null} is an error; use e.g.
+ * {@code "#userId ?: 'anonymous'"} for optional values.
+ */
+public final class ExpressionRateLimitKeyResolver implements RateLimitKeyResolver {
+
+  private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+      new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, ClassUtils.getDefaultClassLoader()));
+  private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+  private final RateLimitKeyResolver baseResolver;
+  private final RateLimitMetadataCache<CompiledKey> compiledKeys = new RateLimitMetadataCache<>();
+
+  /**
+   * @param baseResolver resolves the key the expression value is appended to
+   */
+  public ExpressionRateLimitKeyResolver(RateLimitKeyResolver baseResolver) {
+    this.baseResolver = Objects.requireNonNull(baseResolver, "baseResolver must not be null");
+  }
+
+  @Override
+  public String resolveKey(RateLimitContext context) {
+    Objects.requireNonNull(context, "context must not be null");
+    CompiledKey compiled = compiledKeys.get(context, ExpressionRateLimitKeyResolver::compile);
+    String baseKey = baseResolver.resolveKey(context);
+    if (compiled == null) {
+      return baseKey;
+    }
+
+    Object value = compiled.expression().getValue(compiled.evaluationContext(context));
+    if (value == null) {
+      throw new IllegalStateException("@RateLimit keyExpression '" + context.getAnnotation().keyExpression()
+          + "' on " + context.getMethod() + " evaluated to null");
+    }
+    return baseKey + ":" + value;
+  }
+
+  private static CompiledKey compile(RateLimitContext context) {
+    RateLimit annotation = Objects.requireNonNull(context.getAnnotation(), "annotation must not be null");
+    String expression = annotation.keyExpression();
+    if (expression == null || expression.isBlank()) {
+      return null;
+    }
+    Method method = context.getMethod();
+    String[] parameterNames = PARAMETER_NAMES.getParameterNames(method);
+    String[][] variableNames = new String[method.getParameterCount()][];
+    for (int i = 0; i < variableNames.length; i++) {
+      variableNames[i] = parameterNames != null && i < parameterNames.length
+          ? new String[] {"p" + i, "a" + i, parameterNames[i]}
+          : new String[] {"p" + i, "a" + i};
+    }
+    return new CompiledKey(EXPRESSION_PARSER.parseExpression(expression), variableNames);
+  }
+
+  /**
+   * @param variableNames names each argument is bound to, by position
+   */
+  private record CompiledKey(Expression expression, String[][] variableNames) {
+
+    StandardEvaluationContext evaluationContext(RateLimitContext context) {
+      StandardEvaluationContext evaluationContext = new StandardEvaluationContext(context.getTarget());
+      Object[] arguments = context.getArguments();
+      int count = arguments != null ? Math.min(arguments.length, variableNames.length) : 0;
+      for (int i = 0; i < count; i++) {
+        for (String name : variableNames[i]) {
+          evaluationContext.setVariable(name, arguments[i]);
+        }
+      }
+      return evaluationContext;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Per-client keys from a request header such as an API key, e.g. {@code global:OrderController#list:3q2-7wZhYc0QbYvA};
+ * requests without the header share the {@code anonymous} bucket.
+ * <p>Select it with {@code @RateLimit(keyResolver = HeaderKeyResolver.class)}. Values are hashed by
+ * default so credentials are not stored in rate-limit keys.
+ */
+public final class HeaderKeyResolver extends RequestKeyResolver {
+
+  private final String headerName;
+  private final boolean hashValues;
+
+  /**
+   * @param baseResolver resolves the key the header value is appended to
+   * @param hashValues whether every value is replaced by a digest, not only values longer than {@code maxIdentityLength}
+   */
+  public HeaderKeyResolver(
+      RateLimitKeyResolver baseResolver,
+      String headerName,
+      boolean hashValues,
+      int maxIdentityLength
+  ) {
+    super(baseResolver, maxIdentityLength);
+    if (headerName == null || headerName.isBlank()) {
+      throw new IllegalArgumentException("headerName must not be blank");
+    }
+    this.headerName = headerName;
+    this.hashValues = hashValues;
+  }
+
+  public String getHeaderName() {
+    return headerName;
+  }
+
+  @Override
+  String identity(HttpServletRequest request) {
+    String value = request.getHeader(headerName);
+    if (value == null || value.isBlank()) {
+      return ANONYMOUS;
+    }
+    return hashValues ? hash(value) : value;
+  }
+}
@@ -0,0 +1,28 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.security.Principal;
+
+/**
+ * Per-user keys from the authenticated principal of the current request, e.g.
+ * {@code user:OrderController#list:alice}; unauthenticated requests share the {@code anonymous} bucket.
+ * <p>Select it with {@code @RateLimit(keyResolver = PrincipalKeyResolver.class)}. Works with any
+ * container or Spring Security authentication that populates {@link HttpServletRequest#getUserPrincipal()}.
+ */
+public final class PrincipalKeyResolver extends RequestKeyResolver {
+
+  /**
+   * @param baseResolver resolves the key the principal name is appended to
+   * @param maxIdentityLength names longer than this are replaced by a digest
+   */
+  public PrincipalKeyResolver(RateLimitKeyResolver baseResolver, int maxIdentityLength) {
+    super(baseResolver, maxIdentityLength);
+  }
+
+  @Override
+  String identity(HttpServletRequest request) {
+    Principal principal = request.getUserPrincipal();
+    String name = principal != null ? principal.getName() : null;
+    return (name == null || name.isEmpty()) ? ANONYMOUS : name;
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.redis.RedisKeyCodec;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Objects;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Base for resolvers that append an identity taken from the current servlet request to the key of
+ * a base resolver, e.g. {@code ip:OrderController#list:203.0.113.7}.
+ * <p>Identities longer than {@code maxIdentityLength} are replaced by a fixed-width digest so keys
+ * stay bounded whatever the client sends.
+ */
+abstract class RequestKeyResolver implements RateLimitKeyResolver {
+
+  static final String ANONYMOUS = "anonymous";
+
+  private final RateLimitKeyResolver baseResolver;
+  private final int maxIdentityLength;
+
+  RequestKeyResolver(RateLimitKeyResolver baseResolver, int maxIdentityLength) {
+    this.baseResolver = Objects.requireNonNull(baseResolver, "baseResolver must not be null");
+    if (maxIdentityLength <= 0) {
+      throw new IllegalArgumentException("maxIdentityLength must be greater than 0");
+    }
+    this.maxIdentityLength = maxIdentityLength;
+  }
+
+  @Override
+  public final String resolveKey(RateLimitContext context) {
+    Objects.requireNonNull(context, "context must not be null");
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+      throw new IllegalStateException("No current HTTP request to resolve the rate limit key of " + context.getMethod());
+    }
+    return baseResolver.resolveKey(context) + ":" + bounded(identity(attributes.getRequest()));
+  }
+
+  /**
+   * Identity of the caller of the request; never {@code null}.
+   */
+  abstract String identity(HttpServletRequest request);
+
+  String hash(String identity) {
+    return RedisKeyCodec.COMPACT.encodeKey(identity);
+  }
+
+  private String bounded(String identity) {
+    return identity.length() <= maxIdentityLength ? identity : hash(identity);
+  }
+}
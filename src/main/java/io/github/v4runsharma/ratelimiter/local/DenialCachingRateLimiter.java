@@ -0,0 +1,201 @@
+package io.github.v4runsharma.ratelimiter.local;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Remembers denied keys and answers further attempts locally until the backend said to retry.
+ * <p>When the delegate denies a request with a {@code retryAfter}, the (key, policy) pair is denied
+ * in-process until that instant, without calling the delegate. Entries expire by time and the cache
+ * holds at most {@code maxSize} keys; when full, expired entries are purged and new denials are not
+ * cached until there is room again.
+ */
+public final class DenialCachingRateLimiter implements RateLimiter, InitializingBean, DisposableBean {
+
+  private static final int DEFAULT_MAX_SIZE = 10_000;
+
+  private final RateLimiter delegate;
+  private final Clock clock;
+  private final int maxSize;
+  private final ConcurrentMap<DenialKey, Denial> denials = new ConcurrentHashMap<>();
+
+  public DenialCachingRateLimiter(RateLimiter delegate) {
+    this(delegate, Clock.systemUTC(), DEFAULT_MAX_SIZE);
+  }
+
+  public DenialCachingRateLimiter(RateLimiter delegate, Clock clock, int maxSize) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be greater than 0");
+    }
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy) {
+    RateLimitDecision cached = cachedDenial(key, policy);
+    if (cached != null) {
+      return cached;
+    }
+    return remember(key, policy, delegate.evaluate(key, policy));
+  }
+
+  /**
+   * A cached denial answers requests of any cost. A denied weighted request is not cached, since a
+   * cheaper request may still fit.
+   */
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
+    RateLimitDecision cached = cachedDenial(key, policy);
+    if (cached != null) {
+      return cached;
+    }
+    return remember(key, policy, cost, delegate.evaluate(key, policy, cost));
+  }
+
+  @Override
+  public boolean supportsCost() {
+    return delegate.supportsCost();
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy) {
+    RateLimitDecision cached = cachedDenial(key, policy);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return delegate.evaluateAsync(key, policy).thenApply(decision -> remember(key, policy, decision));
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy, int cost) {
+    RateLimitDecision cached = cachedDenial(key, policy);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return delegate.evaluateAsync(key, policy, cost).thenApply(decision -> remember(key, policy, cost, decision));
+  }
+
+  /**
+   * Composite evaluations are not cached; they go straight to the delegate.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    return delegate.evaluateComposite(tiers);
+  }
+
+  /**
+   * Answers cached denials locally and sends only the remaining requests to the delegate, in one call.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateAll(List<RateLimitRequest> requests) {
+    List<RateLimitDecision> decisions = new ArrayList<>(requests.size());
+    List<RateLimitRequest> pending = new ArrayList<>(requests.size());
+    for (RateLimitRequest request : requests) {
+      RateLimitDecision cached = cachedDenial(request.getKey(), request.getPolicy());
+      decisions.add(cached);
+      if (cached == null) {
+        pending.add(request);
+      }
+    }
+    if (pending.isEmpty()) {
+      return decisions;
+    }
+
+    List<RateLimitDecision> evaluated = delegate.evaluateAll(pending);
+    int next = 0;
+    for (int i = 0; i < decisions.size(); i++) {
+      if (decisions.get(i) == null) {
+        RateLimitRequest request = pending.get(next);
+        decisions.set(i, remember(request.getKey(), request.getPolicy(), request.getCost(), evaluated.get(next)));
+        next++;
+      }
+    }
+    return decisions;
+  }
+
+  @Override
+  public void afterPropertiesSet() throws Exception {
+    if (delegate instanceof InitializingBean initializingBean) {
+      initializingBean.afterPropertiesSet();
+    }
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    if (delegate instanceof DisposableBean disposableBean) {
+      disposableBean.destroy();
+    }
+  }
+
+  int size() {
+    return denials.size();
+  }
+
+  private RateLimitDecision cachedDenial(String key, RateLimitPolicy policy) {
+    if (key == null || policy == null) {
+      return null;
+    }
+    DenialKey denialKey = new DenialKey(key, policy);
+    Denial denial = denials.get(denialKey);
+    if (denial == null) {
+      return null;
+    }
+    long nowMillis = clock.millis();
+    long remainingMillis = denial.retryAtMillis() - nowMillis;
+    if (remainingMillis <= 0L) {
+      denials.remove(denialKey, denial);
+      return null;
+    }
+    return new RateLimitDecision(
+        false,
+        remainingMillis,
+        Duration.ofMillis(remainingMillis),
+        Duration.ofMillis(Math.max(remainingMillis, denial.resetAtMillis() - nowMillis))
+    );
+  }
+
+  private RateLimitDecision remember(String key, RateLimitPolicy policy, int cost, RateLimitDecision decision) {
+    return cost == 1 ? remember(key, policy, decision) : decision;
+  }
+
+  private RateLimitDecision remember(String key, RateLimitPolicy policy, RateLimitDecision decision) {
+    if (decision == null || decision.isAllowed() || decision.getRetryAfter().isEmpty()) {
+      return decision;
+    }
+    long retryAfterMillis = decision.getRetryAfter().get().toMillis();
+    if (retryAfterMillis <= 0L) {
+      return decision;
+    }
+    long nowMillis = clock.millis();
+    if (denials.size() >= maxSize) {
+      denials.values().removeIf(denial -> denial.retryAtMillis() <= nowMillis);
+      if (denials.size() >= maxSize) {
+        return decision;
+      }
+    }
+    long resetAfterMillis = decision.getResetAfter().map(Duration::toMillis).orElse(retryAfterMillis);
+    denials.put(new DenialKey(key, policy), new Denial(nowMillis + retryAfterMillis, nowMillis + resetAfterMillis));
+    return decision;
+  }
+
+  private record DenialKey(String key, RateLimitPolicy policy) {
+  }
+
+  private record Denial(long retryAtMillis, long resetAtMillis) {
+  }
+}
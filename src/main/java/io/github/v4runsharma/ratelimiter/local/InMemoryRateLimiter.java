@@ -0,0 +1,438 @@
+package io.github.v4runsharma.ratelimiter.local;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Process-local {@link RateLimiter} with the same algorithms and decisions as the Redis backend.
+ * <p>Fixed window and GCRA are lock-free ({@code AtomicLong} counters with CAS window rollover);
+ * sliding window and token bucket lock only their own key. A background sweeper drops keys whose
+ * state has expired; an evaluation that raced with the sweeper is repeated on the key's live state.
+ * At most {@code maxKeys} keys are tracked. When full, expired keys are purged, and if none has
+ * expired a new key is denied until one does: live keys are never evicted, since dropping them would
+ * reset their limits and let callers that rotate keys fail the limiter open.
+ * <p>{@link #evaluateComposite(List)} charges the tiers only when all of them admit, as the Redis
+ * composite script does: every tier is checked first, and a tier that a concurrent call filled in
+ * the meantime rolls back the tiers already charged.
+ * <p>Limits are enforced per JVM, so with several nodes each one admits the full limit.
+ */
+public final class InMemoryRateLimiter implements RateLimiter, DisposableBean {
+
+  private static final int DEFAULT_MAX_KEYS = 100_000;
+  private static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofSeconds(30);
+
+  private final Clock clock;
+  private final int maxKeys;
+  private final ConcurrentHashMap<StateKey, KeyState> states = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService sweeper;
+
+  public InMemoryRateLimiter() {
+    this(Clock.systemUTC(), DEFAULT_MAX_KEYS, DEFAULT_SWEEP_INTERVAL);
+  }
+
+  /**
+   * @param maxKeys maximum number of (key, algorithm) states kept in memory
+   * @param sweepInterval how often expired states are removed in the background
+   */
+  public InMemoryRateLimiter(Clock clock, int maxKeys, Duration sweepInterval) {
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    Objects.requireNonNull(sweepInterval, "sweepInterval must not be null");
+    if (maxKeys <= 0) {
+      throw new IllegalArgumentException("maxKeys must be greater than 0");
+    }
+    if (sweepInterval.isZero() || sweepInterval.isNegative()) {
+      throw new IllegalArgumentException("sweepInterval must be positive");
+    }
+    this.maxKeys = maxKeys;
+    this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ratelimiter-memory-sweeper");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long sweepMillis = sweepInterval.toMillis();
+    this.sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy) {
+    return evaluate(key, policy, 1);
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
+    if (key == null || key.isBlank()) {
+      throw new IllegalArgumentException("key must not be blank");
+    }
+    Objects.requireNonNull(policy, "policy must not be null");
+    if (cost <= 0) {
+      throw new IllegalArgumentException("cost must be greater than 0");
+    }
+
+    long nowMicros = nowMicros();
+    StateKey stateKey = new StateKey(key, policy.getAlgorithm());
+    while (true) {
+      KeyState state = state(stateKey, policy, nowMicros);
+      if (state == null) {
+        return keyLimitReached(policy);
+      }
+      RateLimitDecision decision = state.evaluate(policy, cost, nowMicros, true);
+      if (states.get(stateKey) == state) {
+        return decision;
+      }
+    }
+  }
+
+  @Override
+  public List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    Objects.requireNonNull(tiers, "tiers must not be null");
+    long nowMicros = nowMicros();
+    List<StateKey> stateKeys = new ArrayList<>(tiers.size());
+    List<KeyState> tierStates = new ArrayList<>(tiers.size());
+    List<RateLimitDecision> decisions = new ArrayList<>(tiers.size());
+    boolean admitted = true;
+    for (RateLimitRequest tier : tiers) {
+      StateKey stateKey = new StateKey(tier.getKey(), tier.getPolicy().getAlgorithm());
+      KeyState state = state(stateKey, tier.getPolicy(), nowMicros);
+      RateLimitDecision decision = state != null
+          ? state.evaluate(tier.getPolicy(), tier.getCost(), nowMicros, false)
+          : keyLimitReached(tier.getPolicy());
+      admitted &= decision.isAllowed();
+      stateKeys.add(stateKey);
+      tierStates.add(state);
+      decisions.add(decision);
+    }
+    if (!admitted) {
+      return decisions;
+    }
+
+    for (int i = 0; i < tiers.size(); i++) {
+      RateLimitRequest tier = tiers.get(i);
+      KeyState state = tierStates.get(i);
+      RateLimitDecision decision = state.evaluate(tier.getPolicy(), tier.getCost(), nowMicros, true);
+      while (states.get(stateKeys.get(i)) != state) {
+        state = state(stateKeys.get(i), tier.getPolicy(), nowMicros);
+        if (state == null) {
+          decision = keyLimitReached(tier.getPolicy());
+          break;
+        }
+        decision = state.evaluate(tier.getPolicy(), tier.getCost(), nowMicros, true);
+      }
+      tierStates.set(i, state);
+      decisions.set(i, decision);
+      if (!decision.isAllowed()) {
+        for (int charged = 0; charged < i; charged++) {
+          RateLimitRequest chargedTier = tiers.get(charged);
+          tierStates.get(charged).refund(chargedTier.getPolicy(), chargedTier.getCost(), nowMicros);
+        }
+        return decisions;
+      }
+    }
+    return decisions;
+  }
+
+  @Override
+  public boolean supportsCost() {
+    return true;
+  }
+
+  @Override
+  public void destroy() {
+    sweeper.shutdownNow();
+    states.clear();
+  }
+
+  int size() {
+    return states.size();
+  }
+
+  /**
+   * Removes every state that has fully expired.
+   */
+  void sweep() {
+    purgeExpired(nowMicros());
+  }
+
+  /**
+   * Removes expired states, each only if it is still expired when the removal is applied, so a state an
+   * evaluation has just rolled into a new window stays in place.
+   */
+  private void purgeExpired(long nowMicros) {
+    for (StateKey stateKey : states.keySet()) {
+      states.computeIfPresent(stateKey, (ignored, state) -> state.expiresAtMicros <= nowMicros ? null : state);
+    }
+  }
+
+  /**
+   * Live state of a key, created on first use, or {@code null} when the key limit is reached.
+   */
+  private KeyState state(StateKey stateKey, RateLimitPolicy policy, long nowMicros) {
+    KeyState state = states.get(stateKey);
+    if (state == null) {
+      if (states.size() >= maxKeys) {
+        purgeExpired(nowMicros);
+        if (states.size() >= maxKeys) {
+          return states.get(stateKey);
+        }
+      }
+      state = states.computeIfAbsent(stateKey, ignored -> newState(policy.getAlgorithm(), policy, nowMicros));
+    }
+    return state;
+  }
+
+  private static RateLimitDecision keyLimitReached(RateLimitPolicy policy) {
+    long windowMillis = policy.getWindow().toMillis();
+    return denied(windowMillis, windowMillis);
+  }
+
+  private long nowMicros() {
+    return Math.multiplyExact(clock.millis(), 1_000L);
+  }
+
+  private static KeyState newState(RateLimitAlgorithm algorithm, RateLimitPolicy policy, long nowMicros) {
+    return switch (algorithm) {
+      case FIXED_WINDOW -> new FixedWindowState();
+      case SLIDING_WINDOW -> new SlidingWindowState();
+      case TOKEN_BUCKET -> new TokenBucketState(policy.getBurstCapacity(), nowMicros);
+      case GCRA -> new GcraState();
+    };
+  }
+
+  private static RateLimitDecision allowed(long resetAfterMillis) {
+    return new RateLimitDecision(true, 0L, null, Duration.ofMillis(Math.max(0L, resetAfterMillis)));
+  }
+
+  private static RateLimitDecision denied(long retryAfterMillis, long resetAfterMillis) {
+    long remainingTime = Math.max(1L, retryAfterMillis);
+    return new RateLimitDecision(
+        false,
+        remainingTime,
+        Duration.ofMillis(remainingTime),
+        Duration.ofMillis(Math.max(0L, resetAfterMillis))
+    );
+  }
+
+  private static long ceilMillis(double micros) {
+    return (long) Math.ceil(micros / 1_000.0d);
+  }
+
+  private record StateKey(String key, RateLimitAlgorithm algorithm) {
+  }
+
+  private abstract static class KeyState {
+
+    volatile long expiresAtMicros = Long.MAX_VALUE;
+
+    /**
+     * Admits {@code cost} permits at once, or denies without consuming any.
+     *
+     * @param charge {@code false} to only check whether the permits would be admitted
+     */
+    abstract RateLimitDecision evaluate(RateLimitPolicy policy, int cost, long nowMicros, boolean charge);
+
+    /**
+     * Returns permits charged at {@code nowMicros} by a composite evaluation that another tier denied.
+     */
+    abstract void refund(RateLimitPolicy policy, int cost, long nowMicros);
+  }
+
+  /**
+   * One counter per aligned window; a new window replaces the old one with a single CAS.
+   */
+  private static final class FixedWindowState extends KeyState {
+
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window(Long.MIN_VALUE));
+
+    @Override
+    RateLimitDecision evaluate(RateLimitPolicy policy, int cost, long nowMicros, boolean charge) {
+      long windowMillis = policy.getWindow().toMillis();
+      long nowMillis = nowMicros / 1_000L;
+      long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+
+      Window current = window.get();
+      while (current.startMillis < windowStartMillis) {
+        Window next = new Window(windowStartMillis);
+        if (window.compareAndSet(current, next)) {
+          current = next;
+          expiresAtMicros = (windowStartMillis + windowMillis) * 1_000L;
+        } else {
+          current = window.get();
+        }
+      }
+
+      long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
+      while (true) {
+        long count = current.count.get();
+        if (count + cost > policy.getLimit()) {
+          return denied(resetAfterMillis, resetAfterMillis);
+        }
+        if (!charge || current.count.compareAndSet(count, count + cost)) {
+          return allowed(resetAfterMillis);
+        }
+      }
+    }
+
+    @Override
+    void refund(RateLimitPolicy policy, int cost, long nowMicros) {
+      long windowMillis = policy.getWindow().toMillis();
+      long nowMillis = nowMicros / 1_000L;
+      Window current = window.get();
+      if (current.startMillis == nowMillis - (nowMillis % windowMillis)) {
+        current.count.addAndGet(-cost);
+      }
+    }
+
+    private record Window(long startMillis, AtomicLong count) {
+
+      Window(long startMillis) {
+        this(startMillis, new AtomicLong());
+      }
+    }
+  }
+
+  /**
+   * Weighted estimate over the previous and current aligned windows, as in the Redis script.
+   */
+  private static final class SlidingWindowState extends KeyState {
+
+    private long currentStartMillis = Long.MIN_VALUE;
+    private long current;
+    private long previous;
+
+    @Override
+    synchronized RateLimitDecision evaluate(RateLimitPolicy policy, int cost, long nowMicros, boolean charge) {
+      int limit = policy.getLimit();
+      long windowMillis = policy.getWindow().toMillis();
+      long nowMillis = nowMicros / 1_000L;
+      long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+      long elapsedMillis = nowMillis - windowStartMillis;
+
+      if (windowStartMillis > currentStartMillis) {
+        previous = windowStartMillis - currentStartMillis == windowMillis ? current : 0L;
+        current = 0L;
+        currentStartMillis = windowStartMillis;
+        expiresAtMicros = (windowStartMillis + 2 * windowMillis) * 1_000L;
+      }
+
+      long resetAfterMillis = Math.max(1L, windowMillis - elapsedMillis);
+      double estimate = (double) previous * (windowMillis - elapsedMillis) / windowMillis + current;
+      if (estimate + cost > limit) {
+        return denied(retryAfterMillis(limit, cost, windowMillis, elapsedMillis), resetAfterMillis);
+      }
+      if (charge) {
+        current += cost;
+      }
+      return allowed(resetAfterMillis);
+    }
+
+    @Override
+    synchronized void refund(RateLimitPolicy policy, int cost, long nowMicros) {
+      long windowMillis = policy.getWindow().toMillis();
+      long nowMillis = nowMicros / 1_000L;
+      if (currentStartMillis == nowMillis - (nowMillis % windowMillis)) {
+        current = Math.max(0L, current - cost);
+      }
+    }
+
+    private long retryAfterMillis(int limit, int cost, long windowMillis, long elapsedMillis) {
+      double budget = Math.max(0.0d, (double) limit - cost);
+      if (current <= budget && previous > 0) {
+        double admitAt = windowMillis * (1.0d - (budget - current) / previous);
+        return (long) Math.ceil(admitAt - elapsedMillis);
+      }
+      double admitAtNextWindow = current <= 0 ? 0.0d : windowMillis * Math.max(0.0d, 1.0d - budget / current);
+      return (windowMillis - elapsedMillis) + (long) Math.ceil(admitAtNextWindow);
+    }
+  }
+
+  /**
+   * Lazily refilled bucket of up to {@code burstCapacity} tokens.
+   */
+  private static final class TokenBucketState extends KeyState {
+
+    private double tokens;
+    private long lastMicros;
+
+    TokenBucketState(int capacity, long nowMicros) {
+      this.tokens = capacity;
+      this.lastMicros = nowMicros;
+    }
+
+    @Override
+    synchronized RateLimitDecision evaluate(RateLimitPolicy policy, int cost, long nowMicros, boolean charge) {
+      int capacity = policy.getBurstCapacity();
+      double microsPerToken = (double) policy.getWindow().toNanos() / 1_000.0d / policy.getLimit();
+      if (nowMicros > lastMicros) {
+        tokens = Math.min(capacity, tokens + (nowMicros - lastMicros) / microsPerToken);
+        lastMicros = nowMicros;
+      }
+
+      boolean admitted = tokens >= cost;
+      double remaining = admitted ? tokens - cost : tokens;
+      if (charge) {
+        tokens = remaining;
+      }
+      double untilFullMicros = (capacity - remaining) * microsPerToken;
+      expiresAtMicros = nowMicros + (long) Math.ceil((capacity - tokens) * microsPerToken);
+      if (admitted) {
+        return allowed(ceilMillis(untilFullMicros));
+      }
+      return denied(ceilMillis((cost - tokens) * microsPerToken), ceilMillis(untilFullMicros));
+    }
+
+    @Override
+    synchronized void refund(RateLimitPolicy policy, int cost, long nowMicros) {
+      tokens = Math.min(policy.getBurstCapacity(), tokens + cost);
+    }
+  }
+
+  /**
+   * Theoretical arrival time in microseconds, advanced with a CAS loop.
+   */
+  private static final class GcraState extends KeyState {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    RateLimitDecision evaluate(RateLimitPolicy policy, int cost, long nowMicros, boolean charge) {
+      long intervalMicros = Math.max(1L, policy.getRefillInterval().toNanos() / 1_000L);
+      long toleranceMicros = intervalMicros * policy.getBurstCapacity();
+      while (true) {
+        long stored = theoreticalArrival.get();
+        long tat = Math.max(stored, nowMicros);
+        long newTat = tat + intervalMicros * cost;
+        long allowAt = newTat - toleranceMicros;
+        if (nowMicros < allowAt) {
+          return denied(ceilMillis(allowAt - nowMicros), ceilMillis(tat - nowMicros));
+        }
+        if (!charge) {
+          return allowed(ceilMillis(newTat - nowMicros));
+        }
+        if (theoreticalArrival.compareAndSet(stored, newTat)) {
+          expiresAtMicros = newTat;
+          return allowed(ceilMillis(newTat - nowMicros));
+        }
+      }
+    }
+
+    @Override
+    void refund(RateLimitPolicy policy, int cost, long nowMicros) {
+      long intervalMicros = Math.max(1L, policy.getRefillInterval().toNanos() / 1_000L);
+      theoreticalArrival.addAndGet(-intervalMicros * cost);
+    }
+  }
+}
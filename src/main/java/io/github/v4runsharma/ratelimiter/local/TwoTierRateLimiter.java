@@ -0,0 +1,219 @@
+package io.github.v4runsharma.ratelimiter.local;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Checks a per-node share of each limit in-process before consulting the shared backend.
+ * <p>The local tier admits {@code ceil(limit / nodes * (1 + margin))} requests per window (burst
+ * scaled the same way), using the same algorithm as the policy. Requests it rejects are denied
+ * without calling the delegate; only locally admitted requests are evaluated by the delegate, which
+ * stays authoritative for the global limit. Weighted requests whose cost exceeds the local share
+ * skip the local tier, since it could never admit them. The node count is read from {@code nodeCount} on each
+ * call, e.g. a static value or {@code RedisNodeHeartbeat}.
+ */
+public final class TwoTierRateLimiter implements RateLimiter, InitializingBean, DisposableBean {
+
+  private final RateLimiter delegate;
+  private final InMemoryRateLimiter local;
+  private final IntSupplier nodeCount;
+  private final double margin;
+  private final ConcurrentMap<RateLimitPolicy, LocalPolicy> localPolicies = new ConcurrentHashMap<>();
+
+  /**
+   * Stand-in admission for requests the local tier does not check; never returned to callers.
+   */
+  private static final RateLimitDecision LOCALLY_SKIPPED = new RateLimitDecision(true, 0L, null, null);
+
+  /**
+   * @param local in-memory limiter holding the per-node tier; destroyed together with this limiter
+   * @param nodeCount expected number of nodes sharing each limit; values below 1 count as 1. Destroyed
+   *     with this limiter when it is a {@link DisposableBean}
+   * @param margin extra share of the per-node limit, e.g. {@code 0.2} for 20% headroom against uneven load
+   */
+  public TwoTierRateLimiter(RateLimiter delegate, InMemoryRateLimiter local, IntSupplier nodeCount, double margin) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.local = Objects.requireNonNull(local, "local must not be null");
+    this.nodeCount = Objects.requireNonNull(nodeCount, "nodeCount must not be null");
+    if (margin < 0.0d || Double.isNaN(margin)) {
+      throw new IllegalArgumentException("margin must not be negative");
+    }
+    this.margin = margin;
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy) {
+    RateLimitDecision localDecision = evaluateLocal(key, policy, 1);
+    if (!localDecision.isAllowed()) {
+      return localDecision;
+    }
+    return delegate.evaluate(key, policy);
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
+    RateLimitDecision localDecision = evaluateLocal(key, policy, cost);
+    if (!localDecision.isAllowed()) {
+      return localDecision;
+    }
+    return delegate.evaluate(key, policy, cost);
+  }
+
+  @Override
+  public boolean supportsCost() {
+    return local.supportsCost() && delegate.supportsCost();
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy) {
+    return evaluateAsync(key, policy, 1);
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy, int cost) {
+    RateLimitDecision localDecision;
+    try {
+      localDecision = evaluateLocal(key, policy, cost);
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+    if (!localDecision.isAllowed()) {
+      return CompletableFuture.completedFuture(localDecision);
+    }
+    return cost == 1 ? delegate.evaluateAsync(key, policy) : delegate.evaluateAsync(key, policy, cost);
+  }
+
+  /**
+   * Checks every tier against its local share as one local composite, so a locally denied call charges
+   * none of the local tiers; the delegate only sees the tiers when all of them pass.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    List<RateLimitDecision> localDecisions = new ArrayList<>(tiers.size());
+    List<RateLimitRequest> localTiers = new ArrayList<>(tiers.size());
+    for (RateLimitRequest tier : tiers) {
+      RateLimitPolicy localPolicy = localPolicy(tier.getPolicy());
+      if (tier.getCost() > 1 && tier.getCost() > capacity(localPolicy)) {
+        localDecisions.add(LOCALLY_SKIPPED);
+      } else {
+        localDecisions.add(null);
+        localTiers.add(new RateLimitRequest(tier.getKey(), localPolicy, tier.getCost()));
+      }
+    }
+
+    List<RateLimitDecision> checked = local.evaluateComposite(localTiers);
+    boolean admitted = true;
+    int next = 0;
+    for (int i = 0; i < localDecisions.size(); i++) {
+      if (localDecisions.get(i) == null) {
+        RateLimitDecision localDecision = checked.get(next++);
+        admitted &= localDecision.isAllowed();
+        localDecisions.set(i, localDecision);
+      }
+    }
+    return admitted ? delegate.evaluateComposite(tiers) : localDecisions;
+  }
+
+  /**
+   * Checks every request against its local share and sends only the locally admitted ones to the
+   * delegate, in one call.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateAll(List<RateLimitRequest> requests) {
+    List<RateLimitDecision> decisions = new ArrayList<>(requests.size());
+    List<RateLimitRequest> admitted = new ArrayList<>(requests.size());
+    for (RateLimitRequest request : requests) {
+      RateLimitDecision localDecision = evaluateLocal(request.getKey(), request.getPolicy(), request.getCost());
+      decisions.add(localDecision.isAllowed() ? null : localDecision);
+      if (localDecision.isAllowed()) {
+        admitted.add(request);
+      }
+    }
+    if (admitted.isEmpty()) {
+      return decisions;
+    }
+
+    List<RateLimitDecision> evaluated = delegate.evaluateAll(admitted);
+    int next = 0;
+    for (int i = 0; i < decisions.size(); i++) {
+      if (decisions.get(i) == null) {
+        decisions.set(i, evaluated.get(next++));
+      }
+    }
+    return decisions;
+  }
+
+  @Override
+  public void afterPropertiesSet() throws Exception {
+    if (delegate instanceof InitializingBean initializingBean) {
+      initializingBean.afterPropertiesSet();
+    }
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    try {
+      local.destroy();
+      if (nodeCount instanceof DisposableBean disposableBean) {
+        disposableBean.destroy();
+      }
+    } finally {
+      if (delegate instanceof DisposableBean disposableBean) {
+        disposableBean.destroy();
+      }
+    }
+  }
+
+  private RateLimitDecision evaluateLocal(String key, RateLimitPolicy policy, int cost) {
+    RateLimitPolicy localPolicy = localPolicy(policy);
+    if (cost > 1 && cost > capacity(localPolicy)) {
+      return LOCALLY_SKIPPED;
+    }
+    return local.evaluate(key, localPolicy, cost);
+  }
+
+  private static int capacity(RateLimitPolicy policy) {
+    return switch (policy.getAlgorithm()) {
+      case TOKEN_BUCKET, GCRA -> policy.getBurstCapacity();
+      case FIXED_WINDOW, SLIDING_WINDOW -> policy.getLimit();
+    };
+  }
+
+  private RateLimitPolicy localPolicy(RateLimitPolicy policy) {
+    Objects.requireNonNull(policy, "policy must not be null");
+    int nodes = Math.max(1, nodeCount.getAsInt());
+    LocalPolicy cached = localPolicies.get(policy);
+    if (cached != null && cached.nodes() == nodes) {
+      return cached.policy();
+    }
+    LocalPolicy scaled = new LocalPolicy(nodes, new RateLimitPolicy(
+        share(policy.getLimit(), nodes),
+        policy.getWindow(),
+        policy.getScope(),
+        policy.getAlgorithm(),
+        share(policy.getBurstCapacity(), nodes)
+    ));
+    localPolicies.put(policy, scaled);
+    return scaled.policy();
+  }
+
+  private int share(int globalValue, int nodes) {
+    double perNode = Math.ceil((double) globalValue / nodes * (1.0d + margin));
+    return (int) Math.min(globalValue, Math.max(1.0d, perNode));
+  }
+
+  private record LocalPolicy(int nodes, RateLimitPolicy policy) {
+  }
+}
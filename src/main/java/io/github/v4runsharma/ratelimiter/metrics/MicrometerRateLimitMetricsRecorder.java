@@ -2,54 +2,123 @@ package io.github.v4runsharma.ratelimiter.metrics;
 
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.resilience.CircuitState;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Micrometer-backed metrics recorder for rate limiter outcomes.
+ * <p>Meters are registered once per (name, scope) and kept in a bounded cache, so recording is a
+ * plain increment/record. Past {@code maxCachedMeters} entries, meters are looked up through the
+ * registry on each call instead of being cached.
  */
 public final class MicrometerRateLimitMetricsRecorder implements RateLimitMetricsRecorder {
 
+  private static final int DEFAULT_MAX_CACHED_METERS = 1_000;
+
   private final MeterRegistry meterRegistry;
+  private final int maxCachedMeters;
+  private final ConcurrentMap<MeterKey, DecisionMeters> decisionMeters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
+  private final AtomicReference<CircuitState> circuitState = new AtomicReference<>();
 
   public MicrometerRateLimitMetricsRecorder(MeterRegistry meterRegistry) {
+    this(meterRegistry, DEFAULT_MAX_CACHED_METERS);
+  }
+
+  /**
+   * @param maxCachedMeters upper bound for cached meter handles, protecting against tag cardinality blow-ups
+   */
+  public MicrometerRateLimitMetricsRecorder(MeterRegistry meterRegistry, int maxCachedMeters) {
     this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    if (maxCachedMeters < 0) {
+      throw new IllegalArgumentException("maxCachedMeters cannot be negative");
+    }
+    this.maxCachedMeters = maxCachedMeters;
   }
 
   @Override
   public void recordDecision(String name, RateLimitPolicy policy, RateLimitDecision decision, Duration latency) {
-    String outcome = decision.isAllowed() ? "allowed" : "blocked";
-    Counter.builder("ratelimiter.requests")
-        .tag("name", sanitize(name))
-        .tag("scope", sanitize(policy.getScope()))
-        .tag("outcome", outcome)
-        .register(meterRegistry)
-        .increment();
-
-    Timer.builder("ratelimiter.evaluate.latency")
-        .tag("name", sanitize(name))
-        .tag("scope", sanitize(policy.getScope()))
-        .register(meterRegistry)
-        .record(latency);
+    DecisionMeters meters = decisionMeters(name, policy.getScope());
+    (decision.isAllowed() ? meters.allowed() : meters.blocked()).increment();
+    meters.latency().record(latency);
   }
 
   @Override
   public void recordError(String name, RateLimitPolicy policy, Duration latency, Throwable error) {
-    Counter.builder("ratelimiter.errors")
-        .tag("name", sanitize(name))
-        .tag("scope", sanitize(policy.getScope()))
-        .tag("exception", error == null ? "unknown" : sanitize(error.getClass().getSimpleName()))
-        .register(meterRegistry)
-        .increment();
+    String exception = error == null ? "unknown" : sanitize(error.getClass().getSimpleName());
+    ErrorKey key = new ErrorKey(name, policy.getScope(), exception);
+    Counter errors = errorCounters.get(key);
+    if (errors == null) {
+      errors = Counter.builder("ratelimiter.errors")
+          .tag("name", sanitize(name))
+          .tag("scope", sanitize(policy.getScope()))
+          .tag("exception", exception)
+          .register(meterRegistry);
+      if (errorCounters.size() < maxCachedMeters) {
+        errorCounters.putIfAbsent(key, errors);
+      }
+    }
+    errors.increment();
+
+    decisionMeters(name, policy.getScope()).latency().record(latency);
+  }
+
+  /**
+   * Publishes {@code ratelimiter.circuit.state} gauges, one per state, reading 1 for the current state.
+   */
+  @Override
+  public void recordCircuitState(CircuitState state) {
+    if (circuitState.getAndSet(state) == null) {
+      for (CircuitState candidate : CircuitState.values()) {
+        Gauge.builder("ratelimiter.circuit.state", circuitState, current -> current.get() == candidate ? 1 : 0)
+            .tag("state", candidate.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry);
+      }
+    }
+  }
 
-    Timer.builder("ratelimiter.evaluate.latency")
-        .tag("name", sanitize(name))
-        .tag("scope", sanitize(policy.getScope()))
-        .register(meterRegistry)
-        .record(latency);
+  private DecisionMeters decisionMeters(String name, String scope) {
+    MeterKey key = new MeterKey(name, scope);
+    DecisionMeters meters = decisionMeters.get(key);
+    if (meters != null) {
+      return meters;
+    }
+    meters = registerDecisionMeters(name, scope);
+    if (decisionMeters.size() < maxCachedMeters) {
+      DecisionMeters existing = decisionMeters.putIfAbsent(key, meters);
+      return existing != null ? existing : meters;
+    }
+    return meters;
+  }
+
+  private DecisionMeters registerDecisionMeters(String name, String scope) {
+    String nameTag = sanitize(name);
+    String scopeTag = sanitize(scope);
+    return new DecisionMeters(
+        requestCounter(nameTag, scopeTag, "allowed"),
+        requestCounter(nameTag, scopeTag, "blocked"),
+        Timer.builder("ratelimiter.evaluate.latency")
+            .tag("name", nameTag)
+            .tag("scope", scopeTag)
+            .register(meterRegistry)
+    );
+  }
+
+  private Counter requestCounter(String name, String scope, String outcome) {
+    return Counter.builder("ratelimiter.requests")
+        .tag("name", name)
+        .tag("scope", scope)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
   }
 
   private static String sanitize(String value) {
@@ -58,4 +127,13 @@ public final class MicrometerRateLimitMetricsRecorder implements RateLimitMetric
     }
     return value;
   }
+
+  private record MeterKey(String name, String scope) {
+  }
+
+  private record ErrorKey(String name, String scope, String exception) {
+  }
+
+  private record DecisionMeters(Counter allowed, Counter blocked, Timer latency) {
+  }
 }
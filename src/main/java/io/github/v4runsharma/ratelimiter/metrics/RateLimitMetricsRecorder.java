@@ -2,6 +2,7 @@ package io.github.v4runsharma.ratelimiter.metrics;
 
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.resilience.CircuitState;
 import java.time.Duration;
 
 /**
@@ -12,4 +13,10 @@ public interface RateLimitMetricsRecorder {
   void recordDecision(String name, RateLimitPolicy policy, RateLimitDecision decision, Duration latency);
 
   void recordError(String name, RateLimitPolicy policy, Duration latency, Throwable error);
+
+  /**
+   * Called with the initial state and on every transition of the backend circuit breaker.
+   */
+  default void recordCircuitState(CircuitState state) {
+  }
 }
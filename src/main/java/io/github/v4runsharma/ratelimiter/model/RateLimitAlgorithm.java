@@ -0,0 +1,46 @@
+package io.github.v4runsharma.ratelimiter.model;
+
+/**
+ * Counting strategy used to decide whether a request fits into a policy.
+ */
+public enum RateLimitAlgorithm {
+
+  /**
+   * Counter per aligned window. Cheapest option, but allows up to 2x the limit across a window boundary.
+   */
+  FIXED_WINDOW,
+
+  /**
+   * Weighted blend of the previous and current window counters. Smooths the boundary burst of
+   * {@link #FIXED_WINDOW} while keeping O(1) memory per key.
+   */
+  SLIDING_WINDOW,
+
+  /**
+   * Token bucket holding up to the policy burst capacity, refilled with {@code limit} tokens per window.
+   * Admits bounded bursts while enforcing a steady average rate.
+   */
+  TOKEN_BUCKET,
+
+  /**
+   * Generic cell rate algorithm. Same admission behaviour as {@link #TOKEN_BUCKET}, but stores a single
+   * timestamp per key and decides against the backend clock.
+   */
+  GCRA;
+
+  /**
+   * Parses an algorithm name, case-insensitively and accepting {@code -} as a separator
+   * (e.g. {@code "sliding-window"}).
+   */
+  public static RateLimitAlgorithm from(String algorithm) {
+    if (algorithm == null || algorithm.isBlank()) {
+      throw new IllegalArgumentException("Algorithm cannot be null or blank");
+    }
+
+    try {
+      return RateLimitAlgorithm.valueOf(algorithm.trim().toUpperCase().replace('-', '_'));
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("Invalid algorithm: " + algorithm);
+    }
+  }
+}
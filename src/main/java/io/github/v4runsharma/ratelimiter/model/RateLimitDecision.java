@@ -1,6 +1,7 @@
 package io.github.v4runsharma.ratelimiter.model;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -61,6 +62,37 @@ public class RateLimitDecision {
     return Optional.ofNullable(resetAfter);
   }
 
+  /**
+   * Picks the decision that governs a request checked against several limits at once.
+   * <p>Among denials this is the one with the longest retry time; when every limit admits, the one
+   * whose window resets last.
+   */
+  public static RateLimitDecision mostRestrictive(List<RateLimitDecision> decisions) {
+    if (decisions == null || decisions.isEmpty()) {
+      throw new IllegalArgumentException("decisions must not be empty");
+    }
+    RateLimitDecision result = null;
+    for (RateLimitDecision candidate : decisions) {
+      Objects.requireNonNull(candidate, "decisions must not contain null");
+      if (result == null || restricts(candidate, result)) {
+        result = candidate;
+      }
+    }
+    return result;
+  }
+
+  private static boolean restricts(RateLimitDecision candidate, RateLimitDecision current) {
+    if (candidate.isAllowed != current.isAllowed) {
+      return !candidate.isAllowed;
+    }
+    if (!candidate.isAllowed) {
+      return candidate.remainingTime > current.remainingTime;
+    }
+    Duration candidateReset = candidate.resetAfter == null ? Duration.ZERO : candidate.resetAfter;
+    Duration currentReset = current.resetAfter == null ? Duration.ZERO : current.resetAfter;
+    return candidateReset.compareTo(currentReset) > 0;
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) return true;
@@ -9,18 +9,57 @@ public class RateLimitPolicy {
   private final int limit; // Max requests allowed
   private final Duration window; // Time window for the limit
   private final String scope; // Optional scope (e.g., "user", "ip")
+  private final RateLimitAlgorithm algorithm; // Counting strategy used by the limiter
+  private final int burstCapacity; // Max requests admitted back-to-back (token bucket capacity)
+  private final int leaseSize; // Permits reserved per Redis call for local hand-out (0 = disabled)
 
   public RateLimitPolicy(int limit, Duration window, String scope) {
+    this(limit, window, scope, RateLimitAlgorithm.FIXED_WINDOW);
+  }
+
+  public RateLimitPolicy(int limit, Duration window, String scope, RateLimitAlgorithm algorithm) {
+    this(limit, window, scope, algorithm, limit);
+  }
+
+  /**
+   * @param limit requests per window; for token buckets this is the refill rate ({@code limit} tokens per window)
+   * @param burstCapacity maximum number of requests that can be admitted back-to-back
+   */
+  public RateLimitPolicy(int limit, Duration window, String scope, RateLimitAlgorithm algorithm, int burstCapacity) {
+    this(limit, window, scope, algorithm, burstCapacity, 0);
+  }
+
+  /**
+   * @param leaseSize permits a node reserves from the shared window budget in one call and hands out
+   *     locally; {@code 0} or {@code 1} evaluates every request against the backend
+   */
+  public RateLimitPolicy(
+      int limit,
+      Duration window,
+      String scope,
+      RateLimitAlgorithm algorithm,
+      int burstCapacity,
+      int leaseSize
+  ) {
     if (limit <= 0) {
       throw new IllegalArgumentException("Limit must be greater than 0");
     }
     if (window == null || window.isNegative() || window.isZero()) {
       throw new IllegalArgumentException("Window must be a positive duration");
     }
+    if (burstCapacity <= 0) {
+      throw new IllegalArgumentException("Burst capacity must be greater than 0");
+    }
+    if (leaseSize < 0) {
+      throw new IllegalArgumentException("Lease size cannot be negative");
+    }
 
     this.limit = limit;
     this.window = window;
     this.scope = RateLimitScope.from(scope).getScope();
+    this.algorithm = Objects.requireNonNull(algorithm, "algorithm must not be null");
+    this.burstCapacity = burstCapacity;
+    this.leaseSize = leaseSize;
   }
 
   public int getLimit() {
@@ -35,6 +74,32 @@ public class RateLimitPolicy {
     return scope;
   }
 
+  public RateLimitAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  public int getBurstCapacity() {
+    return burstCapacity;
+  }
+
+  public int getLeaseSize() {
+    return leaseSize;
+  }
+
+  /**
+   * Whether permits are reserved from the backend in slices of {@link #getLeaseSize()}.
+   */
+  public boolean isLeased() {
+    return leaseSize > 1;
+  }
+
+  /**
+   * Time needed to refill one permit: {@code window / limit}.
+   */
+  public Duration getRefillInterval() {
+    return window.dividedBy(limit);
+  }
+
   @Override
   public boolean equals(Object other) {
     if (this == other) return true;
@@ -42,12 +107,15 @@ public class RateLimitPolicy {
 
     return this.limit == that.limit &&
         this.window.equals(that.window) &&
-        this.scope.equals(that.scope);
+        this.scope.equals(that.scope) &&
+        this.algorithm == that.algorithm &&
+        this.burstCapacity == that.burstCapacity &&
+        this.leaseSize == that.leaseSize;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(limit, window, scope);
+    return Objects.hash(limit, window, scope, algorithm, burstCapacity, leaseSize);
   }
 
   @Override
@@ -56,6 +124,9 @@ public class RateLimitPolicy {
         "limit=" + limit +
         ", window=" + window +
         ", scope='" + scope + '\'' +
+        ", algorithm=" + algorithm +
+        ", burstCapacity=" + burstCapacity +
+        ", leaseSize=" + leaseSize +
         '}';
   }
 }
@@ -0,0 +1,96 @@
+package io.github.v4runsharma.ratelimiter.model;
+
+import java.time.Duration;
+import java.util.Objects;
+
+// Immutable partial policy: the values set here replace those of the policy declared in code
+public final class RateLimitPolicyOverride {
+
+  private final Integer limit; // Replacement limit, or null to keep the declared one
+  private final Duration window; // Replacement window, or null to keep the declared one
+  private final RateLimitAlgorithm algorithm; // Replacement algorithm, or null to keep the declared one
+  private final Integer burstCapacity; // Replacement burst, or null to keep the declared one
+
+  public RateLimitPolicyOverride(Integer limit, Duration window, RateLimitAlgorithm algorithm, Integer burstCapacity) {
+    if (limit != null && limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (window != null && (window.isZero() || window.isNegative())) {
+      throw new IllegalArgumentException("Window must be a positive duration");
+    }
+    if (burstCapacity != null && burstCapacity <= 0) {
+      throw new IllegalArgumentException("Burst capacity must be greater than 0");
+    }
+    this.limit = limit;
+    this.window = window;
+    this.algorithm = algorithm;
+    this.burstCapacity = burstCapacity;
+  }
+
+  /**
+   * Declared policy with the overridden values replaced. A burst that followed the declared limit
+   * follows the overridden limit; scope and lease size are kept.
+   */
+  public RateLimitPolicy applyTo(RateLimitPolicy policy) {
+    Objects.requireNonNull(policy, "policy must not be null");
+    int resolvedLimit = limit != null ? limit : policy.getLimit();
+    int resolvedBurst;
+    if (burstCapacity != null) {
+      resolvedBurst = burstCapacity;
+    } else if (policy.getBurstCapacity() == policy.getLimit()) {
+      resolvedBurst = resolvedLimit;
+    } else {
+      resolvedBurst = policy.getBurstCapacity();
+    }
+    return new RateLimitPolicy(
+        resolvedLimit,
+        window != null ? window : policy.getWindow(),
+        policy.getScope(),
+        algorithm != null ? algorithm : policy.getAlgorithm(),
+        resolvedBurst,
+        policy.getLeaseSize()
+    );
+  }
+
+  public Integer getLimit() {
+    return limit;
+  }
+
+  public Duration getWindow() {
+    return window;
+  }
+
+  public RateLimitAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  public Integer getBurstCapacity() {
+    return burstCapacity;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) return true;
+    if (!(other instanceof RateLimitPolicyOverride that)) return false;
+
+    return Objects.equals(this.limit, that.limit) &&
+        Objects.equals(this.window, that.window) &&
+        this.algorithm == that.algorithm &&
+        Objects.equals(this.burstCapacity, that.burstCapacity);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(limit, window, algorithm, burstCapacity);
+  }
+
+  @Override
+  public String toString() {
+    return "RateLimitPolicyOverride{" +
+        "limit=" + limit +
+        ", window=" + window +
+        ", algorithm=" + algorithm +
+        ", burstCapacity=" + burstCapacity +
+        '}';
+  }
+}
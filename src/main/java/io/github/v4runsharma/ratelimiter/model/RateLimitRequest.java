@@ -0,0 +1,61 @@
+package io.github.v4runsharma.ratelimiter.model;
+
+import java.util.Objects;
+
+// One key/policy pair to evaluate, e.g. a tier of a composite limit
+public final class RateLimitRequest {
+
+  private final String key; // Bucket key to charge
+  private final RateLimitPolicy policy; // Policy applied to the key
+  private final int cost; // Permits to consume
+
+  public RateLimitRequest(String key, RateLimitPolicy policy) {
+    this(key, policy, 1);
+  }
+
+  public RateLimitRequest(String key, RateLimitPolicy policy, int cost) {
+    if (key == null || key.isBlank()) {
+      throw new IllegalArgumentException("Key must not be blank");
+    }
+    if (cost <= 0) {
+      throw new IllegalArgumentException("Cost must be greater than 0");
+    }
+    this.key = key;
+    this.policy = Objects.requireNonNull(policy, "policy must not be null");
+    this.cost = cost;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public RateLimitPolicy getPolicy() {
+    return policy;
+  }
+
+  public int getCost() {
+    return cost;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) return true;
+    if (!(other instanceof RateLimitRequest that)) return false;
+
+    return this.key.equals(that.key) && this.policy.equals(that.policy) && this.cost == that.cost;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(key, policy, cost);
+  }
+
+  @Override
+  public String toString() {
+    return "RateLimitRequest{" +
+        "key='" + key + '\'' +
+        ", policy=" + policy +
+        ", cost=" + cost +
+        '}';
+  }
+}
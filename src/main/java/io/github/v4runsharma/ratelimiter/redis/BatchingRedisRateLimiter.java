@@ -0,0 +1,222 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Coalesces concurrent evaluations into pipelined batches sent by {@link RedisRateLimiter}.
+ * <p>A background flusher collects requests for up to {@code window} after the first one arrives,
+ * or until {@code maxBatchSize} requests are queued, and sends them to Redis as one pipeline.
+ * Each caller waits at most one window plus one round trip; Redis sees one exchange per batch
+ * instead of one per request.
+ */
+public final class BatchingRedisRateLimiter implements RateLimiter, InitializingBean, DisposableBean {
+
+  private static final Log logger = LogFactory.getLog(BatchingRedisRateLimiter.class);
+
+  private final RedisRateLimiter delegate;
+  private final long windowNanos;
+  private final int maxBatchSize;
+  private final BlockingQueue<PendingEvaluation> queue = new LinkedBlockingQueue<>();
+  private final Thread flusher;
+  private volatile boolean running = true;
+
+  /**
+   * @param window how long the flusher waits for more requests after the first one of a batch
+   * @param maxBatchSize maximum number of evaluations sent in one pipeline
+   */
+  public BatchingRedisRateLimiter(RedisRateLimiter delegate, Duration window, int maxBatchSize) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    Objects.requireNonNull(window, "window must not be null");
+    if (window.isNegative()) {
+      throw new IllegalArgumentException("window must not be negative");
+    }
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+    }
+    this.windowNanos = window.toNanos();
+    this.maxBatchSize = maxBatchSize;
+    this.flusher = new Thread(this::runFlusher, "ratelimiter-batch-flusher");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    delegate.afterPropertiesSet();
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy) {
+    return evaluate(key, policy, 1);
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
+    try {
+      return evaluateAsync(key, policy, cost).toCompletableFuture().join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public boolean supportsCost() {
+    return delegate.supportsCost();
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy) {
+    return evaluateAsync(key, policy, 1);
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy, int cost) {
+    if (key == null || key.isBlank()) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("key must not be blank"));
+    }
+    if (policy == null) {
+      return CompletableFuture.failedFuture(new NullPointerException("policy must not be null"));
+    }
+    if (cost <= 0) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("cost must be greater than 0"));
+    }
+    if (!running || (cost == 1 && policy.isLeased())) {
+      return delegate.evaluateAsync(key, policy, cost);
+    }
+
+    PendingEvaluation pending = new PendingEvaluation(key, policy, cost, new CompletableFuture<>());
+    queue.add(pending);
+    if (!running && queue.remove(pending)) {
+      return delegate.evaluateAsync(key, policy, cost);
+    }
+    return pending.result();
+  }
+
+  /**
+   * Composite evaluations are already a single script call and go straight to the delegate.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    return delegate.evaluateComposite(tiers);
+  }
+
+  /**
+   * Bulk evaluations are already one pipeline and go straight to the delegate.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateAll(List<RateLimitRequest> requests) {
+    return delegate.evaluateAll(requests);
+  }
+
+  /**
+   * Stops the flusher; queued evaluations are sent one by one before returning.
+   */
+  @Override
+  public void destroy() throws InterruptedException {
+    try {
+      stopFlusher();
+    } finally {
+      delegate.destroy();
+    }
+  }
+
+  private void stopFlusher() throws InterruptedException {
+    running = false;
+    flusher.interrupt();
+    flusher.join(TimeUnit.SECONDS.toMillis(1));
+
+    List<PendingEvaluation> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    for (PendingEvaluation pending : remaining) {
+      delegate.evaluateAsync(pending.key(), pending.policy(), pending.cost()).whenComplete(pending::complete);
+    }
+  }
+
+  private void runFlusher() {
+    List<PendingEvaluation> batch = new ArrayList<>(maxBatchSize);
+    while (running) {
+      try {
+        collect(batch);
+      } catch (InterruptedException ex) {
+        if (batch.isEmpty()) {
+          continue;
+        }
+      }
+      flush(batch);
+      batch.clear();
+    }
+  }
+
+  private void collect(List<PendingEvaluation> batch) throws InterruptedException {
+    batch.add(queue.take());
+    long deadline = System.nanoTime() + windowNanos;
+    while (batch.size() < maxBatchSize) {
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      long remainingNanos = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remainingNanos <= 0L) {
+        return;
+      }
+      PendingEvaluation next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void flush(List<PendingEvaluation> batch) {
+    try {
+      List<RateLimitRequest> requests = new ArrayList<>(batch.size());
+      for (PendingEvaluation pending : batch) {
+        requests.add(new RateLimitRequest(pending.key(), pending.policy(), pending.cost()));
+      }
+      List<CompletableFuture<RateLimitDecision>> results = delegate.evaluatePipelined(requests);
+      for (int i = 0; i < batch.size(); i++) {
+        results.get(i).whenComplete(batch.get(i)::complete);
+      }
+    } catch (RuntimeException ex) {
+      logger.debug("Rate limiter batch of " + batch.size() + " evaluations failed", ex);
+      for (PendingEvaluation pending : batch) {
+        pending.result().completeExceptionally(ex);
+      }
+    }
+  }
+
+  private record PendingEvaluation(
+      String key,
+      RateLimitPolicy policy,
+      int cost,
+      CompletableFuture<RateLimitDecision> result
+  ) {
+
+    void complete(RateLimitDecision decision, Throwable error) {
+      if (error != null) {
+        result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error);
+      } else {
+        result.complete(decision);
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several tiers evaluated by one {@code composite.lua} call, which charges them only if all admit.
+ * <p>Each tier is prepared by its algorithm ({@link RedisScriptedAlgorithm#prepareTier}); their keys
+ * and arguments are concatenated and the reply is split back into one decision per tier.
+ */
+final class CompositeScriptCall {
+
+  static final RedisRateLimitScript SCRIPT = RedisRateLimitScript.fromClasspath("composite.lua");
+
+  static final int KEYS_PER_TIER = 2;
+  static final int ARGS_PER_TIER = 6;
+  static final int REPLY_PER_TIER = 4;
+
+  private final List<RedisScriptCall> tiers;
+  private final RedisScriptCall call;
+
+  private CompositeScriptCall(List<RedisScriptCall> tiers, long nowMillis) {
+    this.tiers = tiers;
+    List<String> keys = new ArrayList<>(tiers.size() * KEYS_PER_TIER);
+    List<String> args = new ArrayList<>(1 + tiers.size() * ARGS_PER_TIER);
+    args.add(Long.toString(nowMillis));
+    for (RedisScriptCall tier : tiers) {
+      keys.addAll(tier.keys());
+      args.addAll(tier.args());
+    }
+    this.call = new RedisScriptCall(
+        SCRIPT,
+        keys,
+        args,
+        reply -> RateLimitDecision.mostRestrictive(decodeTiers(reply)),
+        tiers.get(0).resetAfterHint()
+    );
+  }
+
+  /**
+   * @param keyPrefix prefix prepended to every tier key, as for single evaluations
+   * @param keyLayout layout of the tier keys; tiers are placed in the slot of the first tier
+   * @param keyCodec encoding of the tier keys and their windows
+   */
+  static CompositeScriptCall prepare(
+      String keyPrefix,
+      RedisKeyLayout keyLayout,
+      RedisKeyCodec keyCodec,
+      List<RateLimitRequest> requests,
+      long nowMillis
+  ) {
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("tiers must not be empty");
+    }
+    String slotKey = keyCodec.encodeKey(requests.get(0).getKey());
+    List<RedisScriptCall> tiers = new ArrayList<>(requests.size());
+    for (RateLimitRequest request : requests) {
+      tiers.add(RedisScriptedAlgorithms.forAlgorithm(request.getPolicy().getAlgorithm())
+          .prepareTier(
+              keyLayout.baseKey(keyPrefix, keyCodec.encodeKey(request.getKey()), slotKey),
+              keyCodec,
+              request.getPolicy(),
+              request.getCost(),
+              nowMillis
+          ));
+    }
+    return new CompositeScriptCall(tiers, nowMillis);
+  }
+
+  /**
+   * Script call for all tiers; its own decoder yields the most restrictive tier decision.
+   */
+  RedisScriptCall call() {
+    return call;
+  }
+
+  List<RedisScriptCall> tiers() {
+    return tiers;
+  }
+
+  List<RateLimitDecision> decodeTiers(List<Object> reply) {
+    if (reply == null || reply.size() != tiers.size() * REPLY_PER_TIER) {
+      throw new IllegalStateException("Unexpected composite rate limiter script reply: " + reply);
+    }
+    List<RateLimitDecision> decisions = new ArrayList<>(tiers.size());
+    for (int i = 0; i < tiers.size(); i++) {
+      decisions.add(tiers.get(i).decode(reply.subList(i * REPLY_PER_TIER, (i + 1) * REPLY_PER_TIER)));
+    }
+    return decisions;
+  }
+}
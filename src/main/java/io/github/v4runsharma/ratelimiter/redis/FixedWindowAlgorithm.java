@@ -0,0 +1,81 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Fixed-window counter: one INCRBY-ed bucket per aligned window; denied requests are not counted.
+ * The script replies with the count only; the reset is derived from the aligned window.
+ */
+final class FixedWindowAlgorithm implements RedisScriptedAlgorithm {
+
+  private static final RedisRateLimitScript SCRIPT = RedisRateLimitScript.fromClasspath("fixed_window.lua");
+
+  @Override
+  public RedisRateLimitScript script() {
+    return SCRIPT;
+  }
+
+  @Override
+  public RedisScriptCall prepare(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    long windowMillis = policy.getWindow().toMillis();
+    long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+    long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
+    long ttlMillis = windowMillis + TTL_SAFETY_BUFFER.toMillis();
+
+    return new RedisScriptCall(
+        SCRIPT,
+        List.of(keyCodec.windowKey(baseKey, windowStartMillis, windowMillis)),
+        List.of(Long.toString(ttlMillis), Integer.toString(policy.getLimit()), Integer.toString(cost)),
+        reply -> decide(RedisScriptCall.longAt(reply, 0), policy.getLimit(), resetAfterMillis),
+        Duration.ofMillis(resetAfterMillis)
+    );
+  }
+
+  @Override
+  public RedisScriptCall prepareTier(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    long windowMillis = policy.getWindow().toMillis();
+    long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+    long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
+    String bucketKey = keyCodec.windowKey(baseKey, windowStartMillis, windowMillis);
+
+    return new RedisScriptCall(
+        CompositeScriptCall.SCRIPT,
+        List.of(bucketKey, bucketKey),
+        List.of(
+            "fw",
+            Integer.toString(policy.getLimit()),
+            Long.toString(windowMillis + TTL_SAFETY_BUFFER.toMillis()),
+            "0",
+            "0",
+            Integer.toString(cost)
+        ),
+        reply -> decide(RedisScriptCall.longAt(reply, 1), policy.getLimit(), resetAfterMillis),
+        Duration.ofMillis(resetAfterMillis)
+    );
+  }
+
+  static RateLimitDecision decide(long currentCount, int limit, long resetAfterMillis) {
+    boolean allowed = currentCount <= limit;
+
+    Duration resetAfter = Duration.ofMillis(resetAfterMillis);
+    Duration retryAfter = allowed ? null : resetAfter;
+    long remainingTime = allowed ? 0L : resetAfterMillis;
+
+    return new RateLimitDecision(allowed, remainingTime, retryAfter, resetAfter);
+  }
+}
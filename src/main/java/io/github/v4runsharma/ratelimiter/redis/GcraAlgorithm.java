@@ -0,0 +1,77 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Generic cell rate algorithm (GCRA).
+ * <p>Admission matches a token bucket of {@link RateLimitPolicy#getBurstCapacity()} refilled every
+ * {@link RateLimitPolicy#getRefillInterval()}, but Redis only stores the theoretical arrival time as
+ * one integer whose PTTL ends when the caller is fully idle again. Memory therefore scales with
+ * active callers instead of callers x windows. Time comes from Redis {@code TIME}, so the local
+ * clock is not used.
+ */
+final class GcraAlgorithm implements RedisScriptedAlgorithm {
+
+  private static final RedisRateLimitScript SCRIPT = RedisRateLimitScript.fromClasspath("gcra.lua");
+
+  @Override
+  public RedisRateLimitScript script() {
+    return SCRIPT;
+  }
+
+  @Override
+  public RedisScriptCall prepare(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    long emissionIntervalMicros = Math.max(1L, policy.getRefillInterval().toNanos() / 1_000L);
+    return new RedisScriptCall(
+        SCRIPT,
+        List.of(baseKey + ":gcra"),
+        List.of(
+            Long.toString(emissionIntervalMicros),
+            Integer.toString(policy.getBurstCapacity()),
+            Integer.toString(cost)
+        ),
+        GcraAlgorithm::decide,
+        null
+    );
+  }
+
+  @Override
+  public RedisScriptCall prepareTier(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    RedisScriptCall single = prepare(baseKey, keyCodec, policy, cost, nowMillis);
+    List<String> args = single.args();
+    return new RedisScriptCall(
+        CompositeScriptCall.SCRIPT,
+        List.of(single.keys().get(0), single.keys().get(0)),
+        List.of("gcra", args.get(0), args.get(1), "0", "0", args.get(2)),
+        single.decoder(),
+        null
+    );
+  }
+
+  private static RateLimitDecision decide(List<Object> reply) {
+    boolean allowed = RedisScriptCall.longAt(reply, 0) == 1L;
+    long retryAfterMillis = RedisScriptCall.longAt(reply, 2);
+    Duration resetAfter = Duration.ofMillis(Math.max(0L, RedisScriptCall.longAt(reply, 3)));
+
+    if (allowed) {
+      return new RateLimitDecision(true, 0L, null, resetAfter);
+    }
+    long remainingTime = Math.max(1L, retryAfterMillis);
+    return new RateLimitDecision(false, remainingTime, Duration.ofMillis(remainingTime), resetAfter);
+  }
+}
@@ -0,0 +1,150 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Local quota leases for hot fixed-window keys.
+ * <p>A node reserves up to {@link RateLimitPolicy#getLeaseSize()} permits of the current window from
+ * Redis with one {@code INCRBY}, then hands them out from an in-memory counter. Once Redis reports
+ * the window budget as used up, further requests are denied locally until the window rolls over.
+ * <p>Accuracy trade-off: permits leased by one node but not used are unavailable to other nodes
+ * until the window ends, so at most {@code nodes * (leaseSize - 1)} requests per window can be
+ * denied early. The limit itself is never exceeded.
+ */
+final class QuotaLeases {
+
+  static final RedisRateLimitScript LEASE_SCRIPT = RedisRateLimitScript.fromClasspath("fixed_window_lease.lua");
+  static final RedisRateLimitScript RELEASE_SCRIPT = RedisRateLimitScript.fromClasspath("fixed_window_release.lua");
+
+  private static final int MAX_TRACKED_KEYS = 10_000;
+
+  private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+  /**
+   * Admits from the local lease, or reserves a new slice through {@code executor} when it ran out.
+   */
+  RateLimitDecision acquire(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      long nowMillis,
+      Function<RedisScriptCall, List<Object>> executor
+  ) {
+    long windowMillis = policy.getWindow().toMillis();
+    long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+    long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
+    String bucketKey = keyCodec.windowKey(baseKey, windowStartMillis, windowMillis);
+
+    Slot slot = slots.computeIfAbsent(baseKey, ignored -> new Slot());
+    RateLimitDecision local = slot.tryLocal(windowStartMillis, resetAfterMillis);
+    if (local != null) {
+      return local;
+    }
+
+    RateLimitDecision decision;
+    synchronized (slot) {
+      local = slot.tryLocal(windowStartMillis, resetAfterMillis);
+      if (local != null) {
+        return local;
+      }
+
+      RedisScriptCall call = new RedisScriptCall(
+          LEASE_SCRIPT,
+          List.of(bucketKey),
+          List.of(
+              Integer.toString(policy.getLimit()),
+              Integer.toString(policy.getLeaseSize()),
+              Long.toString(windowMillis + RedisScriptedAlgorithm.TTL_SAFETY_BUFFER.toMillis())
+          ),
+          reply -> decision(RedisScriptCall.longAt(reply, 0) > 0L, resetAfterMillis),
+          Duration.ofMillis(resetAfterMillis)
+      );
+      List<Object> reply = executor.apply(call);
+      decision = call.decode(reply);
+
+      long granted = RedisScriptCall.longAt(reply, 0);
+      slot.window = new Window(
+          bucketKey,
+          windowStartMillis,
+          windowStartMillis + windowMillis,
+          new AtomicLong(Math.max(0L, granted - 1L)),
+          granted <= 0L
+      );
+    }
+
+    if (slots.size() > MAX_TRACKED_KEYS) {
+      slots.values().removeIf(candidate -> candidate.window.endMillis <= nowMillis);
+    }
+    return decision;
+  }
+
+  /**
+   * Returns unused permits of still-running windows to Redis, e.g. on shutdown.
+   */
+  void releaseAll(long nowMillis, Function<RedisScriptCall, List<Object>> executor) {
+    for (Slot slot : slots.values()) {
+      Window window = slot.window;
+      if (window.endMillis <= nowMillis) {
+        continue;
+      }
+      long unused = window.permits.getAndSet(0L);
+      if (unused > 0L) {
+        executor.apply(new RedisScriptCall(
+            RELEASE_SCRIPT,
+            List.of(window.bucketKey),
+            List.of(Long.toString(unused)),
+            reply -> null,
+            null
+        ));
+      }
+    }
+    slots.clear();
+  }
+
+  private static RateLimitDecision decision(boolean allowed, long resetAfterMillis) {
+    Duration resetAfter = Duration.ofMillis(resetAfterMillis);
+    return new RateLimitDecision(allowed, allowed ? 0L : resetAfterMillis, allowed ? null : resetAfter, resetAfter);
+  }
+
+  private static final class Slot {
+
+    private volatile Window window = Window.NONE;
+
+    RateLimitDecision tryLocal(long windowStartMillis, long resetAfterMillis) {
+      Window current = window;
+      if (current.startMillis != windowStartMillis) {
+        return null;
+      }
+      if (current.tryTake()) {
+        return decision(true, resetAfterMillis);
+      }
+      if (current.exhausted) {
+        return decision(false, resetAfterMillis);
+      }
+      return null;
+    }
+  }
+
+  private record Window(String bucketKey, long startMillis, long endMillis, AtomicLong permits, boolean exhausted) {
+
+    static final Window NONE = new Window("", Long.MIN_VALUE, Long.MIN_VALUE, new AtomicLong(), false);
+
+    boolean tryTake() {
+      long current;
+      do {
+        current = permits.get();
+        if (current <= 0L) {
+          return false;
+        }
+      } while (!permits.compareAndSet(current, current - 1L));
+      return true;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimiter;
+import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking Redis rate limiter running on the reactive (Lettuce) driver.
+ * <p>Uses the same Lua scripts and key layout as {@link RedisRateLimiter}, so blocking and reactive
+ * callers share buckets, including the composite script used for multi-tier limits. Scripts run with
+ * EVALSHA and fall back to EVAL when not cached.
+ */
+public final class ReactiveRedisRateLimiter implements ReactiveRateLimiter {
+
+  private static final String DEFAULT_KEY_PREFIX = "ratelimiter";
+
+  private final ReactiveStringRedisTemplate redisTemplate;
+  private final Clock clock;
+  private final String keyPrefix;
+  private final boolean failOpen;
+  private final RedisKeyLayout keyLayout;
+  private final RedisKeyCodec keyCodec;
+
+  public ReactiveRedisRateLimiter(ReactiveStringRedisTemplate redisTemplate) {
+    this(redisTemplate, Clock.systemUTC(), DEFAULT_KEY_PREFIX, false);
+  }
+
+  public ReactiveRedisRateLimiter(
+      ReactiveStringRedisTemplate redisTemplate,
+      Clock clock,
+      String keyPrefix,
+      boolean failOpen
+  ) {
+    this(redisTemplate, clock, keyPrefix, failOpen, RedisKeyLayout.STANDARD, RedisKeyCodec.PLAIN);
+  }
+
+  /**
+   * @param keyLayout how keys are laid out; must match the blocking limiter sharing the buckets
+   * @param keyCodec how keys and windows are encoded; must match the blocking limiter as well
+   */
+  public ReactiveRedisRateLimiter(
+      ReactiveStringRedisTemplate redisTemplate,
+      Clock clock,
+      String keyPrefix,
+      boolean failOpen,
+      RedisKeyLayout keyLayout,
+      RedisKeyCodec keyCodec
+  ) {
+    this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate must not be null");
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    this.keyPrefix = requireNonBlank(keyPrefix, "keyPrefix must not be blank");
+    this.failOpen = failOpen;
+    this.keyLayout = Objects.requireNonNull(keyLayout, "keyLayout must not be null");
+    this.keyCodec = Objects.requireNonNull(keyCodec, "keyCodec must not be null");
+  }
+
+  @Override
+  public Mono<RateLimitDecision> evaluate(String key, RateLimitPolicy policy) {
+    return evaluate(key, policy, 1);
+  }
+
+  @Override
+  public Mono<RateLimitDecision> evaluate(String key, RateLimitPolicy policy, int cost) {
+    // Validated on subscription, so invalid arguments are signalled as errors rather than thrown at assembly.
+    return Mono.defer(() -> {
+      String resolvedKey = requireNonBlank(key, "key must not be blank");
+      RateLimitPolicy resolvedPolicy = Objects.requireNonNull(policy, "policy must not be null");
+      if (cost <= 0) {
+        throw new IllegalArgumentException("cost must be greater than 0");
+      }
+
+      RedisScriptCall call = RedisScriptedAlgorithms.forAlgorithm(resolvedPolicy.getAlgorithm())
+          .prepare(
+              keyLayout.baseKey(keyPrefix, keyCodec.encodeKey(resolvedKey)),
+              keyCodec,
+              resolvedPolicy,
+              cost,
+              clock.millis()
+          );
+      byte[][] keysAndArgs = call.keysAndArgs();
+
+      return redisTemplate.execute(connection -> execute(connection, call, keysAndArgs))
+          .collectList()
+          .map(reply -> call.decode(flatten(reply)))
+          .onErrorResume(ex -> handleFailure(call, ex));
+    });
+  }
+
+  @Override
+  public boolean supportsCost() {
+    return true;
+  }
+
+  @Override
+  public Mono<List<RateLimitDecision>> evaluateComposite(List<RateLimitRequest> tiers) {
+    Objects.requireNonNull(tiers, "tiers must not be null");
+    if (tiers.size() == 1) {
+      RateLimitRequest tier = tiers.get(0);
+      return evaluate(tier.getKey(), tier.getPolicy(), tier.getCost()).map(List::of);
+    }
+
+    return Mono.defer(() -> {
+      CompositeScriptCall composite = CompositeScriptCall.prepare(keyPrefix, keyLayout, keyCodec, tiers, clock.millis());
+      RedisScriptCall call = composite.call();
+      byte[][] keysAndArgs = call.keysAndArgs();
+
+      return redisTemplate.execute(connection -> execute(connection, call, keysAndArgs))
+          .collectList()
+          .map(reply -> composite.decodeTiers(flatten(reply)))
+          .onErrorResume(ex -> Flux.fromIterable(composite.tiers())
+              .concatMap(tier -> handleFailure(tier, ex))
+              .collectList());
+    });
+  }
+
+  private static Flux<Object> execute(ReactiveRedisConnection connection, RedisScriptCall call, byte[][] keysAndArgs) {
+    RedisRateLimitScript script = call.script();
+    int numKeys = call.keys().size();
+    return connection.scriptingCommands()
+        .<Object>evalSha(script.getSha1(), ReturnType.MULTI, numKeys, wrap(keysAndArgs))
+        .onErrorResume(
+            RedisRateLimitScript::isNoScriptError,
+            ex -> connection.scriptingCommands()
+                .eval(ByteBuffer.wrap(script.getSource()), ReturnType.MULTI, numKeys, wrap(keysAndArgs))
+        );
+  }
+
+  private Mono<RateLimitDecision> handleFailure(RedisScriptCall call, Throwable ex) {
+    if (failOpen) {
+      return Mono.just(new RateLimitDecision(
+          true,
+          RateLimitDecision.REMAINING_TIME_UNKNOWN,
+          null,
+          call.resetAfterHint()
+      ));
+    }
+    return Mono.error(new RateLimiterBackendException(
+        "Redis rate limiter backend failure for key: " + call.keys().get(0), ex));
+  }
+
+  /**
+   * Drivers either emit the multi-bulk reply as one list or element by element; accept both.
+   */
+  private static List<Object> flatten(List<Object> reply) {
+    if (reply.size() == 1 && reply.get(0) instanceof List<?> nested) {
+      return new ArrayList<>(nested);
+    }
+    return reply;
+  }
+
+  private static ByteBuffer[] wrap(byte[][] values) {
+    ByteBuffer[] buffers = new ByteBuffer[values.length];
+    for (int i = 0; i < values.length; i++) {
+      buffers[i] = ByteBuffer.wrap(values[i]);
+    }
+    return buffers;
+  }
+
+  private static String requireNonBlank(String value, String message) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException(message);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * How the logical key and the window of a bucket are written into its Redis key.
+ */
+public enum RedisKeyCodec {
+
+  /**
+   * Logical key verbatim and the window start in epoch milliseconds, e.g. {@code user:Api#find:1739999999000}.
+   */
+  PLAIN {
+    @Override
+    public String encodeKey(String key) {
+      return key;
+    }
+
+    @Override
+    public String encodeWindow(long windowStartMillis, long windowMillis) {
+      return Long.toString(windowStartMillis);
+    }
+  },
+
+  /**
+   * Fixed-width 16-character digest of the logical key and the window index in base 36,
+   * e.g. {@code 3q2-7wZhYc0QbYvA:sk3xvk} instead of a long method identity and a 13-digit timestamp.
+   * <p>The digest is a truncated SHA-256 (96 bits), so client-controlled keys cannot be crafted to
+   * share a bucket with someone else's. Keys become opaque: {@code redis-cli} shows digests only.
+   */
+  COMPACT {
+
+    private static final int DIGEST_BYTES = 12;
+
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> {
+      try {
+        return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException("SHA-256 is not available", ex);
+      }
+    });
+
+    @Override
+    public String encodeKey(String key) {
+      byte[] digest = sha256.get().digest(key.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, DIGEST_BYTES));
+    }
+
+    @Override
+    public String encodeWindow(long windowStartMillis, long windowMillis) {
+      return Long.toString(Math.floorDiv(windowStartMillis, windowMillis), Character.MAX_RADIX);
+    }
+  };
+
+  /**
+   * Encodes the logical rate-limit key.
+   */
+  public abstract String encodeKey(String key);
+
+  /**
+   * Encodes an aligned window start; {@code windowMillis} is the window length.
+   */
+  public abstract String encodeWindow(long windowStartMillis, long windowMillis);
+
+  /**
+   * Redis key of the bucket for the window starting at {@code windowStartMillis}.
+   */
+  String windowKey(String baseKey, long windowStartMillis, long windowMillis) {
+    return baseKey + ":" + encodeWindow(windowStartMillis, windowMillis);
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+/**
+ * How logical rate-limit keys are laid out as Redis keys.
+ * <p>The returned base key is followed by the algorithm's own suffix, such as the window start.
+ */
+public enum RedisKeyLayout {
+
+  /**
+   * {@code prefix:key}. Buckets of one key may land on different Redis Cluster slots.
+   */
+  STANDARD {
+    @Override
+    String baseKey(String prefix, String key, String slotKey) {
+      return prefix + ":" + key;
+    }
+  },
+
+  /**
+   * {@code prefix:{key}}: the logical key is a Redis Cluster hash tag, so every bucket of a key
+   * (all windows, the sliding window's previous bucket, lease slices) hashes to the same slot.
+   * <p>Tiers evaluated together share the first tier's tag as {@code prefix:{first}:key}, which
+   * keeps the composite script within one slot. A prefix containing braces defeats the tag.
+   */
+  HASH_TAG {
+    @Override
+    String baseKey(String prefix, String key, String slotKey) {
+      if (key.equals(slotKey)) {
+        return prefix + ":{" + key + "}";
+      }
+      return prefix + ":{" + slotKey + "}:" + key;
+    }
+  };
+
+  /**
+   * Base Redis key for {@code key}, hashed on its own.
+   */
+  public String baseKey(String prefix, String key) {
+    return baseKey(prefix, key, key);
+  }
+
+  /**
+   * Base Redis key for {@code key}, placed in the same slot as {@code slotKey} where the layout allows.
+   */
+  abstract String baseKey(String prefix, String key, String slotKey);
+}
@@ -0,0 +1,87 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Counts live application nodes through a shared Redis sorted set.
+ * <p>Every {@code interval} this node writes its id with the current time as score, removes members
+ * silent for three intervals and reads the member count. {@link #getAsInt()} returns the last count
+ * (at least 1) without touching Redis; when Redis is unreachable the previous count is kept.
+ */
+public final class RedisNodeHeartbeat implements IntSupplier, DisposableBean {
+
+  private static final Log logger = LogFactory.getLog(RedisNodeHeartbeat.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final Clock clock;
+  private final String key;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final long expiryMillis;
+  private final ScheduledExecutorService scheduler;
+  private volatile int nodeCount = 1;
+
+  /**
+   * @param key sorted set shared by all nodes, e.g. {@code ratelimiter:nodes}
+   * @param interval how often this node refreshes its heartbeat and the count
+   */
+  public RedisNodeHeartbeat(StringRedisTemplate redisTemplate, Clock clock, String key, Duration interval) {
+    this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate must not be null");
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    if (key == null || key.isBlank()) {
+      throw new IllegalArgumentException("key must not be blank");
+    }
+    Objects.requireNonNull(interval, "interval must not be null");
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+    this.key = key;
+    this.expiryMillis = 3 * interval.toMillis();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ratelimiter-node-heartbeat");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler.scheduleWithFixedDelay(this::beat, 0L, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public int getAsInt() {
+    return nodeCount;
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    try {
+      redisTemplate.opsForZSet().remove(key, nodeId);
+    } catch (RuntimeException ex) {
+      logger.debug("Unable to remove rate limiter node heartbeat", ex);
+    }
+  }
+
+  void beat() {
+    try {
+      long nowMillis = clock.millis();
+      redisTemplate.opsForZSet().add(key, nodeId, nowMillis);
+      redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, nowMillis - expiryMillis);
+      redisTemplate.expire(key, Duration.ofMillis(expiryMillis));
+      Long members = redisTemplate.opsForZSet().zCard(key);
+      if (members != null) {
+        nodeCount = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, members));
+      }
+    } catch (RuntimeException ex) {
+      logger.debug("Rate limiter node heartbeat failed, keeping node count " + nodeCount, ex);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Lua script used by the Redis rate limiters.
+ * <p>Scripts run with {@code EVALSHA}; when Redis does not know the SHA yet (first call,
+ * restart, {@code SCRIPT FLUSH}) the call is retried once with {@code EVAL}, which also
+ * re-populates the script cache.
+ */
+final class RedisRateLimitScript {
+
+  private final String name;
+  private final String sha1;
+  private final byte[] source;
+
+  private RedisRateLimitScript(String name, String source) {
+    this.name = name;
+    this.sha1 = new DefaultRedisScript<>(source, List.class).getSha1();
+    this.source = source.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Loads a script stored next to this class on the classpath.
+   */
+  static RedisRateLimitScript fromClasspath(String fileName) {
+    ClassPathResource resource = new ClassPathResource(fileName, RedisRateLimitScript.class);
+    try (InputStream input = resource.getInputStream()) {
+      return new RedisRateLimitScript(fileName, StreamUtils.copyToString(input, StandardCharsets.UTF_8));
+    } catch (IOException ex) {
+      throw new IllegalStateException("Unable to read rate limiter script: " + fileName, ex);
+    }
+  }
+
+  String getName() {
+    return name;
+  }
+
+  String getSha1() {
+    return sha1;
+  }
+
+  byte[] getSource() {
+    return source.clone();
+  }
+
+  /**
+   * Registers the script in the Redis script cache so the first evaluation is a plain EVALSHA.
+   */
+  void load(RedisConnection connection) {
+    connection.scriptingCommands().scriptLoad(source);
+  }
+
+  /**
+   * Executes the script and returns its multi-bulk reply.
+   *
+   * @param keysAndArgs {@code numKeys} keys followed by the script arguments
+   */
+  List<Object> execute(RedisConnection connection, int numKeys, byte[]... keysAndArgs) {
+    Objects.requireNonNull(connection, "connection must not be null");
+    try {
+      return connection.scriptingCommands().evalSha(sha1, ReturnType.MULTI, numKeys, keysAndArgs);
+    } catch (RuntimeException ex) {
+      if (!isNoScriptError(ex)) {
+        throw ex;
+      }
+      return connection.scriptingCommands().eval(source, ReturnType.MULTI, numKeys, keysAndArgs);
+    }
+  }
+
+  static boolean isNoScriptError(Throwable error) {
+    Throwable current = error;
+    while (current != null) {
+      String message = current.getMessage();
+      if (message != null && message.contains("NOSCRIPT")) {
+        return true;
+      }
+      if (current.getCause() == current) {
+        return false;
+      }
+      current = current.getCause();
+    }
+    return false;
+  }
+}
@@ -2,29 +2,76 @@ package io.github.v4runsharma.ratelimiter.redis;
 
 import io.github.v4runsharma.ratelimiter.core.RateLimiter;
 import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.ClassUtils;
 
 /**
- * Redis-backed fixed-window rate limiter.
- * <p>Algorithm:
+ * Redis-backed rate limiter.
+ * <p>Fixed-window algorithm:
  * <p>- Derive a deterministic window bucket from current time and policy window.
  * <p>- Increment bucket counter with Redis INCR.
  * <p>- Set TTL when counter is created (first increment).
+ * <p>When script mode is enabled, INCRBY and PEXPIRE-on-create run as one Lua script, so each
+ * evaluation is a single round trip and a bucket can never be left behind without a TTL. Weighted
+ * requests (cost above 1) always use the script, which charges the cost only when it fits.
+ * <p>Other algorithms (see {@link RateLimitAlgorithm}) are always evaluated with their own script.
+ * <p>{@link #evaluateComposite(List)} checks several tiers in one script and charges them only
+ * when all admit; {@link #evaluateAll(List)} decides independent requests in one pipeline.
+ * <p>Fixed-window policies with a lease size (see {@link RateLimitPolicy#isLeased()}) reserve permits
+ * in slices and admit most requests from memory; unused permits are returned on shutdown. Weighted
+ * requests (cost above 1) bypass the lease and are charged in Redis directly.
+ * <p>With {@link RedisKeyLayout#HASH_TAG} every bucket of a key shares one Redis Cluster slot, and
+ * pipelined evaluations are sent grouped by slot so each shard receives its commands as one batch.
+ * <p>{@link #evaluateAsync(String, RateLimitPolicy)} is non-blocking when the connection factory is
+ * Lettuce: the algorithm script is sent through the factory's reactive connection, which Lettuce
+ * multiplexes on its shared native connection, and the returned stage completes on the driver's I/O
+ * thread. Evaluations that do not run a single script are decided synchronously on the calling thread
+ * instead: fixed-window policies in command mode (script mode disabled), single permits of leased
+ * policies (admitted from memory, with a blocking refill when the lease runs out) and other drivers.
  */
-public final class RedisRateLimiter implements RateLimiter {
+public final class RedisRateLimiter implements RateLimiter, InitializingBean, DisposableBean {
+
+  private static final Log logger = LogFactory.getLog(RedisRateLimiter.class);
 
   private static final String DEFAULT_KEY_PREFIX = "ratelimiter";
-  private static final Duration TTL_SAFETY_BUFFER = Duration.ofSeconds(1);
+
+  private static final boolean REACTOR_PRESENT =
+      ClassUtils.isPresent("reactor.core.publisher.Mono", RedisRateLimiter.class.getClassLoader());
 
   private final StringRedisTemplate redisTemplate;
   private final Clock clock;
   private final String keyPrefix;
   private final boolean failOpen;
+  private final boolean scriptEnabled;
+  private final RedisKeyLayout keyLayout;
+  private final RedisKeyCodec keyCodec;
+  private final QuotaLeases quotaLeases = new QuotaLeases();
+  private volatile AsyncEvaluator asyncEvaluator;
 
   public RedisRateLimiter(StringRedisTemplate redisTemplate) {
     this(redisTemplate, Clock.systemUTC(), DEFAULT_KEY_PREFIX, false);
@@ -35,16 +82,88 @@ public final class RedisRateLimiter implements RateLimiter {
   }
 
   public RedisRateLimiter(StringRedisTemplate redisTemplate, Clock clock, String keyPrefix, boolean failOpen) {
+    this(redisTemplate, clock, keyPrefix, failOpen, false);
+  }
+
+  public RedisRateLimiter(
+      StringRedisTemplate redisTemplate,
+      Clock clock,
+      String keyPrefix,
+      boolean failOpen,
+      boolean scriptEnabled
+  ) {
+    this(redisTemplate, clock, keyPrefix, failOpen, scriptEnabled, RedisKeyLayout.STANDARD, RedisKeyCodec.PLAIN);
+  }
+
+  /**
+   * @param keyLayout how keys are laid out; use {@link RedisKeyLayout#HASH_TAG} on Redis Cluster
+   * @param keyCodec how keys and windows are encoded; {@link RedisKeyCodec#COMPACT} shortens every key
+   */
+  public RedisRateLimiter(
+      StringRedisTemplate redisTemplate,
+      Clock clock,
+      String keyPrefix,
+      boolean failOpen,
+      boolean scriptEnabled,
+      RedisKeyLayout keyLayout,
+      RedisKeyCodec keyCodec
+  ) {
     this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate must not be null");
     this.clock = Objects.requireNonNull(clock, "clock must not be null");
     this.keyPrefix = requireNonBlank(keyPrefix, "keyPrefix must not be blank");
     this.failOpen = failOpen;
+    this.scriptEnabled = scriptEnabled;
+    this.keyLayout = Objects.requireNonNull(keyLayout, "keyLayout must not be null");
+    this.keyCodec = Objects.requireNonNull(keyCodec, "keyCodec must not be null");
+  }
+
+  /**
+   * Loads the Lua scripts into the Redis script cache at startup.
+   * <p>Failures are not fatal: evaluation falls back to EVAL when a script is not cached.
+   */
+  @Override
+  public void afterPropertiesSet() {
+    try {
+      loadScripts();
+    } catch (RuntimeException ex) {
+      logger.debug("Could not preload rate limiter scripts; they will be loaded on first use", ex);
+    }
+  }
+
+  private void loadScripts() {
+    redisTemplate.execute((RedisCallback<Void>) connection -> {
+      for (RedisScriptedAlgorithm algorithm : RedisScriptedAlgorithms.all()) {
+        algorithm.script().load(connection);
+      }
+      QuotaLeases.LEASE_SCRIPT.load(connection);
+      QuotaLeases.RELEASE_SCRIPT.load(connection);
+      CompositeScriptCall.SCRIPT.load(connection);
+      return null;
+    });
+  }
+
+  /**
+   * Returns unused leased permits to Redis so other nodes can use them for the rest of the window.
+   */
+  @Override
+  public void destroy() {
+    try {
+      quotaLeases.releaseAll(clock.millis(), this::executeScript);
+    } catch (RuntimeException ex) {
+      logger.debug("Could not return unused leased permits; they expire with their window", ex);
+    }
   }
 
   @Override
   public RateLimitDecision evaluate(String key, RateLimitPolicy policy) {
+    return evaluate(key, policy, 1);
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
     String resolvedKey = requireNonBlank(key, "key must not be blank");
     RateLimitPolicy resolvedPolicy = Objects.requireNonNull(policy, "policy must not be null");
+    requirePositiveCost(cost);
 
     long windowMillis = resolvedPolicy.getWindow().toMillis();
     if (windowMillis <= 0L) {
@@ -52,32 +171,304 @@ public final class RedisRateLimiter implements RateLimiter {
     }
 
     long nowMillis = clock.millis();
-    long windowStartMillis = nowMillis - (nowMillis % windowMillis);
-    long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
-    String redisKey = buildRedisKey(resolvedKey, windowStartMillis);
+    if (cost == 1 && isLeased(resolvedPolicy)) {
+      return evaluateLeased(resolvedKey, resolvedPolicy, nowMillis);
+    }
+    if (isCommandMode(resolvedPolicy, cost)) {
+      return evaluateWithCommands(resolvedKey, resolvedPolicy, nowMillis);
+    }
 
+    RedisScriptCall call = RedisScriptedAlgorithms.forAlgorithm(resolvedPolicy.getAlgorithm())
+        .prepare(buildBaseKey(resolvedKey), keyCodec, resolvedPolicy, cost, nowMillis);
     try {
-      long currentCount = increment(redisKey, resolvedPolicy.getWindow().plus(TTL_SAFETY_BUFFER));
-      boolean allowed = currentCount <= resolvedPolicy.getLimit();
+      return call.decode(executeScript(call));
+    } catch (RuntimeException ex) {
+      return handleFailure(call.keys().get(0), call.resetAfterHint(), ex);
+    }
+  }
 
-      Duration resetAfter = Duration.ofMillis(resetAfterMillis);
-      Duration retryAfter = allowed ? null : resetAfter;
-      long remainingTime = allowed ? 0L : resetAfterMillis;
+  @Override
+  public boolean supportsCost() {
+    return true;
+  }
 
-      return new RateLimitDecision(allowed, remainingTime, retryAfter, resetAfter);
+  /**
+   * Evaluates all tiers with one script that charges them only when every tier admits.
+   * <p>Leases and the command mode do not apply to composite evaluations; every tier is scripted.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    Objects.requireNonNull(tiers, "tiers must not be null");
+    if (tiers.size() == 1) {
+      RateLimitRequest tier = tiers.get(0);
+      return List.of(evaluate(tier.getKey(), tier.getPolicy(), tier.getCost()));
+    }
+
+    CompositeScriptCall composite = CompositeScriptCall.prepare(keyPrefix, keyLayout, keyCodec, tiers, clock.millis());
+    try {
+      List<Object> reply = executeScript(composite.call());
+      return composite.decodeTiers(reply);
     } catch (RuntimeException ex) {
-      if (failOpen) {
-        return new RateLimitDecision(
-            true,
-            RateLimitDecision.REMAINING_TIME_UNKNOWN,
-            null,
-            Duration.ofMillis(resetAfterMillis)
-        );
+      List<RateLimitDecision> decisions = new ArrayList<>(tiers.size());
+      for (RedisScriptCall tier : composite.tiers()) {
+        decisions.add(handleFailure(tier.keys().get(0), tier.resetAfterHint(), ex));
       }
-      throw new RateLimiterBackendException("Redis rate limiter backend failure for key: " + redisKey, ex);
+      return decisions;
     }
   }
 
+  /**
+   * Evaluates independent requests in one pipelined exchange; see {@link #evaluatePipelined(List)}.
+   * <p>In fail-closed mode a backend failure of any request is thrown for the whole batch.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateAll(List<RateLimitRequest> requests) {
+    Objects.requireNonNull(requests, "requests must not be null");
+    List<CompletableFuture<RateLimitDecision>> results = evaluatePipelined(requests);
+    List<RateLimitDecision> decisions = new ArrayList<>(results.size());
+    for (CompletableFuture<RateLimitDecision> result : results) {
+      try {
+        decisions.add(result.join());
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw ex;
+      }
+    }
+    return decisions;
+  }
+
+  private List<Object> executeScript(RedisScriptCall call) {
+    return redisTemplate.execute((RedisCallback<List<Object>>) call::execute);
+  }
+
+  private boolean isCommandMode(RateLimitPolicy policy, int cost) {
+    return cost == 1 && policy.getAlgorithm() == RateLimitAlgorithm.FIXED_WINDOW && !scriptEnabled;
+  }
+
+  private static boolean isLeased(RateLimitPolicy policy) {
+    return policy.isLeased() && policy.getAlgorithm() == RateLimitAlgorithm.FIXED_WINDOW;
+  }
+
+  private RateLimitDecision evaluateLeased(String key, RateLimitPolicy policy, long nowMillis) {
+    String baseKey = buildBaseKey(key);
+    try {
+      return quotaLeases.acquire(baseKey, keyCodec, policy, nowMillis, this::executeScript);
+    } catch (RuntimeException ex) {
+      long windowMillis = policy.getWindow().toMillis();
+      long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+      long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
+      return handleFailure(buildRedisKey(key, windowStartMillis, windowMillis), Duration.ofMillis(resetAfterMillis), ex);
+    }
+  }
+
+  /**
+   * Evaluates several requests in one pipelined exchange with Redis.
+   * <p>Every request runs its algorithm script (regardless of script mode), except single-permit
+   * requests of leased policies which are admitted from their local lease; the returned futures are
+   * already complete, in request order, and fail individually according to the fail-open setting.
+   */
+  List<CompletableFuture<RateLimitDecision>> evaluatePipelined(List<RateLimitRequest> requests) {
+    long nowMillis = clock.millis();
+    List<CompletableFuture<RateLimitDecision>> results = new ArrayList<>(requests.size());
+    List<RedisScriptCall> calls = new ArrayList<>(requests.size());
+    for (RateLimitRequest request : requests) {
+      try {
+        String resolvedKey = request.getKey();
+        RateLimitPolicy resolvedPolicy = request.getPolicy();
+        if (request.getCost() == 1 && isLeased(resolvedPolicy)) {
+          results.add(CompletableFuture.completedFuture(evaluateLeased(resolvedKey, resolvedPolicy, nowMillis)));
+          continue;
+        }
+        calls.add(RedisScriptedAlgorithms.forAlgorithm(resolvedPolicy.getAlgorithm())
+            .prepare(buildBaseKey(resolvedKey), keyCodec, resolvedPolicy, request.getCost(), nowMillis));
+        results.add(null);
+      } catch (RuntimeException ex) {
+        results.add(CompletableFuture.failedFuture(ex));
+      }
+    }
+    if (calls.isEmpty()) {
+      return results;
+    }
+
+    List<Object> replies;
+    try {
+      replies = executePipeline(calls);
+    } catch (RuntimeException ex) {
+      replies = Collections.nCopies(calls.size(), ex);
+    }
+
+    int callIndex = 0;
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i) == null) {
+        RedisScriptCall call = calls.get(callIndex);
+        Object reply = callIndex < replies.size() ? replies.get(callIndex) : null;
+        results.set(i, settle(call, reply));
+        callIndex++;
+      }
+    }
+    return results;
+  }
+
+  /**
+   * With the hash-tag layout, calls are sent grouped by cluster slot and replies restored to call order.
+   */
+  private List<Object> executePipeline(List<RedisScriptCall> calls) {
+    if (keyLayout != RedisKeyLayout.HASH_TAG || calls.size() < 2) {
+      return executeOrderedPipeline(calls);
+    }
+    int[] order = slotOrder(calls);
+    List<RedisScriptCall> grouped = new ArrayList<>(calls.size());
+    for (int index : order) {
+      grouped.add(calls.get(index));
+    }
+    List<Object> groupedReplies = executeOrderedPipeline(grouped);
+    List<Object> replies = new ArrayList<>(Collections.nCopies(calls.size(), null));
+    for (int i = 0; i < order.length && i < groupedReplies.size(); i++) {
+      replies.set(order[i], groupedReplies.get(i));
+    }
+    return replies;
+  }
+
+  /**
+   * Call indexes ordered by the cluster slot of their first key, keeping arrival order within a slot.
+   */
+  private static int[] slotOrder(List<RedisScriptCall> calls) {
+    Map<Integer, List<Integer>> bySlot = new LinkedHashMap<>();
+    for (int i = 0; i < calls.size(); i++) {
+      int slot = ClusterSlotHashUtil.calculateSlot(calls.get(i).keys().get(0));
+      bySlot.computeIfAbsent(slot, ignored -> new ArrayList<>()).add(i);
+    }
+    int[] order = new int[calls.size()];
+    int position = 0;
+    for (List<Integer> indexes : bySlot.values()) {
+      for (int index : indexes) {
+        order[position++] = index;
+      }
+    }
+    return order;
+  }
+
+  private List<Object> executeOrderedPipeline(List<RedisScriptCall> calls) {
+    try {
+      return pipeline(calls);
+    } catch (RedisPipelineException ex) {
+      if (!containsNoScriptError(ex)) {
+        return ex.getPipelineResult();
+      }
+      loadScripts();
+      try {
+        return pipeline(calls);
+      } catch (RedisPipelineException retryEx) {
+        return retryEx.getPipelineResult();
+      }
+    }
+  }
+
+  private List<Object> pipeline(List<RedisScriptCall> calls) {
+    return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (RedisScriptCall call : calls) {
+        call.enqueue(connection);
+      }
+      return null;
+    }, null);
+  }
+
+  private static boolean containsNoScriptError(RedisPipelineException ex) {
+    if (RedisRateLimitScript.isNoScriptError(ex)) {
+      return true;
+    }
+    for (Object result : ex.getPipelineResult()) {
+      if (result instanceof Throwable error && RedisRateLimitScript.isNoScriptError(error)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  private CompletableFuture<RateLimitDecision> settle(RedisScriptCall call, Object reply) {
+    try {
+      if (reply instanceof Throwable error) {
+        return CompletableFuture.completedFuture(handleFailure(call.keys().get(0), call.resetAfterHint(), error));
+      }
+      try {
+        return CompletableFuture.completedFuture(call.decode(reply instanceof List<?> list ? (List<Object>) list : null));
+      } catch (RuntimeException ex) {
+        return CompletableFuture.completedFuture(handleFailure(call.keys().get(0), call.resetAfterHint(), ex));
+      }
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy) {
+    return evaluateAsync(key, policy, 1);
+  }
+
+  /**
+   * Sends the algorithm script without blocking on Lettuce; command mode, leased single permits and
+   * other drivers are evaluated synchronously, as described on the class.
+   */
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy, int cost) {
+    AsyncEvaluator evaluator = asyncEvaluator();
+    boolean synchronous = policy != null && (isCommandMode(policy, cost) || (cost == 1 && isLeased(policy)));
+    if (evaluator == null || synchronous) {
+      try {
+        return CompletableFuture.completedFuture(evaluate(key, policy, cost));
+      } catch (RuntimeException ex) {
+        return CompletableFuture.failedFuture(ex);
+      }
+    }
+    return evaluator.evaluate(key, policy, cost);
+  }
+
+  private AsyncEvaluator asyncEvaluator() {
+    AsyncEvaluator evaluator = asyncEvaluator;
+    if (evaluator == null && REACTOR_PRESENT) {
+      RedisConnectionFactory connectionFactory = redisTemplate.getConnectionFactory();
+      if (connectionFactory instanceof ReactiveRedisConnectionFactory reactiveConnectionFactory) {
+        evaluator = new AsyncEvaluator(reactiveConnectionFactory, clock, keyPrefix, failOpen, keyLayout, keyCodec);
+        asyncEvaluator = evaluator;
+      }
+    }
+    return evaluator;
+  }
+
+  /**
+   * Command mode counts denied requests, as INCR always did. It only serves single permits: charging a
+   * weighted request and refunding its denial would take two commands, between which concurrent
+   * callers see the inflated count.
+   */
+  private RateLimitDecision evaluateWithCommands(String key, RateLimitPolicy policy, long nowMillis) {
+    long windowMillis = policy.getWindow().toMillis();
+    long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+    long resetAfterMillis = Math.max(1L, windowMillis - (nowMillis - windowStartMillis));
+    String redisKey = buildRedisKey(key, windowStartMillis, windowMillis);
+
+    try {
+      long currentCount = increment(redisKey, policy.getWindow().plus(RedisScriptedAlgorithm.TTL_SAFETY_BUFFER));
+      return FixedWindowAlgorithm.decide(currentCount, policy.getLimit(), resetAfterMillis);
+    } catch (RuntimeException ex) {
+      return handleFailure(redisKey, Duration.ofMillis(resetAfterMillis), ex);
+    }
+  }
+
+  private RateLimitDecision handleFailure(String redisKey, Duration resetAfter, Throwable ex) {
+    if (failOpen) {
+      return new RateLimitDecision(
+          true,
+          RateLimitDecision.REMAINING_TIME_UNKNOWN,
+          null,
+          resetAfter
+      );
+    }
+    throw new RateLimiterBackendException("Redis rate limiter backend failure for key: " + redisKey, ex);
+  }
+
   private long increment(String redisKey, Duration ttl) {
     Long current = redisTemplate.opsForValue().increment(redisKey);
     if (current == null) {
@@ -94,8 +485,18 @@ public final class RedisRateLimiter implements RateLimiter {
     return current;
   }
 
-  private String buildRedisKey(String key, long windowStartMillis) {
-    return keyPrefix + ":" + key + ":" + windowStartMillis;
+  private String buildBaseKey(String key) {
+    return keyLayout.baseKey(keyPrefix, keyCodec.encodeKey(key));
+  }
+
+  private String buildRedisKey(String key, long windowStartMillis, long windowMillis) {
+    return keyCodec.windowKey(buildBaseKey(key), windowStartMillis, windowMillis);
+  }
+
+  private static void requirePositiveCost(int cost) {
+    if (cost <= 0) {
+      throw new IllegalArgumentException("cost must be greater than 0");
+    }
   }
 
   private static String requireNonBlank(String value, String message) {
@@ -104,4 +505,32 @@ public final class RedisRateLimiter implements RateLimiter {
     }
     return value;
   }
+
+  /**
+   * Reactor-backed evaluation, kept in its own class so it only loads when Reactor is on the classpath.
+   */
+  private static final class AsyncEvaluator {
+
+    private final ReactiveRedisRateLimiter delegate;
+
+    AsyncEvaluator(
+        ReactiveRedisConnectionFactory connectionFactory,
+        Clock clock,
+        String keyPrefix,
+        boolean failOpen,
+        RedisKeyLayout keyLayout,
+        RedisKeyCodec keyCodec
+    ) {
+      this.delegate = new ReactiveRedisRateLimiter(
+          new ReactiveStringRedisTemplate(connectionFactory), clock, keyPrefix, failOpen, keyLayout, keyCodec);
+    }
+
+    CompletionStage<RateLimitDecision> evaluate(String key, RateLimitPolicy policy, int cost) {
+      try {
+        return delegate.evaluate(key, policy, cost).toFuture();
+      } catch (RuntimeException ex) {
+        return CompletableFuture.failedFuture(ex);
+      }
+    }
+  }
 }
@@ -0,0 +1,64 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+
+/**
+ * One prepared script evaluation: what to send to Redis and how to read the reply.
+ *
+ * @param script script to run
+ * @param keys Redis keys touched by the script
+ * @param args script arguments
+ * @param decoder turns the script reply into a decision
+ * @param resetAfterHint best-effort reset time used when the backend fails open (may be {@code null})
+ */
+record RedisScriptCall(
+    RedisRateLimitScript script,
+    List<String> keys,
+    List<String> args,
+    Function<List<Object>, RateLimitDecision> decoder,
+    Duration resetAfterHint
+) {
+
+  List<Object> execute(RedisConnection connection) {
+    return script.execute(connection, keys.size(), keysAndArgs());
+  }
+
+  /**
+   * Queues the script on a pipelined connection; the reply is read when the pipeline is closed.
+   */
+  void enqueue(RedisConnection connection) {
+    connection.scriptingCommands().evalSha(script.getSha1(), ReturnType.MULTI, keys.size(), keysAndArgs());
+  }
+
+  RateLimitDecision decode(List<Object> reply) {
+    if (reply == null || reply.isEmpty()) {
+      throw new IllegalStateException("Redis script " + script.getName() + " returned no reply for key: " + keys.get(0));
+    }
+    return decoder.apply(reply);
+  }
+
+  byte[][] keysAndArgs() {
+    byte[][] raw = new byte[keys.size() + args.size()][];
+    int index = 0;
+    for (String key : keys) {
+      raw[index++] = key.getBytes(StandardCharsets.UTF_8);
+    }
+    for (String arg : args) {
+      raw[index++] = arg.getBytes(StandardCharsets.UTF_8);
+    }
+    return raw;
+  }
+
+  static long longAt(List<Object> reply, int index) {
+    if (reply.size() <= index || !(reply.get(index) instanceof Number value)) {
+      throw new IllegalStateException("Unexpected rate limiter script reply: " + reply);
+    }
+    return value.longValue();
+  }
+}
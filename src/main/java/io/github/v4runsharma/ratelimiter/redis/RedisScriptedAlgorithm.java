@@ -0,0 +1,49 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+
+/**
+ * Redis implementation of one {@link io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm}.
+ * <p>Each algorithm is a single Lua script, so every evaluation is one atomic round trip.
+ */
+interface RedisScriptedAlgorithm {
+
+  /**
+   * Extra TTL on top of the data lifetime so buckets never expire while still in use.
+   */
+  Duration TTL_SAFETY_BUFFER = Duration.ofSeconds(1);
+
+  RedisRateLimitScript script();
+
+  /**
+   * Prepares the script call for a key.
+   *
+   * @param baseKey prefixed key; algorithms append their own suffixes
+   * @param keyCodec encodes window suffixes of the bucket keys
+   * @param policy policy to evaluate
+   * @param cost permits to consume; nothing is consumed when the call is denied
+   * @param nowMillis current time in epoch milliseconds
+   */
+  RedisScriptCall prepare(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  );
+
+  /**
+   * Prepares this algorithm as one tier of {@link CompositeScriptCall}.
+   * <p>The returned call has exactly {@link CompositeScriptCall#KEYS_PER_TIER} keys and
+   * {@link CompositeScriptCall#ARGS_PER_TIER} arguments (tier type first, cost last), and its decoder reads the
+   * tier's {@link CompositeScriptCall#REPLY_PER_TIER} reply values.
+   */
+  RedisScriptCall prepareTier(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  );
+}
@@ -0,0 +1,39 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registry of the scripted algorithms shared by the blocking and reactive Redis limiters.
+ */
+final class RedisScriptedAlgorithms {
+
+  private static final Map<RateLimitAlgorithm, RedisScriptedAlgorithm> ALGORITHMS = createAlgorithms();
+
+  private RedisScriptedAlgorithms() {
+  }
+
+  static RedisScriptedAlgorithm forAlgorithm(RateLimitAlgorithm algorithm) {
+    RedisScriptedAlgorithm scripted = ALGORITHMS.get(algorithm);
+    if (scripted == null) {
+      throw new IllegalArgumentException("Unsupported rate limit algorithm: " + algorithm);
+    }
+    return scripted;
+  }
+
+  static Collection<RedisScriptedAlgorithm> all() {
+    return Collections.unmodifiableCollection(ALGORITHMS.values());
+  }
+
+  private static Map<RateLimitAlgorithm, RedisScriptedAlgorithm> createAlgorithms() {
+    Map<RateLimitAlgorithm, RedisScriptedAlgorithm> algorithms = new EnumMap<>(RateLimitAlgorithm.class);
+    algorithms.put(RateLimitAlgorithm.FIXED_WINDOW, new FixedWindowAlgorithm());
+    algorithms.put(RateLimitAlgorithm.SLIDING_WINDOW, new SlidingWindowAlgorithm());
+    algorithms.put(RateLimitAlgorithm.TOKEN_BUCKET, new TokenBucketAlgorithm());
+    algorithms.put(RateLimitAlgorithm.GCRA, new GcraAlgorithm());
+    return algorithms;
+  }
+}
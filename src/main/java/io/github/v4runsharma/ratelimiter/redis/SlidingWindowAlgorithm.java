@@ -0,0 +1,119 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sliding-window counter.
+ * <p>Estimates the requests in the trailing window as
+ * {@code previous * (window - elapsed) / window + current}, using the counters of the previous and
+ * current aligned buckets. Memory stays at two integers per key, and the 2x boundary burst of the
+ * fixed window goes away.
+ */
+final class SlidingWindowAlgorithm implements RedisScriptedAlgorithm {
+
+  private static final RedisRateLimitScript SCRIPT = RedisRateLimitScript.fromClasspath("sliding_window.lua");
+
+  @Override
+  public RedisRateLimitScript script() {
+    return SCRIPT;
+  }
+
+  @Override
+  public RedisScriptCall prepare(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    long windowMillis = policy.getWindow().toMillis();
+    long windowStartMillis = nowMillis - (nowMillis % windowMillis);
+    long elapsedMillis = nowMillis - windowStartMillis;
+    long resetAfterMillis = Math.max(1L, windowMillis - elapsedMillis);
+    // The current bucket is still read as the "previous" one during the next window.
+    long ttlMillis = 2 * windowMillis + TTL_SAFETY_BUFFER.toMillis();
+
+    return new RedisScriptCall(
+        SCRIPT,
+        List.of(
+            keyCodec.windowKey(baseKey, windowStartMillis, windowMillis),
+            keyCodec.windowKey(baseKey, windowStartMillis - windowMillis, windowMillis)
+        ),
+        List.of(
+            Integer.toString(policy.getLimit()),
+            Long.toString(windowMillis),
+            Long.toString(elapsedMillis),
+            Long.toString(ttlMillis),
+            Integer.toString(cost)
+        ),
+        reply -> decide(reply, policy.getLimit(), cost, windowMillis, elapsedMillis),
+        Duration.ofMillis(resetAfterMillis)
+    );
+  }
+
+  @Override
+  public RedisScriptCall prepareTier(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    RedisScriptCall single = prepare(baseKey, keyCodec, policy, cost, nowMillis);
+    List<String> args = single.args();
+    return new RedisScriptCall(
+        CompositeScriptCall.SCRIPT,
+        single.keys(),
+        List.of("sw", args.get(0), args.get(1), args.get(2), args.get(3), args.get(4)),
+        single.decoder(),
+        single.resetAfterHint()
+    );
+  }
+
+  private static RateLimitDecision decide(
+      List<Object> reply,
+      int limit,
+      int cost,
+      long windowMillis,
+      long elapsedMillis
+  ) {
+    boolean allowed = RedisScriptCall.longAt(reply, 0) == 1L;
+    long current = RedisScriptCall.longAt(reply, 1);
+    long previous = RedisScriptCall.longAt(reply, 2);
+    Duration resetAfter = Duration.ofMillis(Math.max(1L, windowMillis - elapsedMillis));
+
+    if (allowed) {
+      return new RateLimitDecision(true, 0L, null, resetAfter);
+    }
+
+    long retryAfterMillis = retryAfterMillis(limit, cost, windowMillis, elapsedMillis, current, previous);
+    return new RateLimitDecision(false, retryAfterMillis, Duration.ofMillis(retryAfterMillis), resetAfter);
+  }
+
+  /**
+   * Time until the weighted estimate leaves room for {@code cost} more permits, assuming no further traffic.
+   * <p>A cost above the limit never fits; the time until both buckets are empty is returned.
+   */
+  static long retryAfterMillis(
+      int limit,
+      int cost,
+      long windowMillis,
+      long elapsedMillis,
+      long current,
+      long previous
+  ) {
+    double budget = Math.max(0.0d, (double) limit - cost);
+    if (current <= budget && previous > 0) {
+      // Room appears in this window once enough of the previous bucket has slid out.
+      double admitAt = windowMillis * (1.0d - (budget - current) / previous);
+      return Math.max(1L, (long) Math.ceil(admitAt - elapsedMillis));
+    }
+
+    // The current bucket alone is full: wait for it to become the previous bucket and decay.
+    double admitAtNextWindow = current <= 0 ? 0.0d : windowMillis * Math.max(0.0d, 1.0d - budget / current);
+    return Math.max(1L, (windowMillis - elapsedMillis) + (long) Math.ceil(admitAtNextWindow));
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token bucket kept in one Redis hash ({@code tokens}, {@code ts}).
+ * <p>The bucket holds up to {@link RateLimitPolicy#getBurstCapacity()} tokens and gains
+ * {@link RateLimitPolicy#getLimit()} tokens per window. The key expires once the bucket would be
+ * full again, since a missing bucket and a full one are equivalent.
+ */
+final class TokenBucketAlgorithm implements RedisScriptedAlgorithm {
+
+  private static final RedisRateLimitScript SCRIPT = RedisRateLimitScript.fromClasspath("token_bucket.lua");
+
+  @Override
+  public RedisRateLimitScript script() {
+    return SCRIPT;
+  }
+
+  @Override
+  public RedisScriptCall prepare(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    return new RedisScriptCall(
+        SCRIPT,
+        List.of(baseKey + ":tb"),
+        List.of(
+            Integer.toString(policy.getBurstCapacity()),
+            Integer.toString(policy.getLimit()),
+            Long.toString(policy.getWindow().toMillis()),
+            Long.toString(nowMillis),
+            Integer.toString(cost),
+            Long.toString(TTL_SAFETY_BUFFER.toMillis())
+        ),
+        TokenBucketAlgorithm::decide,
+        null
+    );
+  }
+
+  @Override
+  public RedisScriptCall prepareTier(
+      String baseKey,
+      RedisKeyCodec keyCodec,
+      RateLimitPolicy policy,
+      int cost,
+      long nowMillis
+  ) {
+    RedisScriptCall single = prepare(baseKey, keyCodec, policy, cost, nowMillis);
+    List<String> args = single.args();
+    return new RedisScriptCall(
+        CompositeScriptCall.SCRIPT,
+        List.of(single.keys().get(0), single.keys().get(0)),
+        List.of("tb", args.get(0), args.get(1), args.get(2), args.get(5), args.get(4)),
+        single.decoder(),
+        null
+    );
+  }
+
+  private static RateLimitDecision decide(List<Object> reply) {
+    boolean allowed = RedisScriptCall.longAt(reply, 0) == 1L;
+    long retryAfterMillis = RedisScriptCall.longAt(reply, 2);
+    Duration resetAfter = Duration.ofMillis(Math.max(0L, RedisScriptCall.longAt(reply, 3)));
+
+    if (allowed) {
+      return new RateLimitDecision(true, 0L, null, resetAfter);
+    }
+    long remainingTime = Math.max(1L, retryAfterMillis);
+    return new RateLimitDecision(false, remainingTime, Duration.ofMillis(remainingTime), resetAfter);
+  }
+}
@@ -0,0 +1,213 @@
+package io.github.v4runsharma.ratelimiter.resilience;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} backend calls.
+ * <p>Once at least {@code minimumCalls} outcomes are recorded, the circuit opens when the share of
+ * failed calls reaches {@code failureRateThreshold} or the share of calls slower than
+ * {@code slowCallDuration} reaches {@code slowCallRateThreshold}. After {@code openDuration} it lets
+ * {@code halfOpenProbes} calls through: if all of them succeed quickly it closes, otherwise it opens
+ * again.
+ */
+public final class CircuitBreaker {
+
+  private static final byte SUCCESS = 0;
+  private static final byte FAILURE = 1;
+  private static final byte SLOW = 2;
+
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final long slowCallNanos;
+  private final double slowCallRateThreshold;
+  private final long openNanos;
+  private final int halfOpenProbes;
+  private final LongSupplier nanoTime;
+  private final byte[] outcomes;
+
+  private volatile CircuitState state = CircuitState.CLOSED;
+  private Consumer<CircuitState> listener = ignored -> {
+  };
+  private int recorded;
+  private int next;
+  private int failures;
+  private int slowCalls;
+  private long openedAtNanos;
+  private int probesStarted;
+  private int probesSucceeded;
+
+  public CircuitBreaker(
+      int windowSize,
+      int minimumCalls,
+      double failureRateThreshold,
+      Duration slowCallDuration,
+      double slowCallRateThreshold,
+      Duration openDuration,
+      int halfOpenProbes
+  ) {
+    this(windowSize, minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold,
+        openDuration, halfOpenProbes, System::nanoTime);
+  }
+
+  CircuitBreaker(
+      int windowSize,
+      int minimumCalls,
+      double failureRateThreshold,
+      Duration slowCallDuration,
+      double slowCallRateThreshold,
+      Duration openDuration,
+      int halfOpenProbes,
+      LongSupplier nanoTime
+  ) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("windowSize must be greater than 0");
+    }
+    if (minimumCalls <= 0 || minimumCalls > windowSize) {
+      throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+    }
+    if (!(failureRateThreshold > 0.0d && failureRateThreshold <= 1.0d)) {
+      throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+    }
+    if (!(slowCallRateThreshold > 0.0d && slowCallRateThreshold <= 1.0d)) {
+      throw new IllegalArgumentException("slowCallRateThreshold must be in (0, 1]");
+    }
+    Objects.requireNonNull(slowCallDuration, "slowCallDuration must not be null");
+    Objects.requireNonNull(openDuration, "openDuration must not be null");
+    if (slowCallDuration.isNegative() || slowCallDuration.isZero()) {
+      throw new IllegalArgumentException("slowCallDuration must be positive");
+    }
+    if (openDuration.isNegative()) {
+      throw new IllegalArgumentException("openDuration must not be negative");
+    }
+    if (halfOpenProbes <= 0) {
+      throw new IllegalArgumentException("halfOpenProbes must be greater than 0");
+    }
+    this.outcomes = new byte[windowSize];
+    this.minimumCalls = minimumCalls;
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallNanos = slowCallDuration.toNanos();
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.halfOpenProbes = halfOpenProbes;
+    this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime must not be null");
+  }
+
+  public CircuitState getState() {
+    return state;
+  }
+
+  /**
+   * Registers the callback invoked with the new state on every transition.
+   */
+  public synchronized void onStateChange(Consumer<CircuitState> listener) {
+    this.listener = Objects.requireNonNull(listener, "listener must not be null");
+  }
+
+  /**
+   * Whether the next call may go to the backend; every permitted call must be followed by
+   * {@link #onSuccess(long)} or {@link #onFailure()}.
+   */
+  public boolean tryAcquire() {
+    if (state == CircuitState.CLOSED) {
+      return true;
+    }
+    synchronized (this) {
+      if (state == CircuitState.OPEN) {
+        if (nanoTime.getAsLong() - openedAtNanos < openNanos) {
+          return false;
+        }
+        probesStarted = 0;
+        probesSucceeded = 0;
+        transition(CircuitState.HALF_OPEN);
+      }
+      if (state == CircuitState.HALF_OPEN) {
+        if (probesStarted >= halfOpenProbes) {
+          return false;
+        }
+        probesStarted++;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Records a completed backend call; calls slower than the slow-call duration count against the circuit.
+   */
+  public synchronized void onSuccess(long latencyNanos) {
+    boolean slow = latencyNanos >= slowCallNanos;
+    if (state == CircuitState.HALF_OPEN) {
+      if (slow) {
+        open();
+      } else if (++probesSucceeded >= halfOpenProbes) {
+        reset();
+        transition(CircuitState.CLOSED);
+      }
+      return;
+    }
+    record(slow ? SLOW : SUCCESS);
+  }
+
+  /**
+   * Records a failed or timed-out backend call.
+   */
+  public synchronized void onFailure() {
+    if (state == CircuitState.HALF_OPEN) {
+      open();
+      return;
+    }
+    record(FAILURE);
+  }
+
+  private void record(byte outcome) {
+    if (state != CircuitState.CLOSED) {
+      return;
+    }
+    if (recorded == outcomes.length) {
+      forget(outcomes[next]);
+    } else {
+      recorded++;
+    }
+    outcomes[next] = outcome;
+    next = (next + 1) % outcomes.length;
+    if (outcome == FAILURE) {
+      failures++;
+    } else if (outcome == SLOW) {
+      slowCalls++;
+    }
+
+    if (recorded >= minimumCalls
+        && ((double) failures / recorded >= failureRateThreshold
+        || (double) slowCalls / recorded >= slowCallRateThreshold)) {
+      open();
+    }
+  }
+
+  private void forget(byte outcome) {
+    if (outcome == FAILURE) {
+      failures--;
+    } else if (outcome == SLOW) {
+      slowCalls--;
+    }
+  }
+
+  private void open() {
+    reset();
+    openedAtNanos = nanoTime.getAsLong();
+    transition(CircuitState.OPEN);
+  }
+
+  private void reset() {
+    recorded = 0;
+    next = 0;
+    failures = 0;
+    slowCalls = 0;
+  }
+
+  private void transition(CircuitState newState) {
+    state = newState;
+    listener.accept(newState);
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.v4runsharma.ratelimiter.resilience;
+
+/**
+ * State of the circuit breaker guarding a rate limiter backend.
+ */
+public enum CircuitState {
+
+  /**
+   * Calls go to the backend and their outcomes are recorded.
+   */
+  CLOSED,
+
+  /**
+   * The backend is skipped and the failure mode decides every call.
+   */
+  OPEN,
+
+  /**
+   * A limited number of probe calls go to the backend to test whether it recovered.
+   */
+  HALF_OPEN
+}
@@ -0,0 +1,22 @@
+package io.github.v4runsharma.ratelimiter.resilience;
+
+/**
+ * How calls are decided when the backend fails, times out or its circuit is open.
+ */
+public enum FailureMode {
+
+  /**
+   * Admit the request.
+   */
+  FAIL_OPEN,
+
+  /**
+   * Reject the call with a {@code RateLimiterBackendException}.
+   */
+  FAIL_CLOSED,
+
+  /**
+   * Apply the same policy with a process-local limiter, so each node still enforces the full limit.
+   */
+  DEGRADE_LOCAL
+}
@@ -0,0 +1,236 @@
+package io.github.v4runsharma.ratelimiter.resilience;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Guards a backend {@link RateLimiter} with a per-call deadline and a {@link CircuitBreaker}.
+ * <p>Each call waits at most {@code timeout} for {@link RateLimiter#evaluateAsync}; failures and
+ * timeouts feed the circuit breaker, and while it is open the backend is not called at all. Failed,
+ * timed-out and short-circuited calls are decided by the {@link FailureMode}. The deadline only
+ * bounds the wait when the delegate evaluates asynchronously (e.g. {@code RedisRateLimiter} on
+ * Lettuce); a blocking delegate still counts as a slow call once it returns.
+ * <p>Circuit state changes are reported through {@link RateLimitMetricsRecorder#recordCircuitState}.
+ */
+public final class ResilientRateLimiter implements RateLimiter, InitializingBean, DisposableBean {
+
+  private final RateLimiter delegate;
+  private final Duration timeout;
+  private final CircuitBreaker circuitBreaker;
+  private final FailureMode failureMode;
+  private final RateLimiter localFallback;
+
+  /**
+   * @param localFallback limiter used in {@link FailureMode#DEGRADE_LOCAL}; required for that mode,
+   *     ignored otherwise, and destroyed together with this limiter
+   */
+  public ResilientRateLimiter(
+      RateLimiter delegate,
+      Duration timeout,
+      CircuitBreaker circuitBreaker,
+      FailureMode failureMode,
+      RateLimiter localFallback,
+      RateLimitMetricsRecorder metricsRecorder
+  ) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.timeout = Objects.requireNonNull(timeout, "timeout must not be null");
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("timeout must be positive");
+    }
+    this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "circuitBreaker must not be null");
+    this.failureMode = Objects.requireNonNull(failureMode, "failureMode must not be null");
+    if (failureMode == FailureMode.DEGRADE_LOCAL && localFallback == null) {
+      throw new IllegalArgumentException("localFallback is required for " + FailureMode.DEGRADE_LOCAL);
+    }
+    this.localFallback = localFallback;
+
+    Objects.requireNonNull(metricsRecorder, "metricsRecorder must not be null");
+    circuitBreaker.onStateChange(metricsRecorder::recordCircuitState);
+    metricsRecorder.recordCircuitState(circuitBreaker.getState());
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy) {
+    return evaluate(key, policy, 1);
+  }
+
+  @Override
+  public RateLimitDecision evaluate(String key, RateLimitPolicy policy, int cost) {
+    try {
+      return evaluateAsync(key, policy, cost).toCompletableFuture().join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public boolean supportsCost() {
+    return delegate.supportsCost() && (failureMode != FailureMode.DEGRADE_LOCAL || localFallback.supportsCost());
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy) {
+    return evaluateAsync(key, policy, 1);
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(String key, RateLimitPolicy policy, int cost) {
+    if (key == null || key.isBlank()) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("key must not be blank"));
+    }
+    if (policy == null) {
+      return CompletableFuture.failedFuture(new NullPointerException("policy must not be null"));
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      return fallback(key, policy, cost, new RateLimiterBackendException("Rate limiter backend circuit is open"));
+    }
+
+    long startNanos = System.nanoTime();
+    CompletableFuture<RateLimitDecision> call;
+    try {
+      call = evaluateAsync(delegate, key, policy, cost).toCompletableFuture();
+    } catch (RuntimeException ex) {
+      call = CompletableFuture.failedFuture(ex);
+    }
+    return call
+        .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+        .handle((decision, error) -> {
+          if (error == null) {
+            circuitBreaker.onSuccess(System.nanoTime() - startNanos);
+            return CompletableFuture.completedFuture(decision);
+          }
+          circuitBreaker.onFailure();
+          return fallback(key, policy, cost, unwrap(error));
+        })
+        .thenCompose(stage -> stage);
+  }
+
+  /**
+   * Guarded by the circuit breaker like single evaluations; the delegate's composite evaluation is
+   * synchronous, so the deadline is not applied to it.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateComposite(List<RateLimitRequest> tiers) {
+    Objects.requireNonNull(tiers, "tiers must not be null");
+    return guardAll(tiers, limiter -> limiter.evaluateComposite(tiers));
+  }
+
+  /**
+   * Guarded like {@link #evaluateComposite(List)}: one breaker permit and one outcome for the whole batch.
+   */
+  @Override
+  public List<RateLimitDecision> evaluateAll(List<RateLimitRequest> requests) {
+    Objects.requireNonNull(requests, "requests must not be null");
+    return guardAll(requests, limiter -> limiter.evaluateAll(requests));
+  }
+
+  public CircuitState getCircuitState() {
+    return circuitBreaker.getState();
+  }
+
+  @Override
+  public void afterPropertiesSet() throws Exception {
+    if (delegate instanceof InitializingBean initializingBean) {
+      initializingBean.afterPropertiesSet();
+    }
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    try {
+      if (localFallback instanceof DisposableBean disposableBean) {
+        disposableBean.destroy();
+      }
+    } finally {
+      if (delegate instanceof DisposableBean disposableBean) {
+        disposableBean.destroy();
+      }
+    }
+  }
+
+  private static CompletionStage<RateLimitDecision> evaluateAsync(
+      RateLimiter limiter,
+      String key,
+      RateLimitPolicy policy,
+      int cost
+  ) {
+    return cost == 1 ? limiter.evaluateAsync(key, policy) : limiter.evaluateAsync(key, policy, cost);
+  }
+
+  private CompletionStage<RateLimitDecision> fallback(String key, RateLimitPolicy policy, int cost, Throwable error) {
+    return switch (failureMode) {
+      case FAIL_OPEN -> CompletableFuture.completedFuture(
+          new RateLimitDecision(true, RateLimitDecision.REMAINING_TIME_UNKNOWN, null, null));
+      case FAIL_CLOSED -> CompletableFuture.failedFuture(error instanceof RateLimiterBackendException
+          ? error
+          : new RateLimiterBackendException("Rate limiter backend failure for key: " + key, error));
+      case DEGRADE_LOCAL -> evaluateAsync(localFallback, key, policy, cost);
+    };
+  }
+
+  /**
+   * Runs a multi-request evaluation on the delegate, or on the failure mode's fallback.
+   *
+   * @param evaluation the evaluation to run against a limiter
+   */
+  private List<RateLimitDecision> guardAll(
+      List<RateLimitRequest> requests,
+      Function<RateLimiter, List<RateLimitDecision>> evaluation
+  ) {
+    if (!circuitBreaker.tryAcquire()) {
+      return fallbackAll(requests, evaluation, new RateLimiterBackendException("Rate limiter backend circuit is open"));
+    }
+    long startNanos = System.nanoTime();
+    List<RateLimitDecision> decisions;
+    try {
+      decisions = evaluation.apply(delegate);
+    } catch (RuntimeException ex) {
+      circuitBreaker.onFailure();
+      return fallbackAll(requests, evaluation, ex);
+    }
+    circuitBreaker.onSuccess(System.nanoTime() - startNanos);
+    return decisions;
+  }
+
+  private List<RateLimitDecision> fallbackAll(
+      List<RateLimitRequest> requests,
+      Function<RateLimiter, List<RateLimitDecision>> evaluation,
+      RuntimeException error
+  ) {
+    return switch (failureMode) {
+      case FAIL_OPEN -> Collections.nCopies(requests.size(),
+          new RateLimitDecision(true, RateLimitDecision.REMAINING_TIME_UNKNOWN, null, null));
+      case FAIL_CLOSED -> throw error instanceof RateLimiterBackendException
+          ? error
+          : new RateLimiterBackendException("Rate limiter backend failure for key: " + requests.get(0).getKey(), error);
+      case DEGRADE_LOCAL -> evaluation.apply(localFallback);
+    };
+  }
+
+  private Throwable unwrap(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    if (cause instanceof TimeoutException) {
+      return new RateLimiterBackendException("Rate limiter backend did not answer within " + timeout, cause);
+    }
+    return cause;
+  }
+}
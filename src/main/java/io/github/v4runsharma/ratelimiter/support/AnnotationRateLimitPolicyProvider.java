@@ -3,9 +3,11 @@ package io.github.v4runsharma.ratelimiter.support;
 import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
 import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
 import io.github.v4runsharma.ratelimiter.core.RateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
 import io.github.v4runsharma.ratelimiter.model.RateLimitScope;
 import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -13,10 +15,39 @@ import java.util.Objects;
  */
 public final class AnnotationRateLimitPolicyProvider implements RateLimitPolicyProvider {
 
+  private final RateLimitAlgorithm defaultAlgorithm;
+  private final Map<String, Integer> leaseSizes;
+  private final RateLimitMetadataCache<RateLimitPolicy> policies = new RateLimitMetadataCache<>();
+
+  public AnnotationRateLimitPolicyProvider() {
+    this(RateLimitAlgorithm.FIXED_WINDOW);
+  }
+
+  /**
+   * @param defaultAlgorithm algorithm used when the annotation does not declare one
+   */
+  public AnnotationRateLimitPolicyProvider(RateLimitAlgorithm defaultAlgorithm) {
+    this(defaultAlgorithm, Map.of());
+  }
+
+  /**
+   * @param leaseSizes lease sizes by {@link RateLimit#name()}, used when the annotation does not set one
+   */
+  public AnnotationRateLimitPolicyProvider(RateLimitAlgorithm defaultAlgorithm, Map<String, Integer> leaseSizes) {
+    this.defaultAlgorithm = Objects.requireNonNull(defaultAlgorithm, "defaultAlgorithm must not be null");
+    this.leaseSizes = Map.copyOf(Objects.requireNonNull(leaseSizes, "leaseSizes must not be null"));
+  }
+
+  /**
+   * Policies depend only on the annotation, so each method's policy is built once and cached.
+   */
   @Override
   public RateLimitPolicy resolvePolicy(RateLimitContext context) {
     Objects.requireNonNull(context, "context must not be null");
+    return policies.get(context, this::buildPolicy);
+  }
 
+  private RateLimitPolicy buildPolicy(RateLimitContext context) {
     RateLimit annotation = Objects.requireNonNull(context.getAnnotation(), "annotation must not be null");
     Duration window = Duration.of(annotation.duration(), annotation.timeUnit().toChronoUnit());
 
@@ -25,6 +56,15 @@ public final class AnnotationRateLimitPolicyProvider implements RateLimitPolicyP
       scope = RateLimitScope.GLOBAL.getScope();
     }
 
-    return new RateLimitPolicy(annotation.limit(), window, scope);
+    String algorithm = annotation.algorithm();
+    RateLimitAlgorithm resolvedAlgorithm = (algorithm == null || algorithm.isBlank())
+        ? defaultAlgorithm
+        : RateLimitAlgorithm.from(algorithm);
+
+    int burstCapacity = annotation.burst() > 0 ? annotation.burst() : annotation.limit();
+
+    int leaseSize = annotation.lease() > 0 ? annotation.lease() : leaseSizes.getOrDefault(annotation.name(), 0);
+
+    return new RateLimitPolicy(annotation.limit(), window, scope, resolvedAlgorithm, burstCapacity, leaseSize);
   }
 }
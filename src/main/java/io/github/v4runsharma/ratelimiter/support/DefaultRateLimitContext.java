@@ -3,6 +3,7 @@ package io.github.v4runsharma.ratelimiter.support;
 import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
 import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -11,6 +12,7 @@ import java.util.Objects;
 public final class DefaultRateLimitContext implements RateLimitContext {
 
   private final RateLimit annotation;
+  private final List<RateLimit> annotations;
   private final Class<?> targetClass;
   private final Method method;
   private final Object[] arguments;
@@ -23,7 +25,31 @@ public final class DefaultRateLimitContext implements RateLimitContext {
       Object[] arguments,
       Object target
   ) {
-    this.annotation = Objects.requireNonNull(annotation, "annotation must not be null");
+    this(
+        List.of(Objects.requireNonNull(annotation, "annotation must not be null")),
+        targetClass,
+        method,
+        arguments,
+        target
+    );
+  }
+
+  /**
+   * @param annotations limits guarding the invocation, evaluated together; must not be empty
+   */
+  public DefaultRateLimitContext(
+      List<RateLimit> annotations,
+      Class<?> targetClass,
+      Method method,
+      Object[] arguments,
+      Object target
+  ) {
+    Objects.requireNonNull(annotations, "annotations must not be null");
+    if (annotations.isEmpty()) {
+      throw new IllegalArgumentException("annotations must not be empty");
+    }
+    this.annotations = List.copyOf(annotations);
+    this.annotation = this.annotations.get(0);
     this.targetClass = Objects.requireNonNull(targetClass, "targetClass must not be null");
     this.method = Objects.requireNonNull(method, "method must not be null");
     this.arguments = arguments == null ? new Object[0] : arguments.clone();
@@ -35,6 +61,11 @@ public final class DefaultRateLimitContext implements RateLimitContext {
     return annotation;
   }
 
+  @Override
+  public List<RateLimit> getAnnotations() {
+    return annotations;
+  }
+
   @Override
   public Class<?> getTargetClass() {
     return targetClass;
@@ -1,6 +1,5 @@
 package io.github.v4runsharma.ratelimiter.support;
 
-import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
 import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
 import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
 import io.github.v4runsharma.ratelimiter.core.RateLimitPolicyProvider;
@@ -10,23 +9,29 @@ import io.github.v4runsharma.ratelimiter.key.RateLimitKeyResolver;
 import io.github.v4runsharma.ratelimiter.metrics.NoOpRateLimitMetricsRecorder;
 import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
-import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import io.github.v4runsharma.ratelimiter.support.RateLimitInvocationResolver.ResolvedInvocation;
 import java.time.Duration;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Default orchestration implementation for rate-limit evaluation and enforcement.
+ * <p>Invocations guarded by several limits are evaluated with {@link RateLimiter#evaluateComposite};
+ * the resulting decision and any {@link RateLimitExceededException} refer to the most restrictive tier.
+ * <p>{@link #evaluateAll(List)} sends the single-limit contexts of a batch to
+ * {@link RateLimiter#evaluateAll} in one call; contexts with several limits are evaluated as composites.
  */
 public final class DefaultRateLimitEnforcer implements RateLimitEnforcer {
 
   private final RateLimiter rateLimiter;
-  private final RateLimitPolicyProvider policyProvider;
-  private final RateLimitKeyResolver defaultKeyResolver;
   private final RateLimitMetricsRecorder metricsRecorder;
-  private final Map<Class<? extends RateLimitKeyResolver>, RateLimitKeyResolver> keyResolversByType;
+  private final RateLimitInvocationResolver invocationResolver;
+  private final boolean stacklessExceptions;
 
   public DefaultRateLimitEnforcer(
       RateLimiter rateLimiter,
@@ -49,22 +54,31 @@ public final class DefaultRateLimitEnforcer implements RateLimitEnforcer {
       RateLimitKeyResolver defaultKeyResolver,
       List<RateLimitKeyResolver> keyResolvers,
       RateLimitMetricsRecorder metricsRecorder
+  ) {
+    this(rateLimiter, policyProvider, defaultKeyResolver, keyResolvers, metricsRecorder, false);
+  }
+
+  /**
+   * @param stacklessExceptions whether denials raise {@link RateLimitExceededException}s without a stack trace
+   */
+  public DefaultRateLimitEnforcer(
+      RateLimiter rateLimiter,
+      RateLimitPolicyProvider policyProvider,
+      RateLimitKeyResolver defaultKeyResolver,
+      List<RateLimitKeyResolver> keyResolvers,
+      RateLimitMetricsRecorder metricsRecorder,
+      boolean stacklessExceptions
   ) {
     this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter must not be null");
-    this.policyProvider = Objects.requireNonNull(policyProvider, "policyProvider must not be null");
-    this.defaultKeyResolver = Objects.requireNonNull(defaultKeyResolver, "defaultKeyResolver must not be null");
     this.metricsRecorder = Objects.requireNonNull(metricsRecorder, "metricsRecorder must not be null");
-
-    Map<Class<? extends RateLimitKeyResolver>, RateLimitKeyResolver> resolverMap = new HashMap<>();
-    if (keyResolvers != null) {
-      for (RateLimitKeyResolver resolver : keyResolvers) {
-        if (resolver != null) {
-          resolverMap.put(resolver.getClass(), resolver);
-        }
-      }
-    }
-    resolverMap.putIfAbsent(defaultKeyResolver.getClass(), defaultKeyResolver);
-    this.keyResolversByType = Map.copyOf(resolverMap);
+    this.invocationResolver = new RateLimitInvocationResolver(
+        policyProvider,
+        defaultKeyResolver,
+        keyResolvers,
+        rateLimiter.getClass(),
+        rateLimiter.supportsCost()
+    );
+    this.stacklessExceptions = stacklessExceptions;
   }
 
   @Override
@@ -72,84 +86,211 @@ public final class DefaultRateLimitEnforcer implements RateLimitEnforcer {
     return execute(context).decision();
   }
 
+  @Override
+  public List<RateLimitDecision> evaluateAll(List<? extends RateLimitContext> contexts) {
+    Objects.requireNonNull(contexts, "contexts must not be null");
+    RateLimitDecision[] decisions = new RateLimitDecision[contexts.size()];
+    List<Integer> batchIndexes = new ArrayList<>(contexts.size());
+    List<ResolvedInvocation> batch = new ArrayList<>(contexts.size());
+    for (int i = 0; i < contexts.size(); i++) {
+      List<ResolvedInvocation> tiers = invocationResolver.resolveAll(contexts.get(i));
+      if (tiers.size() > 1) {
+        decisions[i] = executeComposite(tiers).decision();
+      } else {
+        batchIndexes.add(i);
+        batch.add(tiers.get(0));
+      }
+    }
+    if (!batch.isEmpty()) {
+      List<RateLimitDecision> evaluated = executeAll(batch);
+      for (int i = 0; i < batch.size(); i++) {
+        decisions[batchIndexes.get(i)] = evaluated.get(i);
+      }
+    }
+    return List.of(decisions);
+  }
+
   @Override
   public void enforce(RateLimitContext context) throws RateLimitExceededException {
     Evaluation evaluation = execute(context);
     if (!evaluation.decision().isAllowed()) {
-      throw new RateLimitExceededException(
-          emptyToNull(evaluation.annotation().name()),
-          evaluation.key(),
-          evaluation.policy(),
-          evaluation.decision()
+      throw rejection(evaluation);
+    }
+  }
+
+  @Override
+  public CompletionStage<RateLimitDecision> evaluateAsync(RateLimitContext context) {
+    return executeAsync(context).thenApply(Evaluation::decision);
+  }
+
+  @Override
+  public CompletionStage<Void> enforceAsync(RateLimitContext context) {
+    return executeAsync(context).thenAccept(evaluation -> {
+      if (!evaluation.decision().isAllowed()) {
+        throw rejection(evaluation);
+      }
+    });
+  }
+
+  private CompletionStage<Evaluation> executeAsync(RateLimitContext context) {
+    ResolvedInvocation invocation;
+    CompletionStage<RateLimitDecision> pending;
+    long startNanos;
+    try {
+      List<ResolvedInvocation> tiers = invocationResolver.resolveAll(context);
+      if (tiers.size() > 1) {
+        // Composite evaluations are synchronous on the RateLimiter SPI.
+        return CompletableFuture.completedFuture(executeComposite(tiers));
+      }
+      invocation = tiers.get(0);
+      startNanos = System.nanoTime();
+      pending = Objects.requireNonNull(
+          evaluateAsync(invocation),
+          "rateLimiter must return a decision"
       );
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
     }
+
+    return pending.handle((decision, error) -> {
+      Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+      Throwable failure = unwrap(error);
+      if (failure == null && decision == null) {
+        failure = new NullPointerException("rateLimiter must return a decision");
+      }
+      if (failure != null) {
+        metricsRecorder.recordError(invocation.metricName(), invocation.policy(), latency, failure);
+        throw new CompletionException(failure);
+      }
+      metricsRecorder.recordDecision(invocation.metricName(), invocation.policy(), decision, latency);
+      return new Evaluation(invocation, decision);
+    });
   }
 
-  private Evaluation execute(RateLimitContext context) {
-    Objects.requireNonNull(context, "context must not be null");
-    RateLimit annotation = Objects.requireNonNull(context.getAnnotation(), "annotation must not be null");
+  private RateLimitDecision evaluate(ResolvedInvocation invocation) {
+    if (invocation.cost() == 1) {
+      return rateLimiter.evaluate(invocation.key(), invocation.policy());
+    }
+    return rateLimiter.evaluate(invocation.key(), invocation.policy(), invocation.cost());
+  }
 
-    RateLimitPolicy policy = Objects.requireNonNull(
-        policyProvider.resolvePolicy(context),
-        "policyProvider must return a policy"
+  private CompletionStage<RateLimitDecision> evaluateAsync(ResolvedInvocation invocation) {
+    if (invocation.cost() == 1) {
+      return rateLimiter.evaluateAsync(invocation.key(), invocation.policy());
+    }
+    return rateLimiter.evaluateAsync(invocation.key(), invocation.policy(), invocation.cost());
+  }
+
+  private RateLimitExceededException rejection(Evaluation evaluation) {
+    return new RateLimitExceededException(
+        evaluation.invocation().limitName(),
+        evaluation.invocation().key(),
+        evaluation.invocation().policy(),
+        evaluation.decision(),
+        !stacklessExceptions
     );
+  }
 
-    RateLimitKeyResolver keyResolver = resolveKeyResolver(annotation.keyResolver());
-    String key = requireNonBlank(keyResolver.resolveKey(context));
+  private static Throwable unwrap(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      return error.getCause();
+    }
+    return error;
+  }
+
+  private Evaluation execute(RateLimitContext context) {
+    List<ResolvedInvocation> tiers = invocationResolver.resolveAll(context);
+    if (tiers.size() > 1) {
+      return executeComposite(tiers);
+    }
+    ResolvedInvocation invocation = tiers.get(0);
 
     long startNanos = System.nanoTime();
     RateLimitDecision decision;
     try {
       decision = Objects.requireNonNull(
-          rateLimiter.evaluate(key, policy),
+          evaluate(invocation),
           "rateLimiter must return a decision"
       );
     } catch (RuntimeException ex) {
       Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
-      metricsRecorder.recordError(resolveMetricName(context, annotation), policy, latency, ex);
+      metricsRecorder.recordError(invocation.metricName(), invocation.policy(), latency, ex);
       throw ex;
     }
     Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
-    metricsRecorder.recordDecision(resolveMetricName(context, annotation), policy, decision, latency);
+    metricsRecorder.recordDecision(invocation.metricName(), invocation.policy(), decision, latency);
 
-    return new Evaluation(annotation, policy, key, decision);
+    return new Evaluation(invocation, decision);
   }
 
-  private RateLimitKeyResolver resolveKeyResolver(Class<? extends RateLimitKeyResolver> resolverType) {
-    if (resolverType == null || resolverType == RateLimitKeyResolver.class) {
-      return defaultKeyResolver;
+  /**
+   * Evaluates all tiers at once; the evaluation reports the most restrictive tier.
+   */
+  private Evaluation executeComposite(List<ResolvedInvocation> tiers) {
+    List<RateLimitRequest> requests = new ArrayList<>(tiers.size());
+    for (ResolvedInvocation tier : tiers) {
+      requests.add(tier.request());
     }
 
-    RateLimitKeyResolver resolver = keyResolversByType.get(resolverType);
-    if (resolver == null) {
-      throw new IllegalStateException("No RateLimitKeyResolver registered for type: " + resolverType.getName());
+    long startNanos = System.nanoTime();
+    List<RateLimitDecision> decisions;
+    try {
+      decisions = Objects.requireNonNull(
+          rateLimiter.evaluateComposite(requests),
+          "rateLimiter must return decisions"
+      );
+      if (decisions.size() != tiers.size()) {
+        throw new IllegalStateException("rateLimiter must return one decision per tier");
+      }
+    } catch (RuntimeException ex) {
+      Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+      for (ResolvedInvocation tier : tiers) {
+        metricsRecorder.recordError(tier.metricName(), tier.policy(), latency, ex);
+      }
+      throw ex;
     }
-    return resolver;
-  }
-
-  private static String requireNonBlank(String value) {
-    if (value == null || value.isBlank()) {
-      throw new IllegalArgumentException("resolved key must not be blank");
+    Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+    for (int i = 0; i < tiers.size(); i++) {
+      metricsRecorder.recordDecision(tiers.get(i).metricName(), tiers.get(i).policy(), decisions.get(i), latency);
     }
-    return value;
-  }
 
-  private static String emptyToNull(String value) {
-    return (value == null || value.isBlank()) ? null : value;
+    RateLimitDecision decision = RateLimitDecision.mostRestrictive(decisions);
+    return new Evaluation(tiers.get(decisions.indexOf(decision)), decision);
   }
 
-  private static String resolveMetricName(RateLimitContext context, RateLimit annotation) {
-    String annotationName = emptyToNull(annotation.name());
-    if (annotationName != null) {
-      return annotationName;
+  /**
+   * Evaluates independent invocations in one call; every invocation is recorded with the batch latency.
+   */
+  private List<RateLimitDecision> executeAll(List<ResolvedInvocation> invocations) {
+    List<RateLimitRequest> requests = new ArrayList<>(invocations.size());
+    for (ResolvedInvocation invocation : invocations) {
+      requests.add(invocation.request());
+    }
+
+    long startNanos = System.nanoTime();
+    List<RateLimitDecision> decisions;
+    try {
+      decisions = Objects.requireNonNull(rateLimiter.evaluateAll(requests), "rateLimiter must return decisions");
+      if (decisions.size() != invocations.size()) {
+        throw new IllegalStateException("rateLimiter must return one decision per request");
+      }
+    } catch (RuntimeException ex) {
+      Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+      for (ResolvedInvocation invocation : invocations) {
+        metricsRecorder.recordError(invocation.metricName(), invocation.policy(), latency, ex);
+      }
+      throw ex;
+    }
+    Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+    for (int i = 0; i < invocations.size(); i++) {
+      ResolvedInvocation invocation = invocations.get(i);
+      metricsRecorder.recordDecision(invocation.metricName(), invocation.policy(), decisions.get(i), latency);
     }
-    return context.getTargetClass().getSimpleName() + "#" + context.getMethod().getName();
+    return decisions;
   }
 
   private record Evaluation(
-      RateLimit annotation,
-      RateLimitPolicy policy,
-      String key,
+      ResolvedInvocation invocation,
       RateLimitDecision decision
   ) {
   }
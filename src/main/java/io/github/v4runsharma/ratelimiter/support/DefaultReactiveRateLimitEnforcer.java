@@ -0,0 +1,157 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.core.RateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimiter;
+import io.github.v4runsharma.ratelimiter.exception.RateLimitExceededException;
+import io.github.v4runsharma.ratelimiter.key.RateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.metrics.NoOpRateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import io.github.v4runsharma.ratelimiter.support.RateLimitInvocationResolver.ResolvedInvocation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import reactor.core.publisher.Mono;
+
+/**
+ * Default non-blocking orchestration for rate-limit evaluation and enforcement.
+ */
+public final class DefaultReactiveRateLimitEnforcer implements ReactiveRateLimitEnforcer {
+
+  private final ReactiveRateLimiter rateLimiter;
+  private final RateLimitMetricsRecorder metricsRecorder;
+  private final RateLimitInvocationResolver invocationResolver;
+  private final boolean stacklessExceptions;
+
+  public DefaultReactiveRateLimitEnforcer(
+      ReactiveRateLimiter rateLimiter,
+      RateLimitPolicyProvider policyProvider,
+      RateLimitKeyResolver defaultKeyResolver,
+      List<RateLimitKeyResolver> keyResolvers
+  ) {
+    this(
+        rateLimiter,
+        policyProvider,
+        defaultKeyResolver,
+        keyResolvers,
+        new NoOpRateLimitMetricsRecorder()
+    );
+  }
+
+  public DefaultReactiveRateLimitEnforcer(
+      ReactiveRateLimiter rateLimiter,
+      RateLimitPolicyProvider policyProvider,
+      RateLimitKeyResolver defaultKeyResolver,
+      List<RateLimitKeyResolver> keyResolvers,
+      RateLimitMetricsRecorder metricsRecorder
+  ) {
+    this(rateLimiter, policyProvider, defaultKeyResolver, keyResolvers, metricsRecorder, false);
+  }
+
+  /**
+   * @param stacklessExceptions whether denials raise {@link RateLimitExceededException}s without a stack trace
+   */
+  public DefaultReactiveRateLimitEnforcer(
+      ReactiveRateLimiter rateLimiter,
+      RateLimitPolicyProvider policyProvider,
+      RateLimitKeyResolver defaultKeyResolver,
+      List<RateLimitKeyResolver> keyResolvers,
+      RateLimitMetricsRecorder metricsRecorder,
+      boolean stacklessExceptions
+  ) {
+    this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter must not be null");
+    this.metricsRecorder = Objects.requireNonNull(metricsRecorder, "metricsRecorder must not be null");
+    this.invocationResolver = new RateLimitInvocationResolver(
+        policyProvider,
+        defaultKeyResolver,
+        keyResolvers,
+        rateLimiter.getClass(),
+        rateLimiter.supportsCost()
+    );
+    this.stacklessExceptions = stacklessExceptions;
+  }
+
+  @Override
+  public Mono<RateLimitDecision> evaluate(RateLimitContext context) {
+    return Mono.defer(() -> execute(invocationResolver.resolveAll(context))).map(Evaluation::decision);
+  }
+
+  @Override
+  public Mono<Void> enforce(RateLimitContext context) {
+    return Mono.defer(() -> execute(invocationResolver.resolveAll(context)))
+        .flatMap(evaluation -> evaluation.decision().isAllowed()
+            ? Mono.<Void>empty()
+            : Mono.error(rejection(evaluation)));
+  }
+
+  private RateLimitExceededException rejection(Evaluation evaluation) {
+    return new RateLimitExceededException(
+        evaluation.invocation().limitName(),
+        evaluation.invocation().key(),
+        evaluation.invocation().policy(),
+        evaluation.decision(),
+        !stacklessExceptions
+    );
+  }
+
+  private Mono<Evaluation> execute(List<ResolvedInvocation> tiers) {
+    if (tiers.size() > 1) {
+      return executeComposite(tiers);
+    }
+    ResolvedInvocation invocation = tiers.get(0);
+    return Mono.defer(() -> {
+      long startNanos = System.nanoTime();
+      Mono<RateLimitDecision> pending = invocation.cost() == 1
+          ? rateLimiter.evaluate(invocation.key(), invocation.policy())
+          : rateLimiter.evaluate(invocation.key(), invocation.policy(), invocation.cost());
+      return pending
+          .switchIfEmpty(Mono.error(() -> new IllegalStateException("rateLimiter must return a decision")))
+          .doOnNext(decision -> metricsRecorder.recordDecision(
+              invocation.metricName(), invocation.policy(), decision, elapsedSince(startNanos)))
+          .doOnError(ex -> metricsRecorder.recordError(
+              invocation.metricName(), invocation.policy(), elapsedSince(startNanos), ex))
+          .map(decision -> new Evaluation(invocation, decision));
+    });
+  }
+
+  private Mono<Evaluation> executeComposite(List<ResolvedInvocation> tiers) {
+    List<RateLimitRequest> requests = new ArrayList<>(tiers.size());
+    for (ResolvedInvocation tier : tiers) {
+      requests.add(tier.request());
+    }
+    return Mono.defer(() -> {
+      long startNanos = System.nanoTime();
+      return rateLimiter.evaluateComposite(requests)
+          .filter(decisions -> decisions.size() == tiers.size())
+          .switchIfEmpty(Mono.error(() -> new IllegalStateException("rateLimiter must return one decision per tier")))
+          .doOnNext(decisions -> {
+            Duration latency = elapsedSince(startNanos);
+            for (int i = 0; i < tiers.size(); i++) {
+              metricsRecorder.recordDecision(
+                  tiers.get(i).metricName(), tiers.get(i).policy(), decisions.get(i), latency);
+            }
+          })
+          .doOnError(ex -> {
+            Duration latency = elapsedSince(startNanos);
+            for (ResolvedInvocation tier : tiers) {
+              metricsRecorder.recordError(tier.metricName(), tier.policy(), latency, ex);
+            }
+          })
+          .map(decisions -> {
+            RateLimitDecision decision = RateLimitDecision.mostRestrictive(decisions);
+            return new Evaluation(tiers.get(decisions.indexOf(decision)), decision);
+          });
+    });
+  }
+
+  private static Duration elapsedSince(long startNanos) {
+    return Duration.ofNanos(System.nanoTime() - startNanos);
+  }
+
+  private record Evaluation(ResolvedInvocation invocation, RateLimitDecision decision) {
+  }
+}
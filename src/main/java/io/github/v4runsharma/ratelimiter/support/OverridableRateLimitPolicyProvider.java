@@ -0,0 +1,83 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.core.RateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicyOverride;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Applies {@link RateLimitPolicyOverride}s, keyed by {@link RateLimit#name()}, on top of the policies of a
+ * delegate provider, so limits can be tuned at runtime without a redeploy.
+ * <p>Overrides are held in an immutable table together with the policies computed from it.
+ * {@link #update(Map)} swaps in a new table atomically: every call sees either the old or the new
+ * overrides, never a mix. Each policy is computed once per method and table, so a call costs the
+ * same single cache read as {@link AnnotationRateLimitPolicyProvider}.
+ * <p>The delegate's policies are cached with the table as well, so it must derive them from the
+ * annotation only.
+ */
+public final class OverridableRateLimitPolicyProvider implements RateLimitPolicyProvider {
+
+  private final RateLimitPolicyProvider delegate;
+  private volatile Generation generation;
+
+  public OverridableRateLimitPolicyProvider(RateLimitPolicyProvider delegate) {
+    this(delegate, Map.of());
+  }
+
+  /**
+   * @param overrides initial overrides by {@link RateLimit#name()}
+   */
+  public OverridableRateLimitPolicyProvider(
+      RateLimitPolicyProvider delegate,
+      Map<String, RateLimitPolicyOverride> overrides
+  ) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.generation = new Generation(delegate, Map.copyOf(Objects.requireNonNull(overrides, "overrides must not be null")));
+  }
+
+  @Override
+  public RateLimitPolicy resolvePolicy(RateLimitContext context) {
+    Objects.requireNonNull(context, "context must not be null");
+    Generation current = generation;
+    return current.policies().get(context, current.loader());
+  }
+
+  /**
+   * Replaces all overrides; names absent from {@code overrides} revert to their declared policy.
+   */
+  public void update(Map<String, RateLimitPolicyOverride> overrides) {
+    generation = new Generation(delegate, Map.copyOf(Objects.requireNonNull(overrides, "overrides must not be null")));
+  }
+
+  /**
+   * Overrides currently applied, by {@link RateLimit#name()}.
+   */
+  public Map<String, RateLimitPolicyOverride> getOverrides() {
+    return generation.overrides();
+  }
+
+  /**
+   * One immutable set of overrides and the policies resolved under it.
+   */
+  private record Generation(
+      Map<String, RateLimitPolicyOverride> overrides,
+      RateLimitMetadataCache<RateLimitPolicy> policies,
+      Function<RateLimitContext, RateLimitPolicy> loader
+  ) {
+
+    Generation(RateLimitPolicyProvider delegate, Map<String, RateLimitPolicyOverride> overrides) {
+      this(overrides, new RateLimitMetadataCache<>(), context -> {
+        RateLimitPolicy policy = Objects.requireNonNull(
+            delegate.resolvePolicy(context),
+            "delegate must return a policy"
+        );
+        RateLimitPolicyOverride override = overrides.get(context.getAnnotation().name());
+        return override != null ? override.applyTo(policy) : policy;
+      });
+    }
+  }
+}
@@ -0,0 +1,277 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.core.RateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.key.ExpressionRateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.key.RateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Resolves policy, key, cost and metric name for an invocation.
+ * <p>Shared by the blocking and reactive enforcers so both apply identical rules.
+ */
+final class RateLimitInvocationResolver {
+
+  private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+  private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+  private final RateLimitPolicyProvider policyProvider;
+  private final RateLimitKeyResolver defaultKeyResolver;
+  private final Map<Class<? extends RateLimitKeyResolver>, RateLimitKeyResolver> keyResolversByType;
+  private final Class<?> rateLimiterType;
+  private final boolean costSupported;
+  private final RateLimitMetadataCache<MethodMetadata> metadata = new RateLimitMetadataCache<>();
+
+  /**
+   * @param rateLimiterType limiter the invocations are evaluated with, reported when it cannot charge a cost
+   * @param costSupported whether that limiter charges costs other than 1
+   */
+  RateLimitInvocationResolver(
+      RateLimitPolicyProvider policyProvider,
+      RateLimitKeyResolver defaultKeyResolver,
+      List<RateLimitKeyResolver> keyResolvers,
+      Class<?> rateLimiterType,
+      boolean costSupported
+  ) {
+    this.policyProvider = Objects.requireNonNull(policyProvider, "policyProvider must not be null");
+    this.defaultKeyResolver = Objects.requireNonNull(defaultKeyResolver, "defaultKeyResolver must not be null");
+    this.rateLimiterType = Objects.requireNonNull(rateLimiterType, "rateLimiterType must not be null");
+    this.costSupported = costSupported;
+
+    Map<Class<? extends RateLimitKeyResolver>, RateLimitKeyResolver> resolverMap = new HashMap<>();
+    if (keyResolvers != null) {
+      for (RateLimitKeyResolver resolver : keyResolvers) {
+        if (resolver != null) {
+          resolverMap.put(resolver.getClass(), resolver);
+        }
+      }
+    }
+    resolverMap.putIfAbsent(defaultKeyResolver.getClass(), defaultKeyResolver);
+    this.keyResolversByType = Map.copyOf(resolverMap);
+  }
+
+  ResolvedInvocation resolve(RateLimitContext context) {
+    Objects.requireNonNull(context, "context must not be null");
+    RateLimit annotation = Objects.requireNonNull(context.getAnnotation(), "annotation must not be null");
+
+    RateLimitPolicy policy = Objects.requireNonNull(
+        policyProvider.resolvePolicy(context),
+        "policyProvider must return a policy"
+    );
+
+    MethodMetadata methodMetadata = metadata.get(context, this::buildMetadata);
+    String key = requireNonBlank(methodMetadata.keyResolver().resolveKey(context));
+
+    int cost = resolveCost(context, annotation, methodMetadata.costExpression());
+    if (cost != 1 && !costSupported) {
+      throw unsupportedCost(context);
+    }
+
+    return new ResolvedInvocation(annotation, policy, key, methodMetadata.metricName(), cost);
+  }
+
+  /**
+   * Resolves every limit of the invocation, one entry per {@link RateLimitContext#getAnnotations()}.
+   * <p>When tiers resolve to the same key, each key gets its policy window appended (e.g.
+   * {@code :1000ms}) so the tiers count in separate buckets.
+   */
+  List<ResolvedInvocation> resolveAll(RateLimitContext context) {
+    Objects.requireNonNull(context, "context must not be null");
+    List<RateLimit> annotations = context.getAnnotations();
+    if (annotations.size() <= 1) {
+      return List.of(resolve(context));
+    }
+
+    List<ResolvedInvocation> tiers = new ArrayList<>(annotations.size());
+    Set<String> keys = new HashSet<>();
+    boolean sharedKeys = false;
+    for (RateLimit annotation : annotations) {
+      ResolvedInvocation tier = resolve(new TierContext(context, annotation));
+      sharedKeys |= !keys.add(tier.key());
+      tiers.add(tier);
+    }
+    if (!sharedKeys) {
+      return tiers;
+    }
+
+    keys.clear();
+    List<ResolvedInvocation> distinct = new ArrayList<>(tiers.size());
+    for (ResolvedInvocation tier : tiers) {
+      String key = tier.key() + ":" + tier.policy().getWindow().toMillis() + "ms";
+      if (!keys.add(key)) {
+        throw new IllegalStateException("Rate limits on " + context.getMethod()
+            + " share key and window; declare distinct key() values");
+      }
+      distinct.add(new ResolvedInvocation(tier.annotation(), tier.policy(), key, tier.metricName(), tier.cost()));
+    }
+    return distinct;
+  }
+
+  private MethodMetadata buildMetadata(RateLimitContext context) {
+    RateLimit annotation = context.getAnnotation();
+    RateLimitKeyResolver keyResolver = resolveKeyResolver(annotation.keyResolver());
+    if (emptyToNull(annotation.keyExpression()) != null) {
+      keyResolver = new ExpressionRateLimitKeyResolver(keyResolver);
+    }
+    return new MethodMetadata(
+        keyResolver,
+        resolveMetricName(context, annotation),
+        parseCostExpression(context, annotation)
+    );
+  }
+
+  private Expression parseCostExpression(RateLimitContext context, RateLimit annotation) {
+    if (annotation.cost() < 1) {
+      throw new IllegalStateException("@RateLimit cost must be greater than 0 on " + context.getMethod());
+    }
+    String expression = emptyToNull(annotation.costExpression());
+    if (!costSupported && (annotation.cost() != 1 || expression != null)) {
+      throw unsupportedCost(context);
+    }
+    return expression != null ? EXPRESSION_PARSER.parseExpression(expression) : null;
+  }
+
+  private IllegalStateException unsupportedCost(RateLimitContext context) {
+    return new IllegalStateException("@RateLimit on " + context.getMethod() + " declares a cost, but "
+        + rateLimiterType.getName() + " does not support weighted permits");
+  }
+
+  /**
+   * The cost expression wins over {@link RateLimit#cost()}, which wins over {@link RateLimitContext#getCost()}.
+   */
+  private static int resolveCost(RateLimitContext context, RateLimit annotation, Expression costExpression) {
+    if (costExpression == null) {
+      return annotation.cost() != 1 ? annotation.cost() : Math.max(1, context.getCost());
+    }
+    Object[] arguments = context.getArguments() != null ? context.getArguments() : new Object[0];
+    MethodBasedEvaluationContext evaluationContext =
+        new MethodBasedEvaluationContext(context.getTarget(), context.getMethod(), arguments, PARAMETER_NAMES);
+    Object value = costExpression.getValue(evaluationContext);
+    if (!(value instanceof Number number)) {
+      throw new IllegalStateException("@RateLimit costExpression '" + annotation.costExpression()
+          + "' on " + context.getMethod() + " must evaluate to a number, got: " + value);
+    }
+    return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, number.longValue()));
+  }
+
+  private RateLimitKeyResolver resolveKeyResolver(Class<? extends RateLimitKeyResolver> resolverType) {
+    if (resolverType == null || resolverType == RateLimitKeyResolver.class) {
+      return defaultKeyResolver;
+    }
+
+    RateLimitKeyResolver resolver = keyResolversByType.get(resolverType);
+    if (resolver == null) {
+      throw new IllegalStateException("No RateLimitKeyResolver registered for type: " + resolverType.getName());
+    }
+    return resolver;
+  }
+
+  private static String requireNonBlank(String value) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("resolved key must not be blank");
+    }
+    return value;
+  }
+
+  static String emptyToNull(String value) {
+    return (value == null || value.isBlank()) ? null : value;
+  }
+
+  private static String resolveMetricName(RateLimitContext context, RateLimit annotation) {
+    String annotationName = emptyToNull(annotation.name());
+    if (annotationName != null) {
+      return annotationName;
+    }
+    return context.getTargetClass().getSimpleName() + "#" + context.getMethod().getName();
+  }
+
+  /**
+   * View of a multi-limit context narrowed to one of its annotations.
+   */
+  private static final class TierContext implements RateLimitContext {
+
+    private final RateLimitContext context;
+    private final RateLimit annotation;
+
+    TierContext(RateLimitContext context, RateLimit annotation) {
+      this.context = context;
+      this.annotation = annotation;
+    }
+
+    @Override
+    public RateLimit getAnnotation() {
+      return annotation;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+      return context.getTargetClass();
+    }
+
+    @Override
+    public Method getMethod() {
+      return context.getMethod();
+    }
+
+    @Override
+    public Object[] getArguments() {
+      return context.getArguments();
+    }
+
+    @Override
+    public Object getTarget() {
+      return context.getTarget();
+    }
+
+    @Override
+    public int getCost() {
+      return context.getCost();
+    }
+  }
+
+  /**
+   * Per-method values that do not change between invocations.
+   *
+   * @param costExpression parsed {@link RateLimit#costExpression()}, or {@code null} when not declared
+   */
+  private record MethodMetadata(RateLimitKeyResolver keyResolver, String metricName, Expression costExpression) {
+  }
+
+  /**
+   * Everything needed to evaluate and report one invocation.
+   */
+  record ResolvedInvocation(
+      RateLimit annotation,
+      RateLimitPolicy policy,
+      String key,
+      String metricName,
+      int cost
+  ) {
+
+    /**
+     * Logical limit name for {@code RateLimitExceededException}, or {@code null} when not declared.
+     */
+    String limitName() {
+      return emptyToNull(annotation.name());
+    }
+
+    RateLimitRequest request() {
+      return new RateLimitRequest(key, policy, cost);
+    }
+  }
+}
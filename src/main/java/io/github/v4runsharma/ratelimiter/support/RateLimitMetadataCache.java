@@ -0,0 +1,56 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.springframework.core.MethodClassKey;
+
+/**
+ * Per-(method, target class) cache for values derived only from the {@link RateLimit} annotation.
+ * <p>Values are keyed by annotation instance, so a method with several {@link RateLimit} tiers keeps
+ * one value per tier. A context carrying an unknown instance (e.g. one built by hand) computes and
+ * adds its value; at most {@code MAX_VALUES_PER_METHOD} instances are kept per method.
+ *
+ * @param <V> cached value type
+ */
+public final class RateLimitMetadataCache<V> {
+
+  private static final int MAX_VALUES_PER_METHOD = 16;
+
+  private final ConcurrentMap<MethodClassKey, Entry<V>[]> entries = new ConcurrentHashMap<>();
+
+  public V get(RateLimitContext context, Function<? super RateLimitContext, ? extends V> loader) {
+    Objects.requireNonNull(context, "context must not be null");
+    RateLimit annotation = context.getAnnotation();
+    MethodClassKey key = new MethodClassKey(context.getMethod(), context.getTargetClass());
+
+    Entry<V>[] known = entries.get(key);
+    if (known != null) {
+      for (Entry<V> entry : known) {
+        if (entry.annotation() == annotation) {
+          return entry.value();
+        }
+      }
+    }
+    V value = loader.apply(context);
+    entries.put(key, append(known, new Entry<>(annotation, value)));
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Entry<V>[] append(Entry<V>[] known, Entry<V> entry) {
+    if (known == null || known.length >= MAX_VALUES_PER_METHOD) {
+      return (Entry<V>[]) new Entry<?>[] {entry};
+    }
+    Entry<V>[] updated = Arrays.copyOf(known, known.length + 1);
+    updated[known.length] = entry;
+    return updated;
+  }
+
+  private record Entry<V>(RateLimit annotation, V value) {
+  }
+}
@@ -0,0 +1,235 @@
+package io.github.v4runsharma.ratelimiter.web;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.exception.RateLimitExceededException;
+import io.github.v4runsharma.ratelimiter.key.ClientAddressResolver;
+import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import io.github.v4runsharma.ratelimiter.model.RateLimitScope;
+import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+/**
+ * Enforces limits in Spring MVC after handler mapping but before argument resolution, so rejected
+ * requests are answered without reading or deserializing their body.
+ * <p>Two sources of limits are checked, URL rules first:
+ * <p>- {@link RateLimitRule}s matching the request path, evaluated together (atomically when several match).
+ * <p>- {@link RateLimit} on the handler method or controller class, through the {@link RateLimitEnforcer}.
+ * <p>Denials are written as HTTP 429 by {@link RateLimitResponseWriter} and not propagated; a denied
+ * handler reports the name and policy of the limit that denied it. Handler
+ * arguments are not resolved yet, so limits with a {@link RateLimit#costExpression()} or
+ * {@link RateLimit#keyExpression()} are left to the AOP interceptor; custom key resolvers that read
+ * arguments should likewise stay on the AOP path.
+ * Handler methods enforced here are marked on the request so the AOP interceptor does not charge them again.
+ */
+public final class RateLimitHandlerInterceptor implements HandlerInterceptor {
+
+  /**
+   * Request attribute holding the handler {@link Method} whose limits this interceptor has enforced.
+   */
+  public static final String ENFORCED_HANDLER_ATTRIBUTE =
+      "io.github.v4runsharma.ratelimiter.web.RateLimitHandlerInterceptor.ENFORCED_HANDLER";
+
+  private final RateLimitEnforcer enforcer;
+  private final RateLimiter rateLimiter;
+  private final List<RateLimitRule> rules;
+  private final RateLimitMetricsRecorder metricsRecorder;
+  private final RateLimitResponseWriter responseWriter;
+  private final ClientAddressResolver addressResolver;
+  private final ConcurrentMap<MethodClassKey, List<RateLimit>> handlerLimits = new ConcurrentHashMap<>();
+
+  /**
+   * @param rateLimiter evaluates the URL rules
+   */
+  public RateLimitHandlerInterceptor(
+      RateLimitEnforcer enforcer,
+      RateLimiter rateLimiter,
+      List<RateLimitRule> rules,
+      RateLimitMetricsRecorder metricsRecorder,
+      RateLimitResponseWriter responseWriter
+  ) {
+    this(
+        enforcer,
+        rateLimiter,
+        rules,
+        metricsRecorder,
+        responseWriter,
+        new ClientAddressResolver(List.of())
+    );
+  }
+
+  /**
+   * @param addressResolver determines the client address of {@code IP} scoped rules
+   */
+  public RateLimitHandlerInterceptor(
+      RateLimitEnforcer enforcer,
+      RateLimiter rateLimiter,
+      List<RateLimitRule> rules,
+      RateLimitMetricsRecorder metricsRecorder,
+      RateLimitResponseWriter responseWriter,
+      ClientAddressResolver addressResolver
+  ) {
+    this.enforcer = Objects.requireNonNull(enforcer, "enforcer must not be null");
+    this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter must not be null");
+    this.rules = List.copyOf(Objects.requireNonNull(rules, "rules must not be null"));
+    this.metricsRecorder = Objects.requireNonNull(metricsRecorder, "metricsRecorder must not be null");
+    this.responseWriter = Objects.requireNonNull(responseWriter, "responseWriter must not be null");
+    this.addressResolver = Objects.requireNonNull(addressResolver, "addressResolver must not be null");
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+    if (!rules.isEmpty() && !admitRules(request, response)) {
+      return false;
+    }
+    if (handler instanceof HandlerMethod handlerMethod) {
+      return admitHandler(handlerMethod, request, response);
+    }
+    return true;
+  }
+
+  private boolean admitRules(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    PathContainer path = pathWithinApplication(request);
+    String method = request.getMethod();
+    List<RateLimitRule> matched = null;
+    for (RateLimitRule rule : rules) {
+      if (rule.matches(path, method)) {
+        if (matched == null) {
+          matched = new ArrayList<>(2);
+        }
+        matched.add(rule);
+      }
+    }
+    if (matched == null) {
+      return true;
+    }
+
+    List<RateLimitRequest> requests = new ArrayList<>(matched.size());
+    for (RateLimitRule rule : matched) {
+      requests.add(new RateLimitRequest(ruleKey(rule, request), rule.getPolicy()));
+    }
+    long startNanos = System.nanoTime();
+    List<RateLimitDecision> decisions;
+    try {
+      decisions = requests.size() == 1
+          ? List.of(rateLimiter.evaluate(requests.get(0).getKey(), requests.get(0).getPolicy()))
+          : rateLimiter.evaluateComposite(requests);
+    } catch (RuntimeException ex) {
+      Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+      for (RateLimitRule rule : matched) {
+        metricsRecorder.recordError(rule.getName(), rule.getPolicy(), latency, ex);
+      }
+      throw ex;
+    }
+    Duration latency = Duration.ofNanos(System.nanoTime() - startNanos);
+
+    int denied = -1;
+    for (int i = 0; i < matched.size(); i++) {
+      RateLimitDecision decision = decisions.get(i);
+      metricsRecorder.recordDecision(matched.get(i).getName(), matched.get(i).getPolicy(), decision, latency);
+      if (!decision.isAllowed() && (denied < 0 || retryAfterMillis(decision) > retryAfterMillis(decisions.get(denied)))) {
+        denied = i;
+      }
+    }
+    if (denied < 0) {
+      return true;
+    }
+    RateLimitRule rule = matched.get(denied);
+    responseWriter.write(response, rule.getName(), rule.getPolicy(), decisions.get(denied));
+    return false;
+  }
+
+  private boolean admitHandler(
+      HandlerMethod handlerMethod,
+      HttpServletRequest request,
+      HttpServletResponse response
+  ) throws IOException {
+    Method method = handlerMethod.getMethod();
+    Class<?> beanType = handlerMethod.getBeanType();
+    List<RateLimit> annotations = handlerLimits.computeIfAbsent(
+        new MethodClassKey(method, beanType), ignored -> resolveAnnotations(method, beanType));
+    if (annotations.isEmpty()) {
+      return true;
+    }
+
+    DefaultRateLimitContext context = new DefaultRateLimitContext(
+        annotations,
+        beanType,
+        method,
+        null,
+        handlerMethod.getBean()
+    );
+    try {
+      enforcer.enforce(context);
+    } catch (RateLimitExceededException ex) {
+      // Reports the tier that denied the call, which need not be the first of repeated limits.
+      responseWriter.write(response, ex.getName(), ex.getPolicy(), ex.getDecision());
+      return false;
+    }
+    request.setAttribute(ENFORCED_HANDLER_ATTRIBUTE, method);
+    return true;
+  }
+
+  /**
+   * Effective limits of a handler, or an empty list when none apply or they need resolved arguments.
+   */
+  private static List<RateLimit> resolveAnnotations(Method method, Class<?> beanType) {
+    Set<RateLimit> declared = AnnotatedElementUtils.findMergedRepeatableAnnotations(method, RateLimit.class);
+    if (declared.isEmpty()) {
+      declared = AnnotatedElementUtils.findMergedRepeatableAnnotations(beanType, RateLimit.class);
+    }
+    List<RateLimit> enabled = declared.stream().filter(RateLimit::enabled).toList();
+    boolean needsArguments = enabled.stream().anyMatch(annotation ->
+        !annotation.costExpression().isBlank() || !annotation.keyExpression().isBlank());
+    return needsArguments ? List.of() : enabled;
+  }
+
+  private static PathContainer pathWithinApplication(HttpServletRequest request) {
+    if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+      return ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+    }
+    return RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+  }
+
+  /**
+   * {@code <scope>:<rule name>}, followed by the client address or user name for per-client scopes.
+   */
+  private String ruleKey(RateLimitRule rule, HttpServletRequest request) {
+    RateLimitScope scope = rule.scope();
+    String prefix = scope.getScope().toLowerCase() + ":" + rule.getName();
+    return switch (scope) {
+      case GLOBAL -> prefix;
+      case IP -> prefix + ":" + addressResolver.resolve(request);
+      case USER -> {
+        Principal principal = request.getUserPrincipal();
+        yield prefix + ":" + (principal != null ? principal.getName() : "anonymous");
+      }
+    };
+  }
+
+  private static long retryAfterMillis(RateLimitDecision decision) {
+    return decision.getRetryAfter().map(Duration::toMillis).orElse(0L);
+  }
+}
@@ -0,0 +1,90 @@
+package io.github.v4runsharma.ratelimiter.web;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Writes HTTP 429 responses directly to the servlet response, with the same headers and
+ * {@code ProblemDetail} fields as {@code RateLimitExceptionHandler}.
+ * <p>The body is assembled by hand so a rejection needs neither an exception nor a message converter.
+ */
+public final class RateLimitResponseWriter {
+
+  private final boolean includeHttpHeaders;
+
+  public RateLimitResponseWriter(boolean includeHttpHeaders) {
+    this.includeHttpHeaders = includeHttpHeaders;
+  }
+
+  /**
+   * @param name logical limit name, or {@code null} when not declared
+   */
+  public void write(
+      HttpServletResponse response,
+      String name,
+      RateLimitPolicy policy,
+      RateLimitDecision decision
+  ) throws IOException {
+    Objects.requireNonNull(response, "response must not be null");
+    Objects.requireNonNull(policy, "policy must not be null");
+    Objects.requireNonNull(decision, "decision must not be null");
+    if (response.isCommitted()) {
+      return;
+    }
+
+    long retryAfterSeconds = Math.max(1L, decision.getRetryAfter().orElse(policy.getWindow()).toSeconds());
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    if (includeHttpHeaders) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+      response.setHeader("RateLimit-Limit", Integer.toString(policy.getLimit()));
+      response.setHeader("RateLimit-Remaining", "0");
+      response.setHeader("RateLimit-Reset", Long.toString(retryAfterSeconds));
+    }
+
+    byte[] body = body(name, policy.getLimit(), policy.getWindow(), retryAfterSeconds).getBytes(StandardCharsets.UTF_8);
+    response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private static String body(String name, int limit, Duration window, long retryAfterSeconds) {
+    StringBuilder json = new StringBuilder(192)
+        .append("{\"type\":\"about:blank\",\"title\":\"Rate limit exceeded\",\"status\":429")
+        .append(",\"detail\":\"Rate limit exceeded");
+    if (name != null) {
+      json.append(": ");
+      appendEscaped(json, name);
+    }
+    json.append("\",\"limit\":").append(limit)
+        .append(",\"windowSeconds\":").append(window.toSeconds())
+        .append(",\"retryAfterSeconds\":").append(retryAfterSeconds);
+    if (name != null) {
+      json.append(",\"name\":\"");
+      appendEscaped(json, name);
+      json.append('"');
+    }
+    return json.append('}').toString();
+  }
+
+  private static void appendEscaped(StringBuilder json, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package io.github.v4runsharma.ratelimiter.web;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitScope;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Limit applied to every request whose path matches a URL pattern, independent of the handler.
+ * <p>Patterns use {@link PathPattern} syntax, e.g. {@code /api/**} or {@code /orders/{id}}.
+ */
+public final class RateLimitRule {
+
+  private final String pattern;
+  private final PathPattern pathPattern;
+  private final Set<String> methods;
+  private final String name;
+  private final RateLimitPolicy policy;
+  private final RateLimitScope scope;
+
+  /**
+   * @param methods HTTP methods the rule applies to; empty for all methods
+   * @param name logical limit name used for keys and metrics; the pattern when blank
+   */
+  public RateLimitRule(String pattern, Set<String> methods, String name, RateLimitPolicy policy) {
+    if (pattern == null || pattern.isBlank()) {
+      throw new IllegalArgumentException("pattern must not be blank");
+    }
+    Objects.requireNonNull(methods, "methods must not be null");
+    this.pattern = pattern;
+    this.pathPattern = PathPatternParser.defaultInstance.parse(pattern);
+    this.methods = methods.stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+    this.name = (name == null || name.isBlank()) ? pattern : name;
+    this.policy = Objects.requireNonNull(policy, "policy must not be null");
+    this.scope = RateLimitScope.from(policy.getScope());
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  public Set<String> getMethods() {
+    return methods;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public RateLimitPolicy getPolicy() {
+    return policy;
+  }
+
+  RateLimitScope scope() {
+    return scope;
+  }
+
+  boolean matches(PathContainer path, String method) {
+    return (methods.isEmpty() || methods.contains(method)) && pathPattern.matches(path);
+  }
+}
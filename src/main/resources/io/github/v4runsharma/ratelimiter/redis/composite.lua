@@ -0,0 +1,144 @@
+-- Several limits (tiers) checked together: every tier is read first, and all of them are charged
+-- only when every tier admits. Key layouts match the single-algorithm scripts.
+-- KEYS[2i-1], KEYS[2i]: keys of tier i (the second one is only used by the sliding window)
+-- ARGV[1]: current time in epoch milliseconds
+-- ARGV[2 + 6(i-1)]: tier type (fw, sw, tb, gcra), followed by four type-specific arguments and the
+-- permits requested from the tier:
+--   fw:   limit, bucket TTL ms
+--   sw:   limit, window ms, elapsed ms, bucket TTL ms
+--   tb:   capacity, tokens per period, period ms, TTL safety buffer ms
+--   gcra: emission interval us, burst capacity
+-- Returns four integers per tier, laid out like the reply of the tier's own script:
+--   fw: {admit, count including this request's permits, 0, 0}
+--   sw: {admit, current count, previous count, 0}
+--   tb / gcra: {admit, remaining, retry after ms, reset after ms}
+if redis.replicate_commands then
+  redis.replicate_commands()
+end
+
+local now_ms = tonumber(ARGV[1])
+local tiers = #KEYS / 2
+local reply = {}
+local charges = {}
+local all_admit = true
+local now_us = nil
+
+for i = 1, tiers do
+  local key = KEYS[2 * i - 1]
+  local base = 2 + 6 * (i - 1)
+  local kind = ARGV[base]
+  local cost = tonumber(ARGV[base + 5])
+  local admit = 0
+
+  if kind == 'fw' then
+    local limit = tonumber(ARGV[base + 1])
+    local count = tonumber(redis.call('GET', key) or '0') + cost
+    if count <= limit then
+      admit = 1
+    end
+    charges[i] = {kind, key, ARGV[base + 2], cost}
+    reply[#reply + 1] = admit
+    reply[#reply + 1] = count
+    reply[#reply + 1] = 0
+    reply[#reply + 1] = 0
+
+  elseif kind == 'sw' then
+    local limit = tonumber(ARGV[base + 1])
+    local window = tonumber(ARGV[base + 2])
+    local elapsed = tonumber(ARGV[base + 3])
+    local current = tonumber(redis.call('GET', key) or '0')
+    local previous = tonumber(redis.call('GET', KEYS[2 * i]) or '0')
+    if previous * (window - elapsed) / window + current + cost <= limit then
+      admit = 1
+    end
+    charges[i] = {kind, key, ARGV[base + 4], cost}
+    reply[#reply + 1] = admit
+    reply[#reply + 1] = current
+    reply[#reply + 1] = previous
+    reply[#reply + 1] = 0
+
+  elseif kind == 'tb' then
+    local capacity = tonumber(ARGV[base + 1])
+    local refill = tonumber(ARGV[base + 2])
+    local period = tonumber(ARGV[base + 3])
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(bucket[1])
+    local last = tonumber(bucket[2])
+    if tokens == nil or last == nil then
+      tokens = capacity
+      last = now_ms
+    end
+    if now_ms > last then
+      tokens = math.min(capacity, tokens + (now_ms - last) * refill / period)
+      last = now_ms
+    end
+    local retry_after = 0
+    if tokens >= cost then
+      admit = 1
+    else
+      retry_after = math.ceil((cost - tokens) * period / refill)
+    end
+    local left = tokens - admit * cost
+    local until_full = math.ceil((capacity - left) * period / refill)
+    charges[i] = {kind, key, left, last, until_full + tonumber(ARGV[base + 4])}
+    reply[#reply + 1] = admit
+    reply[#reply + 1] = math.floor(left)
+    reply[#reply + 1] = retry_after
+    reply[#reply + 1] = until_full
+
+  elseif kind == 'gcra' then
+    if now_us == nil then
+      local time = redis.call('TIME')
+      now_us = tonumber(time[1]) * 1000000 + tonumber(time[2])
+    end
+    local interval = tonumber(ARGV[base + 1])
+    local tolerance = interval * tonumber(ARGV[base + 2])
+    local tat = tonumber(redis.call('GET', key) or now_us)
+    if tat < now_us then
+      tat = now_us
+    end
+    local new_tat = tat + interval * cost
+    local allow_at = new_tat - tolerance
+    if now_us < allow_at then
+      reply[#reply + 1] = 0
+      reply[#reply + 1] = 0
+      reply[#reply + 1] = math.ceil((allow_at - now_us) / 1000)
+      reply[#reply + 1] = math.ceil((tat - now_us) / 1000)
+    else
+      admit = 1
+      local ttl = math.ceil((new_tat - now_us) / 1000)
+      charges[i] = {kind, key, new_tat, ttl}
+      reply[#reply + 1] = 1
+      reply[#reply + 1] = math.floor((now_us - allow_at) / interval)
+      reply[#reply + 1] = 0
+      reply[#reply + 1] = ttl
+    end
+
+  else
+    return redis.error_reply('unknown rate limit tier type: ' .. tostring(kind))
+  end
+
+  if admit == 0 then
+    all_admit = false
+  end
+end
+
+if all_admit then
+  for i = 1, tiers do
+    local charge = charges[i]
+    local kind = charge[1]
+    if kind == 'fw' or kind == 'sw' then
+      redis.call('INCRBY', charge[2], charge[4])
+      if redis.call('PTTL', charge[2]) < 0 then
+        redis.call('PEXPIRE', charge[2], charge[3])
+      end
+    elseif kind == 'tb' then
+      redis.call('HSET', charge[2], 'tokens', charge[3], 'ts', charge[4])
+      redis.call('PEXPIRE', charge[2], charge[5])
+    else
+      redis.call('SET', charge[2], string.format('%d', charge[3]), 'PX', charge[4])
+    end
+  end
+end
+
+return reply
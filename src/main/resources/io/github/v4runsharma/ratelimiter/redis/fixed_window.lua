@@ -0,0 +1,18 @@
+-- Fixed-window counter evaluated in a single round trip.
+-- Nothing is charged when the request is rejected.
+-- KEYS[1]: window bucket key
+-- ARGV[1]: bucket TTL in milliseconds
+-- ARGV[2]: limit
+-- ARGV[3]: permits requested
+-- Returns: {count including this request}; the caller derives the reset from the aligned window
+local cost = tonumber(ARGV[3])
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+if current + cost > tonumber(ARGV[2]) then
+  return {current + cost}
+end
+
+current = redis.call('INCRBY', KEYS[1], cost)
+if redis.call('PTTL', KEYS[1]) < 0 then
+  redis.call('PEXPIRE', KEYS[1], tonumber(ARGV[1]))
+end
+return {current}
@@ -0,0 +1,18 @@
+-- Reserves a slice of a fixed-window budget for local hand-out.
+-- KEYS[1]: window bucket key (shared with fixed_window.lua)
+-- ARGV[1]: limit, ARGV[2]: requested permits, ARGV[3]: bucket TTL in milliseconds
+-- Returns: {granted, pttl}; granted is 0 when the window budget is used up
+local limit = tonumber(ARGV[1])
+local requested = tonumber(ARGV[2])
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local granted = math.min(requested, limit - current)
+if granted <= 0 then
+  return {0, redis.call('PTTL', KEYS[1])}
+end
+redis.call('INCRBY', KEYS[1], granted)
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl < 0 then
+  ttl = tonumber(ARGV[3])
+  redis.call('PEXPIRE', KEYS[1], ttl)
+end
+return {granted, ttl}
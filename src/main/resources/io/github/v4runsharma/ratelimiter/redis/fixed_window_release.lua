@@ -0,0 +1,8 @@
+-- Returns unused leased permits to a window bucket that is still live.
+-- KEYS[1]: window bucket key
+-- ARGV[1]: permits to return
+-- Returns: {remaining count} ({-1} when the bucket already expired)
+if redis.call('EXISTS', KEYS[1]) == 0 then
+  return {-1}
+end
+return {redis.call('DECRBY', KEYS[1], ARGV[1])}
@@ -0,0 +1,32 @@
+-- Generic cell rate algorithm: only the theoretical arrival time (TAT) is stored per key,
+-- as one integer of microseconds that expires exactly when the caller is idle again.
+-- The Redis server clock is used so clock skew between application nodes cannot affect decisions.
+-- KEYS[1]: TAT key
+-- ARGV[1]: emission interval in microseconds (window / limit)
+-- ARGV[2]: burst capacity
+-- ARGV[3]: permits requested
+-- Returns: {allowed (1|0), remaining burst, retry after ms, reset after ms}
+if redis.replicate_commands then
+  redis.replicate_commands()
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local interval = tonumber(ARGV[1])
+local tolerance = interval * tonumber(ARGV[2])
+local increment = interval * tonumber(ARGV[3])
+
+local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+if tat < now then
+  tat = now
+end
+
+local new_tat = tat + increment
+local allow_at = new_tat - tolerance
+if now < allow_at then
+  return {0, 0, math.ceil((allow_at - now) / 1000), math.ceil((tat - now) / 1000)}
+end
+
+local ttl = math.ceil((new_tat - now) / 1000)
+redis.call('SET', KEYS[1], string.format('%d', new_tat), 'PX', ttl)
+return {1, math.floor((now - allow_at) / interval), 0, ttl}
@@ -0,0 +1,26 @@
+-- Sliding-window counter: the previous bucket is weighted by the share of it still inside the window.
+-- Nothing is charged when the request is rejected.
+-- KEYS[1]: current window bucket key
+-- KEYS[2]: previous window bucket key
+-- ARGV[1]: limit
+-- ARGV[2]: window size in milliseconds
+-- ARGV[3]: milliseconds elapsed in the current window
+-- ARGV[4]: bucket TTL in milliseconds
+-- ARGV[5]: permits requested
+-- Returns: {allowed (1|0), current count, previous count}
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local elapsed = tonumber(ARGV[3])
+local cost = tonumber(ARGV[5])
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+if previous * (window - elapsed) / window + current + cost > limit then
+  return {0, current, previous}
+end
+
+current = redis.call('INCRBY', KEYS[1], cost)
+if redis.call('PTTL', KEYS[1]) < 0 then
+  redis.call('PEXPIRE', KEYS[1], ARGV[4])
+end
+return {1, current, previous}
@@ -0,0 +1,42 @@
+-- Token bucket stored as one hash {tokens, ts}, refilled lazily on every call.
+-- KEYS[1]: bucket hash key
+-- ARGV[1]: capacity (burst)
+-- ARGV[2]: tokens added per refill period
+-- ARGV[3]: refill period in milliseconds
+-- ARGV[4]: current time in epoch milliseconds
+-- ARGV[5]: tokens requested
+-- ARGV[6]: TTL safety buffer in milliseconds
+-- Returns: {allowed (1|0), tokens left, retry after ms, ms until full}
+local capacity = tonumber(ARGV[1])
+local refill = tonumber(ARGV[2])
+local period = tonumber(ARGV[3])
+local now = tonumber(ARGV[4])
+local requested = tonumber(ARGV[5])
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local last = tonumber(bucket[2])
+if tokens == nil or last == nil then
+  tokens = capacity
+  last = now
+end
+if now > last then
+  tokens = math.min(capacity, tokens + (now - last) * refill / period)
+  last = now
+end
+
+local allowed = 0
+local retry_after = 0
+if tokens >= requested then
+  allowed = 1
+  tokens = tokens - requested
+  redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', last)
+else
+  retry_after = math.ceil((requested - tokens) * period / refill)
+end
+
+local until_full = math.ceil((capacity - tokens) * period / refill)
+if allowed == 1 then
+  redis.call('PEXPIRE', KEYS[1], until_full + tonumber(ARGV[6]))
+end
+return {allowed, math.floor(tokens), retry_after, until_full}
@@ -0,0 +1,202 @@
+package io.github.v4runsharma.ratelimiter.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.exception.RateLimitExceededException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.framework.ProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RateLimitAspectTest {
+
+  private RateLimitEnforcer enforcer;
+  private ReactiveRateLimitEnforcer reactiveEnforcer;
+  private ReactiveService service;
+  private ReactiveService proxy;
+
+  @BeforeEach
+  void setUp() {
+    enforcer = mock(RateLimitEnforcer.class);
+    reactiveEnforcer = mock(ReactiveRateLimitEnforcer.class);
+    service = new ReactiveService();
+
+    ProxyFactory proxyFactory = new ProxyFactory(service);
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvice(new RateLimitAspect(enforcer, reactiveEnforcer));
+    proxy = (ReactiveService) proxyFactory.getProxy();
+  }
+
+  @Test
+  void defersMonoMethodUntilReactiveEnforcerAdmits() {
+    when(reactiveEnforcer.enforce(any(RateLimitContext.class))).thenReturn(Mono.empty());
+
+    Mono<String> result = proxy.find();
+
+    assertThat(service.invocations.get()).isZero();
+    assertThat(result.block()).isEqualTo("ok");
+    assertThat(service.invocations.get()).isEqualTo(1);
+    verify(enforcer, never()).enforce(any(RateLimitContext.class));
+  }
+
+  @Test
+  void propagatesDenialWithoutInvokingFluxMethod() {
+    RateLimitPolicy policy = new RateLimitPolicy(1, Duration.ofSeconds(1), "GLOBAL");
+    RateLimitDecision denied = new RateLimitDecision(false, 1_000L, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    when(reactiveEnforcer.enforce(any(RateLimitContext.class)))
+        .thenReturn(Mono.error(new RateLimitExceededException("global:list", policy, denied)));
+
+    assertThatThrownBy(() -> proxy.list().collectList().block())
+        .isInstanceOf(RateLimitExceededException.class);
+    assertThat(service.invocations.get()).isZero();
+  }
+
+  @Test
+  void completesFutureExceptionallyWhenAsyncEnforcementDenies() {
+    RateLimitPolicy policy = new RateLimitPolicy(1, Duration.ofSeconds(1), "GLOBAL");
+    RateLimitDecision denied = new RateLimitDecision(false, 1_000L, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    when(enforcer.enforceAsync(any(RateLimitContext.class)))
+        .thenReturn(CompletableFuture.failedFuture(new RateLimitExceededException("global:load", policy, denied)));
+
+    CompletableFuture<String> result = proxy.load();
+
+    assertThatThrownBy(result::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(RateLimitExceededException.class);
+    assertThat(service.invocations.get()).isZero();
+    verify(enforcer, never()).enforce(any(RateLimitContext.class));
+  }
+
+  @Test
+  void invokesFutureMethodOnceAsyncEnforcementAdmits() {
+    when(enforcer.enforceAsync(any(RateLimitContext.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+    assertThat(proxy.load().join()).isEqualTo("ok");
+    assertThat(service.invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  void invokesAdmittedFutureMethodOnExecutorRatherThanCompletingThread() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "rate-limit-async"));
+    try {
+      ProxyFactory proxyFactory = new ProxyFactory(service);
+      proxyFactory.setProxyTargetClass(true);
+      proxyFactory.addAdvice(new RateLimitAspect(enforcer, reactiveEnforcer, executor));
+      ReactiveService asyncProxy = (ReactiveService) proxyFactory.getProxy();
+      CompletableFuture<Void> permit = new CompletableFuture<>();
+      when(enforcer.enforceAsync(any(RateLimitContext.class))).thenReturn(permit);
+
+      CompletableFuture<String> result = asyncProxy.load();
+      Thread limiterIo = new Thread(() -> permit.complete(null), "limiter-io");
+      limiterIo.start();
+      limiterIo.join();
+
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+      assertThat(service.invokedOn).isEqualTo("rate-limit-async");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void runsFutureMethodOnCallerThreadWhenPermitIsAlreadyDecided() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "rate-limit-async"));
+    try {
+      ProxyFactory proxyFactory = new ProxyFactory(service);
+      proxyFactory.setProxyTargetClass(true);
+      proxyFactory.addAdvice(new RateLimitAspect(enforcer, reactiveEnforcer, executor));
+      ReactiveService asyncProxy = (ReactiveService) proxyFactory.getProxy();
+      when(enforcer.enforceAsync(any(RateLimitContext.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+      ReactiveService.CALLER.set("request-42");
+      try {
+        assertThat(asyncProxy.load().get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+      } finally {
+        ReactiveService.CALLER.remove();
+      }
+
+      assertThat(service.invokedOn).isEqualTo(Thread.currentThread().getName());
+      assertThat(service.callerSeen).isEqualTo("request-42");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void enforcesBlockingMethodsInline() {
+    assertThat(proxy.get()).isEqualTo("ok");
+    verify(enforcer).enforce(any(RateLimitContext.class));
+  }
+
+  @Test
+  void passesRepeatedLimitsToEnforcerTogether() {
+    assertThat(proxy.search()).isEqualTo("ok");
+
+    ArgumentCaptor<RateLimitContext> context = ArgumentCaptor.forClass(RateLimitContext.class);
+    verify(enforcer).enforce(context.capture());
+    assertThat(context.getValue().getAnnotations())
+        .extracting(RateLimit::limit)
+        .containsExactly(10, 100);
+  }
+
+  static class ReactiveService {
+
+    static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+
+    final AtomicInteger invocations = new AtomicInteger();
+    volatile String invokedOn;
+    volatile String callerSeen;
+
+    @RateLimit(limit = 1, duration = 1)
+    public Mono<String> find() {
+      invocations.incrementAndGet();
+      return Mono.just("ok");
+    }
+
+    @RateLimit(limit = 1, duration = 1)
+    public Flux<String> list() {
+      invocations.incrementAndGet();
+      return Flux.just("a", "b");
+    }
+
+    @RateLimit(limit = 1, duration = 1)
+    public CompletableFuture<String> load() {
+      invocations.incrementAndGet();
+      invokedOn = Thread.currentThread().getName();
+      callerSeen = CALLER.get();
+      return CompletableFuture.completedFuture("ok");
+    }
+
+    @RateLimit(limit = 1, duration = 1)
+    public String get() {
+      return "ok";
+    }
+
+    @RateLimit(limit = 10, duration = 1)
+    @RateLimit(limit = 100, duration = 1, timeUnit = TimeUnit.MINUTES)
+    public String search() {
+      return "ok";
+    }
+  }
+}
@@ -6,7 +6,10 @@ import static org.mockito.Mockito.mock;
 import io.github.v4runsharma.ratelimiter.aspect.RateLimitAspect;
 import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
 import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.ReactiveRateLimiter;
 import io.github.v4runsharma.ratelimiter.exception.RateLimitExceptionHandler;
+import io.github.v4runsharma.ratelimiter.local.InMemoryRateLimiter;
 import io.github.v4runsharma.ratelimiter.metrics.MicrometerRateLimitMetricsRecorder;
 import io.github.v4runsharma.ratelimiter.metrics.NoOpRateLimitMetricsRecorder;
 import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
@@ -20,6 +23,7 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -33,15 +37,23 @@ class RateLimiterAutoConfigurationTest {
       .withConfiguration(AutoConfigurations.of(RateLimiterAutoConfiguration.class));
 
   @Test
-  void doesNotCreateRateLimiterWithoutRedisTemplate() {
+  void fallsBackToInMemoryRateLimiterWithoutRedisTemplate() {
     contextRunner.run(context -> {
-      assertThat(context).doesNotHaveBean(RateLimiter.class);
-      assertThat(context).doesNotHaveBean(RateLimitEnforcer.class);
-      assertThat(context).doesNotHaveBean(RateLimitAspect.class);
-      assertThat(context).doesNotHaveBean(Advisor.class);
+      assertThat(context).getBean(RateLimiter.class).isInstanceOf(InMemoryRateLimiter.class);
+      assertThat(context).hasSingleBean(RateLimitEnforcer.class);
+      assertThat(context).hasSingleBean(RateLimitAspect.class);
+      assertThat(context).hasSingleBean(Advisor.class);
     });
   }
 
+  @Test
+  void selectsInMemoryRateLimiterByProperty() {
+    contextRunner
+        .withUserConfiguration(RedisTemplateTestConfiguration.class)
+        .withPropertyValues("ratelimiter.backend=in-memory")
+        .run(context -> assertThat(context).getBean(RateLimiter.class).isInstanceOf(InMemoryRateLimiter.class));
+  }
+
   @Test
   void createsCoreBeansWhenRedisTemplatePresent() {
     contextRunner.withUserConfiguration(RedisTemplateTestConfiguration.class)
@@ -79,6 +91,28 @@ class RateLimiterAutoConfigurationTest {
         });
   }
 
+  @Test
+  void doesNotCreateReactiveBeansWithoutReactiveConnectionFactory() {
+    contextRunner.withUserConfiguration(RedisTemplateTestConfiguration.class)
+        .run(context -> {
+          assertThat(context).doesNotHaveBean(ReactiveRateLimiter.class);
+          assertThat(context).doesNotHaveBean(ReactiveRateLimitEnforcer.class);
+        });
+  }
+
+  @Test
+  void createsReactiveBeansWhenReactiveConnectionFactoryPresent() {
+    contextRunner
+        .withUserConfiguration(RedisTemplateTestConfiguration.class, ReactiveRedisTestConfiguration.class)
+        .run(context -> {
+          assertThat(context).hasSingleBean(ReactiveRateLimiter.class);
+          assertThat(context).hasSingleBean(ReactiveRateLimitEnforcer.class);
+          RateLimitAspect aspect = context.getBean(RateLimitAspect.class);
+          assertThat(ReflectionTestUtils.getField(aspect, "reactiveRateLimitEnforcer"))
+              .isSameAs(context.getBean(ReactiveRateLimitEnforcer.class));
+        });
+  }
+
   @Test
   void createsMicrometerMetricsRecorderWhenRegistryExists() {
     contextRunner
@@ -113,6 +147,15 @@ class RateLimiterAutoConfigurationTest {
     }
   }
 
+  @Configuration(proxyBeanMethods = false)
+  static class ReactiveRedisTestConfiguration {
+
+    @Bean
+    ReactiveRedisConnectionFactory reactiveRedisConnectionFactory() {
+      return mock(ReactiveRedisConnectionFactory.class);
+    }
+  }
+
   @Configuration(proxyBeanMethods = false)
   static class MeterRegistryTestConfiguration {
 
@@ -0,0 +1,70 @@
+package io.github.v4runsharma.ratelimiter.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+class RateLimitExceptionHandlerTest {
+
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(10, Duration.ofSeconds(60), "GLOBAL");
+  private static final RateLimitDecision DENIED =
+      new RateLimitDecision(false, 7_000L, Duration.ofSeconds(7), Duration.ofSeconds(7));
+
+  @Test
+  void stacklessExceptionFormatsMessageOnDemand() {
+    RateLimitExceededException ex = new RateLimitExceededException("search", "global:search", POLICY, DENIED, false);
+
+    assertThat(ex.getStackTrace()).isEmpty();
+    assertThat(ex.getMessage()).isEqualTo("Rate limit exceeded: search (limit=10, window=PT1M, remaining=7000)");
+    assertThat(ex.getMessage()).isSameAs(ex.getMessage());
+  }
+
+  @Test
+  void templatedResponseCarriesPerCallFieldsOnTopOfCachedTemplate() {
+    RateLimitExceptionHandler handler = new RateLimitExceptionHandler(true, true);
+
+    ResponseEntity<ProblemDetail> first = handler.handleRateLimitExceeded(
+        new RateLimitExceededException("search", "ip:search:10.0.0.1", POLICY, DENIED, false));
+    ResponseEntity<ProblemDetail> second = handler.handleRateLimitExceeded(
+        new RateLimitExceededException("search", "ip:search:10.0.0.2", POLICY, DENIED, false));
+
+    assertThat(second.getStatusCode().value()).isEqualTo(429);
+    assertThat(second.getHeaders().getFirst("Retry-After")).isEqualTo("7");
+    assertThat(second.getHeaders().getFirst("RateLimit-Limit")).isEqualTo("10");
+    ProblemDetail body = second.getBody();
+    assertThat(body.getDetail()).isEqualTo("Rate limit exceeded: search");
+    assertThat(body.getProperties())
+        .containsEntry("limit", 10)
+        .containsEntry("windowSeconds", 60L)
+        .containsEntry("name", "search")
+        .containsEntry("key", "ip:search:10.0.0.2")
+        .containsEntry("retryAfterSeconds", 7L)
+        .containsKey("timestamp");
+    assertThat(first.getBody().getProperties()).containsEntry("key", "ip:search:10.0.0.1");
+  }
+
+  @Test
+  void templatedResponsesStayCorrectOnceTheTemplateCacheIsFull() {
+    RateLimitExceptionHandler handler = new RateLimitExceptionHandler(true, true);
+    for (int i = 0; i < 1100; i++) {
+      handler.handleRateLimitExceeded(
+          new RateLimitExceededException("name-" + i, "global:name-" + i, POLICY, DENIED, false));
+    }
+
+    ResponseEntity<ProblemDetail> cached = handler.handleRateLimitExceeded(
+        new RateLimitExceededException("name-0", "global:name-0", POLICY, DENIED, false));
+    ResponseEntity<ProblemDetail> overflow = handler.handleRateLimitExceeded(
+        new RateLimitExceededException("name-1099", "global:name-1099", POLICY, DENIED, false));
+
+    assertThat(cached.getBody().getDetail()).isEqualTo("Rate limit exceeded: name-0");
+    assertThat(overflow.getBody().getDetail()).isEqualTo("Rate limit exceeded: name-1099");
+    assertThat(overflow.getBody().getProperties())
+        .containsEntry("name", "name-1099")
+        .containsEntry("key", "global:name-1099");
+  }
+}
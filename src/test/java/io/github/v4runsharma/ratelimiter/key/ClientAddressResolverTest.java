@@ -0,0 +1,91 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitContext;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ClientAddressResolverTest {
+
+  private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.0/8", "fd00::/8"));
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void walksForwardedHeaderThroughTrustedProxiesOnly() {
+    MockHttpServletRequest request = request("10.0.0.2");
+    request.addHeader("X-Forwarded-For", "198.51.100.9, 203.0.113.7");
+    request.addHeader("X-Forwarded-For", "10.1.2.3");
+
+    assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+  }
+
+  @Test
+  void ignoresForwardedHeaderFromUntrustedPeer() {
+    MockHttpServletRequest request = request("203.0.113.7");
+    request.addHeader("X-Forwarded-For", "198.51.100.9");
+
+    assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+  }
+
+  @Test
+  void normalizesAddressesToCanonicalForm() {
+    assertThat(resolver.resolve(request("2001:0DB8:0000:0000:0000:0000:0000:0001"))).isEqualTo("2001:db8::1");
+    assertThat(resolver.resolve(request("2001:db8:0:1:0:0:0:1"))).isEqualTo("2001:db8:0:1::1");
+    assertThat(resolver.resolve(request("0:0:0:0:0:0:0:1"))).isEqualTo("::1");
+    assertThat(resolver.resolve(request("::ffff:192.0.2.4"))).isEqualTo("192.0.2.4");
+
+    MockHttpServletRequest proxied = request("fd00::5");
+    proxied.addHeader("X-Forwarded-For", "[2001:db8:0:0:1:0:0:1]:443");
+    assertThat(resolver.resolve(proxied)).isEqualTo("2001:db8::1:0:0:1");
+  }
+
+  @Test
+  void rejectsInvalidTrustedProxy() {
+    assertThatThrownBy(() -> new ClientAddressResolver(List.of("proxy.internal")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void keyResolversAppendIdentityOfCurrentRequest() throws NoSuchMethodException {
+    Method method = Endpoints.class.getMethod("search");
+    DefaultRateLimitContext context = new DefaultRateLimitContext(
+        method.getAnnotation(RateLimit.class), Endpoints.class, method, new Object[0], new Endpoints());
+    MockHttpServletRequest request = request("10.0.0.2");
+    request.addHeader("X-Forwarded-For", "2001:db8::7");
+    request.addHeader("X-API-Key", "secret-key");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    DefaultRateLimitKeyResolver base = new DefaultRateLimitKeyResolver();
+
+    assertThat(new ClientIpKeyResolver(base, resolver).resolveKey(context)).isEqualTo("ip:search:2001:db8::7");
+    assertThat(new PrincipalKeyResolver(base, 64).resolveKey(context)).isEqualTo("ip:search:anonymous");
+    assertThat(new HeaderKeyResolver(base, "X-API-Key", true, 64).resolveKey(context))
+        .startsWith("ip:search:")
+        .doesNotContain("secret-key")
+        .hasSize("ip:search:".length() + 16);
+  }
+
+  private static MockHttpServletRequest request(String remoteAddr) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr(remoteAddr);
+    return request;
+  }
+
+  static class Endpoints {
+
+    @RateLimit(limit = 10, duration = 1, scope = "IP", key = "search")
+    public void search() {
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package io.github.v4runsharma.ratelimiter.key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitContext;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Test;
+
+class ExpressionRateLimitKeyResolverTest {
+
+  private final ExpressionRateLimitKeyResolver resolver =
+      new ExpressionRateLimitKeyResolver(new DefaultRateLimitKeyResolver());
+
+  @Test
+  void appendsExpressionValueToBaseKeyOnEveryCall() throws NoSuchMethodException {
+    Method method = Accounts.class.getMethod("charge", String.class, int.class);
+
+    String first = resolver.resolveKey(context(method, "acct-1", 5));
+    String second = resolver.resolveKey(context(method, "acct-2", 7));
+
+    assertThat(first).isEqualTo("user:accounts:acct-1");
+    assertThat(second).isEqualTo("user:accounts:acct-2");
+  }
+
+  @Test
+  void rejectsNullValue() throws NoSuchMethodException {
+    Method method = Accounts.class.getMethod("charge", String.class, int.class);
+
+    assertThatThrownBy(() -> resolver.resolveKey(context(method, null, 1)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("evaluated to null");
+  }
+
+  private static DefaultRateLimitContext context(Method method, Object... arguments) {
+    return new DefaultRateLimitContext(
+        method.getAnnotation(RateLimit.class), Accounts.class, method, arguments, new Accounts());
+  }
+
+  static class Accounts {
+
+    @RateLimit(limit = 10, duration = 1, scope = "USER", key = "accounts", keyExpression = "#p0")
+    public void charge(String accountId, int amount) {
+    }
+  }
+}
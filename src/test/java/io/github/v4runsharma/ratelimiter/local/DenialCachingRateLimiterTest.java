@@ -0,0 +1,103 @@
+package io.github.v4runsharma.ratelimiter.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DenialCachingRateLimiterTest {
+
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(1, Duration.ofSeconds(10), "GLOBAL");
+  private static final RateLimitDecision DENIED =
+      new RateLimitDecision(false, 4_000L, Duration.ofSeconds(4), Duration.ofSeconds(4));
+  private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L, null, Duration.ofSeconds(10));
+
+  private final AtomicLong nowMillis = new AtomicLong(1_700_000_000_000L);
+  private RateLimiter delegate;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(RateLimiter.class);
+  }
+
+  @Test
+  void answersDeniedKeyLocallyUntilRetryAfter() {
+    DenialCachingRateLimiter rateLimiter = new DenialCachingRateLimiter(delegate, clock(), 10);
+    when(delegate.evaluate("k", POLICY)).thenReturn(DENIED, ALLOWED);
+
+    assertThat(rateLimiter.evaluate("k", POLICY).isAllowed()).isFalse();
+    nowMillis.addAndGet(1_500L);
+    RateLimitDecision cached = rateLimiter.evaluate("k", POLICY);
+    nowMillis.addAndGet(2_500L);
+    RateLimitDecision afterExpiry = rateLimiter.evaluate("k", POLICY);
+
+    assertThat(cached.isAllowed()).isFalse();
+    assertThat(cached.getRetryAfter()).contains(Duration.ofMillis(2_500));
+    assertThat(afterExpiry.isAllowed()).isTrue();
+    verify(delegate, times(2)).evaluate("k", POLICY);
+  }
+
+  @Test
+  void evaluateAllSendsOnlyUncachedRequestsToDelegate() {
+    DenialCachingRateLimiter rateLimiter = new DenialCachingRateLimiter(delegate, clock(), 10);
+    when(delegate.evaluate("a", POLICY)).thenReturn(DENIED);
+    when(delegate.evaluateAll(List.of(new RateLimitRequest("b", POLICY)))).thenReturn(List.of(ALLOWED));
+
+    rateLimiter.evaluate("a", POLICY);
+    List<RateLimitDecision> decisions = rateLimiter.evaluateAll(List.of(
+        new RateLimitRequest("a", POLICY),
+        new RateLimitRequest("b", POLICY)
+    ));
+
+    assertThat(decisions).extracting(RateLimitDecision::isAllowed).containsExactly(false, true);
+    verify(delegate).evaluateAll(List.of(new RateLimitRequest("b", POLICY)));
+  }
+
+  @Test
+  void stopsCachingWhenFullOfLiveDenials() {
+    DenialCachingRateLimiter rateLimiter = new DenialCachingRateLimiter(delegate, clock(), 1);
+    when(delegate.evaluate("a", POLICY)).thenReturn(DENIED);
+    when(delegate.evaluate("b", POLICY)).thenReturn(DENIED);
+
+    rateLimiter.evaluate("a", POLICY);
+    rateLimiter.evaluate("b", POLICY);
+    rateLimiter.evaluate("b", POLICY);
+
+    assertThat(rateLimiter.size()).isEqualTo(1);
+    verify(delegate, times(2)).evaluate("b", POLICY);
+  }
+
+  private Clock clock() {
+    return new Clock() {
+      @Override
+      public ZoneId getZone() {
+        return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+        return this;
+      }
+
+      @Override
+      public Instant instant() {
+        return Instant.ofEpochMilli(nowMillis.get());
+      }
+    };
+  }
+}
@@ -0,0 +1,149 @@
+package io.github.v4runsharma.ratelimiter.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimiterTest {
+
+  private final AtomicLong nowMillis = new AtomicLong(1_700_000_000_000L);
+  private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(clock(), 2, Duration.ofHours(1));
+
+  @AfterEach
+  void tearDown() {
+    rateLimiter.destroy();
+  }
+
+  @Test
+  void fixedWindowAdmitsLimitConcurrentlyAndRollsOver() throws Exception {
+    RateLimitPolicy policy = new RateLimitPolicy(100, Duration.ofSeconds(10), "GLOBAL");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        results.add(executor.submit(() -> rateLimiter.evaluate("k", policy).isAllowed()));
+      }
+      long admitted = 0;
+      for (Future<Boolean> result : results) {
+        admitted += result.get() ? 1 : 0;
+      }
+      assertThat(admitted).isEqualTo(100);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    nowMillis.addAndGet(10_000L);
+    assertThat(rateLimiter.evaluate("k", policy).isAllowed()).isTrue();
+  }
+
+  @Test
+  void weightedRequestIsDeniedWithoutConsumingPermits() {
+    RateLimitPolicy fixed = new RateLimitPolicy(10, Duration.ofSeconds(10), "GLOBAL");
+    RateLimitPolicy bucket = new RateLimitPolicy(10, Duration.ofSeconds(1), "GLOBAL", RateLimitAlgorithm.TOKEN_BUCKET);
+
+    assertThat(rateLimiter.evaluate("fixed", fixed, 8).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate("fixed", fixed, 3).isAllowed()).isFalse();
+    assertThat(rateLimiter.evaluate("fixed", fixed, 2).isAllowed()).isTrue();
+
+    assertThat(rateLimiter.evaluate("bucket", bucket, 9).isAllowed()).isTrue();
+    RateLimitDecision denied = rateLimiter.evaluate("bucket", bucket, 3);
+    assertThat(denied.isAllowed()).isFalse();
+    assertThat(denied.getRetryAfter()).contains(Duration.ofMillis(200));
+    assertThat(rateLimiter.evaluate("bucket", bucket, 1).isAllowed()).isTrue();
+  }
+
+  @Test
+  void gcraDeniesBeyondBurstWithRetryAfterOneInterval() {
+    RateLimitPolicy policy = new RateLimitPolicy(10, Duration.ofSeconds(1), "GLOBAL", RateLimitAlgorithm.GCRA, 2);
+
+    assertThat(rateLimiter.evaluate("k", policy).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate("k", policy).isAllowed()).isTrue();
+    RateLimitDecision denied = rateLimiter.evaluate("k", policy);
+
+    assertThat(denied.isAllowed()).isFalse();
+    assertThat(denied.getRetryAfter()).contains(Duration.ofMillis(100));
+  }
+
+  @Test
+  void compositeChargesNoTierWhenAnotherTierDenies() {
+    RateLimitPolicy perSecond = new RateLimitPolicy(10, Duration.ofSeconds(1), "GLOBAL");
+    RateLimitPolicy perMinute = new RateLimitPolicy(2, Duration.ofMinutes(1), "GLOBAL", RateLimitAlgorithm.TOKEN_BUCKET);
+    List<RateLimitRequest> tiers = List.of(
+        new RateLimitRequest("second", perSecond),
+        new RateLimitRequest("minute", perMinute)
+    );
+
+    assertThat(rateLimiter.evaluateComposite(tiers)).allMatch(RateLimitDecision::isAllowed);
+    assertThat(rateLimiter.evaluateComposite(tiers)).allMatch(RateLimitDecision::isAllowed);
+    List<RateLimitDecision> denied = rateLimiter.evaluateComposite(tiers);
+
+    assertThat(denied.get(0).isAllowed()).isTrue();
+    assertThat(denied.get(1).isAllowed()).isFalse();
+    assertThat(rateLimiter.evaluate("second", perSecond, 8).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate("second", perSecond).isAllowed()).isFalse();
+  }
+
+  @Test
+  void deniesNewKeysWhenFullInsteadOfEvictingLiveOnes() {
+    RateLimitPolicy policy = new RateLimitPolicy(1, Duration.ofSeconds(1), "GLOBAL");
+    assertThat(rateLimiter.evaluate("a", policy).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate("b", policy).isAllowed()).isTrue();
+
+    RateLimitDecision rejected = rateLimiter.evaluate("c", policy);
+
+    assertThat(rejected.isAllowed()).isFalse();
+    assertThat(rejected.getRetryAfter()).contains(Duration.ofSeconds(1));
+    assertThat(rateLimiter.size()).isEqualTo(2);
+    assertThat(rateLimiter.evaluate("a", policy).isAllowed()).isFalse();
+
+    nowMillis.addAndGet(1_000L);
+    assertThat(rateLimiter.evaluate("c", policy).isAllowed()).isTrue();
+    assertThat(rateLimiter.size()).isEqualTo(1);
+  }
+
+  @Test
+  void sweepsExpiredKeys() {
+    RateLimitPolicy policy = new RateLimitPolicy(1, Duration.ofSeconds(1), "GLOBAL");
+    rateLimiter.evaluate("a", policy);
+    rateLimiter.evaluate("b", policy);
+
+    nowMillis.addAndGet(1_000L);
+    rateLimiter.sweep();
+    assertThat(rateLimiter.size()).isZero();
+  }
+
+  private Clock clock() {
+    return new Clock() {
+      @Override
+      public ZoneId getZone() {
+        return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(ZoneId zone) {
+        return this;
+      }
+
+      @Override
+      public Instant instant() {
+        return Instant.ofEpochMilli(nowMillis.get());
+      }
+    };
+  }
+}
@@ -0,0 +1,58 @@
+package io.github.v4runsharma.ratelimiter.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TwoTierRateLimiterTest {
+
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:30Z"), ZoneOffset.UTC);
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(100, Duration.ofMinutes(1), "GLOBAL");
+
+  @Test
+  void rejectsOverPerNodeShareWithoutCallingDelegate() throws Exception {
+    RateLimiter delegate = mock(RateLimiter.class);
+    when(delegate.evaluate(eq("k"), any())).thenReturn(new RateLimitDecision(true, 0L, null, null));
+    TwoTierRateLimiter rateLimiter = new TwoTierRateLimiter(
+        delegate, new InMemoryRateLimiter(CLOCK, 100, Duration.ofMinutes(1)), () -> 4, 0.2d);
+
+    int admitted = 0;
+    for (int i = 0; i < 50; i++) {
+      admitted += rateLimiter.evaluate("k", POLICY).isAllowed() ? 1 : 0;
+    }
+    rateLimiter.destroy();
+
+    assertThat(admitted).isEqualTo(30);
+    verify(delegate, times(30)).evaluate("k", POLICY);
+  }
+
+  @Test
+  void rescalesLocalShareWhenNodeCountChanges() throws Exception {
+    RateLimiter delegate = mock(RateLimiter.class);
+    when(delegate.evaluate(any(), any())).thenReturn(new RateLimitDecision(true, 0L, null, null));
+    AtomicInteger nodes = new AtomicInteger(100);
+    TwoTierRateLimiter rateLimiter = new TwoTierRateLimiter(
+        delegate, new InMemoryRateLimiter(CLOCK, 100, Duration.ofMinutes(1)), nodes::get, 0.0d);
+
+    assertThat(rateLimiter.evaluate("a", POLICY).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate("a", POLICY).isAllowed()).isFalse();
+    nodes.set(1);
+    assertThat(rateLimiter.evaluate("b", POLICY).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate("b", POLICY).isAllowed()).isTrue();
+    rateLimiter.destroy();
+  }
+}
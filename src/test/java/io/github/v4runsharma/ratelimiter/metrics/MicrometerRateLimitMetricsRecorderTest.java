@@ -0,0 +1,48 @@
+package io.github.v4runsharma.ratelimiter.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class MicrometerRateLimitMetricsRecorderTest {
+
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(5, Duration.ofSeconds(1), "USER");
+  private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L, null, Duration.ofSeconds(1));
+  private static final RateLimitDecision BLOCKED =
+      new RateLimitDecision(false, 1_000L, Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void recordsOutcomesLatencyAndErrors() {
+    MicrometerRateLimitMetricsRecorder recorder = new MicrometerRateLimitMetricsRecorder(registry);
+
+    recorder.recordDecision("orders", POLICY, ALLOWED, Duration.ofMillis(2));
+    recorder.recordDecision("orders", POLICY, ALLOWED, Duration.ofMillis(2));
+    recorder.recordDecision("orders", POLICY, BLOCKED, Duration.ofMillis(2));
+    recorder.recordError("orders", POLICY, Duration.ofMillis(3), new IllegalStateException("down"));
+
+    assertThat(registry.get("ratelimiter.requests").tag("name", "orders").tag("outcome", "allowed").counter().count())
+        .isEqualTo(2.0);
+    assertThat(registry.get("ratelimiter.requests").tag("outcome", "blocked").counter().count()).isEqualTo(1.0);
+    assertThat(registry.get("ratelimiter.errors").tag("exception", "IllegalStateException").counter().count())
+        .isEqualTo(1.0);
+    assertThat(registry.get("ratelimiter.evaluate.latency").tag("scope", "USER").timer().count()).isEqualTo(4);
+  }
+
+  @Test
+  void keepsRecordingWhenCacheBoundIsReached() {
+    MicrometerRateLimitMetricsRecorder recorder = new MicrometerRateLimitMetricsRecorder(registry, 1);
+
+    recorder.recordDecision("first", POLICY, ALLOWED, Duration.ofMillis(1));
+    recorder.recordDecision("second", POLICY, ALLOWED, Duration.ofMillis(1));
+    recorder.recordDecision("second", POLICY, ALLOWED, Duration.ofMillis(1));
+
+    assertThat(registry.get("ratelimiter.requests").tag("name", "second").tag("outcome", "allowed").counter().count())
+        .isEqualTo(2.0);
+  }
+}
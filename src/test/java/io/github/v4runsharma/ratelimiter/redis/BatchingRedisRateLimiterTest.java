@@ -0,0 +1,122 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class BatchingRedisRateLimiterTest {
+
+  private static final Instant FIXED_TIME = Instant.ofEpochMilli(1_700_000_005_123L);
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+
+  private StringRedisTemplate redisTemplate;
+  private RedisScriptingCommands scriptingCommands;
+  private BatchingRedisRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    RedisConnection connection = mock(RedisConnection.class);
+    scriptingCommands = mock(RedisScriptingCommands.class);
+    when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+    AtomicInteger queued = new AtomicInteger();
+    when(scriptingCommands.evalSha(anyString(), any(ReturnType.class), anyInt(), any(byte[][].class)))
+        .thenAnswer(invocation -> {
+          queued.incrementAndGet();
+          return null;
+        });
+    when(redisTemplate.executePipelined(any(RedisCallback.class), isNull())).thenAnswer(invocation -> {
+      queued.set(0);
+      ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+      List<Object> replies = new ArrayList<>();
+      for (int i = 0; i < queued.get(); i++) {
+        replies.add(List.of(1L));
+      }
+      return replies;
+    });
+
+    RedisRateLimiter delegate = new RedisRateLimiter(
+        redisTemplate, Clock.fixed(FIXED_TIME, ZoneOffset.UTC), "ratelimiter", false, true);
+    rateLimiter = new BatchingRedisRateLimiter(delegate, Duration.ofSeconds(5), 3);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    rateLimiter.destroy();
+  }
+
+  @Test
+  void sendsConcurrentEvaluationsAsOnePipeline() {
+    List<CompletableFuture<RateLimitDecision>> results = List.of(
+        rateLimiter.evaluateAsync("a", POLICY).toCompletableFuture(),
+        rateLimiter.evaluateAsync("b", POLICY).toCompletableFuture(),
+        rateLimiter.evaluateAsync("c", POLICY).toCompletableFuture()
+    );
+
+    assertThat(results).allSatisfy(result -> assertThat(result.join().isAllowed()).isTrue());
+    verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class), isNull());
+    verify(scriptingCommands, times(3)).evalSha(anyString(), any(ReturnType.class), anyInt(), any(byte[][].class));
+  }
+
+  @Test
+  void evaluateAllDecidesEachRequestFromOnePipeline() {
+    when(redisTemplate.executePipelined(any(RedisCallback.class), isNull()))
+        .thenReturn(List.of(List.of(1L), List.of(3L), List.of(2L), List.of(1L)));
+
+    List<RateLimitDecision> decisions = rateLimiter.evaluateAll(List.of(
+        new RateLimitRequest("a", POLICY),
+        new RateLimitRequest("b", POLICY),
+        new RateLimitRequest("c", POLICY),
+        new RateLimitRequest("d", POLICY)
+    ));
+
+    assertThat(decisions).extracting(RateLimitDecision::isAllowed).containsExactly(true, false, true, true);
+    verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class), isNull());
+  }
+
+  @Test
+  void failsOnlyTheEvaluationWhoseCommandFailed() {
+    when(redisTemplate.executePipelined(any(RedisCallback.class), isNull())).thenThrow(new RedisPipelineException(
+        new RedisSystemException("redis down", null),
+        List.of(List.of(1L), new RedisSystemException("redis down", null), List.of(1L))
+    ));
+
+    CompletableFuture<RateLimitDecision> first = rateLimiter.evaluateAsync("a", POLICY).toCompletableFuture();
+    CompletableFuture<RateLimitDecision> second = rateLimiter.evaluateAsync("b", POLICY).toCompletableFuture();
+    CompletableFuture<RateLimitDecision> third = rateLimiter.evaluateAsync("c", POLICY).toCompletableFuture();
+
+    assertThat(first.join().isAllowed()).isTrue();
+    assertThat(third.join().isAllowed()).isTrue();
+    assertThatThrownBy(second::join).hasCauseInstanceOf(RateLimiterBackendException.class);
+  }
+}
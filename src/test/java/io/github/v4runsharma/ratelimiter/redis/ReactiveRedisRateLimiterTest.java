@@ -0,0 +1,112 @@
+package io.github.v4runsharma.ratelimiter.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveRedisRateLimiterTest {
+
+  private static final Instant FIXED_TIME = Instant.ofEpochMilli(1_700_000_005_123L);
+
+  private ReactiveScriptingCommands scriptingCommands;
+  private ReactiveRedisRateLimiter rateLimiter;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    ReactiveRedisConnection connection = mock(ReactiveRedisConnection.class);
+    scriptingCommands = mock(ReactiveScriptingCommands.class);
+    when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+    when(redisTemplate.execute(any(ReactiveRedisCallback.class)))
+        .thenAnswer(invocation -> Flux.from(((ReactiveRedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection)));
+
+    rateLimiter = new ReactiveRedisRateLimiter(redisTemplate, Clock.fixed(FIXED_TIME, ZoneOffset.UTC), "ratelimiter", false);
+  }
+
+  @Test
+  void evaluatesFixedWindowWithoutBlocking() {
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(ByteBuffer.class), any(ByteBuffer.class),
+        any(ByteBuffer.class), any(ByteBuffer.class)))
+        .thenReturn(Flux.just(3L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("customer-1", policy).block();
+
+    assertThat(decision).isNotNull();
+    assertThat(decision.isAllowed()).isFalse();
+    assertThat(decision.getRetryAfter()).contains(Duration.ofMillis(4_877));
+  }
+
+  @Test
+  void fallsBackToEvalWhenScriptIsNotCached() {
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), any(ReturnType.class), anyInt(), any(ByteBuffer.class), any(ByteBuffer.class),
+        any(ByteBuffer.class), any(ByteBuffer.class)))
+        .thenReturn(Flux.error(new RedisSystemException("NOSCRIPT No matching script", null)));
+    when(scriptingCommands.eval(any(ByteBuffer.class), eq(ReturnType.MULTI), eq(1), any(ByteBuffer.class), any(ByteBuffer.class),
+        any(ByteBuffer.class), any(ByteBuffer.class)))
+        .thenReturn(Flux.just(1L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("customer-2", policy).block();
+
+    assertThat(decision).isNotNull();
+    assertThat(decision.isAllowed()).isTrue();
+    verify(scriptingCommands).eval(any(ByteBuffer.class), eq(ReturnType.MULTI), eq(1), any(ByteBuffer.class), any(ByteBuffer.class),
+        any(ByteBuffer.class), any(ByteBuffer.class));
+  }
+
+  @Test
+  void signalsBackendExceptionInFailClosedMode() {
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), any(ReturnType.class), anyInt(), any(ByteBuffer.class), any(ByteBuffer.class),
+        any(ByteBuffer.class), any(ByteBuffer.class)))
+        .thenReturn(Flux.error(new RedisSystemException("redis down", null)));
+
+    assertThatThrownBy(() -> rateLimiter.evaluate("customer-3", policy).block())
+        .isInstanceOf(RateLimiterBackendException.class)
+        .hasMessageContaining("Redis rate limiter backend failure");
+  }
+
+  @Test
+  void signalsInvalidArgumentsOnSubscription() {
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+
+    Mono<RateLimitDecision> blankKey = rateLimiter.evaluate(" ", policy, 1);
+    Mono<RateLimitDecision> nonPositiveCost = rateLimiter.evaluate("customer-4", policy, 0);
+
+    assertThatThrownBy(blankKey::block)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("key must not be blank");
+    assertThatThrownBy(nonPositiveCost::block)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("cost must be greater than 0");
+    verifyNoInteractions(scriptingCommands);
+  }
+}
@@ -2,6 +2,8 @@ package io.github.v4runsharma.ratelimiter.redis;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
 import java.time.Clock;
 import java.time.Duration;
@@ -70,6 +72,91 @@ class RedisRateLimiterIT {
     assertThat(rateLimiter.evaluate(key, policy).isAllowed()).isFalse();
   }
 
+  @Test
+  void evaluatesWithScriptAndAlwaysSetsTtl() {
+    RedisRateLimiter rateLimiter = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "integration-script",
+        false,
+        true
+    );
+    rateLimiter.afterPropertiesSet();
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofMinutes(1), "GLOBAL");
+    String key = "script-" + UUID.randomUUID();
+
+    assertThat(rateLimiter.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate(key, policy).isAllowed()).isFalse();
+
+    Long ttl = redisTemplate.getExpire("integration-script:" + key + ":1699999980000", TimeUnit.MILLISECONDS);
+    assertThat(ttl).isPositive();
+  }
+
+  @Test
+  void slidingWindowCarriesPreviousWindowIntoCurrentOne() {
+    RateLimitPolicy policy = new RateLimitPolicy(4, Duration.ofSeconds(10), "GLOBAL", RateLimitAlgorithm.SLIDING_WINDOW);
+    String key = "sliding-" + UUID.randomUUID();
+    // 1_700_000_005_123 is 5123ms into a 10s window.
+    RedisRateLimiter previousWindow = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME.minusSeconds(10), ZoneOffset.UTC),
+        "integration-sliding",
+        false
+    );
+    RedisRateLimiter currentWindow = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "integration-sliding",
+        false
+    );
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(previousWindow.evaluate(key, policy).isAllowed()).isTrue();
+    }
+    // 4 * 0.4877 = 1.95 requests are still counted from the previous window, leaving room for 2.
+    assertThat(currentWindow.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(currentWindow.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(currentWindow.evaluate(key, policy).isAllowed()).isFalse();
+  }
+
+  @Test
+  void tokenBucketAdmitsBurstThenRefillsAtSteadyRate() {
+    RateLimitPolicy policy = new RateLimitPolicy(1, Duration.ofSeconds(1), "GLOBAL", RateLimitAlgorithm.TOKEN_BUCKET, 3);
+    String key = "bucket-" + UUID.randomUUID();
+    RedisRateLimiter now = new RedisRateLimiter(
+        redisTemplate, Clock.fixed(FIXED_TIME, ZoneOffset.UTC), "integration-bucket", false);
+    RedisRateLimiter halfSecondLater = new RedisRateLimiter(
+        redisTemplate, Clock.fixed(FIXED_TIME.plusMillis(500), ZoneOffset.UTC), "integration-bucket", false);
+    RedisRateLimiter oneSecondLater = new RedisRateLimiter(
+        redisTemplate, Clock.fixed(FIXED_TIME.plusMillis(1000), ZoneOffset.UTC), "integration-bucket", false);
+
+    assertThat(now.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(now.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(now.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(now.evaluate(key, policy).getRetryAfter()).contains(Duration.ofMillis(1000));
+    assertThat(halfSecondLater.evaluate(key, policy).getRetryAfter()).contains(Duration.ofMillis(500));
+    assertThat(oneSecondLater.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(oneSecondLater.evaluate(key, policy).isAllowed()).isFalse();
+  }
+
+  @Test
+  void gcraStoresSingleExpiringTimestampPerKey() {
+    RateLimitPolicy policy = new RateLimitPolicy(1, Duration.ofMinutes(1), "GLOBAL", RateLimitAlgorithm.GCRA, 2);
+    String key = "gcra-" + UUID.randomUUID();
+    RedisRateLimiter rateLimiter = new RedisRateLimiter(redisTemplate, Clock.systemUTC(), "integration-gcra", false);
+
+    assertThat(rateLimiter.evaluate(key, policy).isAllowed()).isTrue();
+    assertThat(rateLimiter.evaluate(key, policy).isAllowed()).isTrue();
+    RateLimitDecision blocked = rateLimiter.evaluate(key, policy);
+
+    assertThat(blocked.isAllowed()).isFalse();
+    assertThat(blocked.getRetryAfter()).hasValueSatisfying(retryAfter ->
+        assertThat(retryAfter).isBetween(Duration.ofSeconds(59), Duration.ofMinutes(1)));
+    Long ttl = redisTemplate.getExpire("integration-gcra:" + key + ":gcra", TimeUnit.MILLISECONDS);
+    assertThat(ttl).isBetween(119_000L, 120_000L);
+  }
+
   @Test
   void enforcesLimitUnderConcurrentAccess() throws Exception {
     int limit = 20;
@@ -3,23 +3,43 @@ package io.github.v4runsharma.ratelimiter.redis;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
 import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
 import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitRequest;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.nio.ByteBuffer;
 import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveScriptingCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 class RedisRateLimiterTest {
 
@@ -55,6 +75,55 @@ class RedisRateLimiterTest {
     verify(redisTemplate).expire("ratelimiter:customer-1:1700000000000", Duration.ofSeconds(11));
   }
 
+  @Test
+  void evaluateAsyncFallsBackToSynchronousEvaluationWithoutLettuce() {
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(valueOperations.increment(anyString())).thenReturn(3L);
+
+    RateLimitDecision decision = rateLimiter.evaluateAsync("customer-1", policy).toCompletableFuture().join();
+
+    assertThat(decision.isAllowed()).isFalse();
+    verify(valueOperations).increment("ratelimiter:customer-1:1700000000000");
+  }
+
+  @Test
+  void evaluateAsyncUsesLettuceConnectionWithoutBlocking() {
+    LettuceLikeConnectionFactory connectionFactory = mock(LettuceLikeConnectionFactory.class);
+    ReactiveRedisConnection reactiveConnection = mock(ReactiveRedisConnection.class);
+    ReactiveScriptingCommands scriptingCommands = mock(ReactiveScriptingCommands.class);
+    when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+    when(connectionFactory.getReactiveConnection()).thenReturn(reactiveConnection);
+    when(reactiveConnection.scriptingCommands()).thenReturn(scriptingCommands);
+    when(reactiveConnection.closeLater()).thenReturn(Mono.empty());
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(ByteBuffer.class), any(ByteBuffer.class),
+        any(ByteBuffer.class), any(ByteBuffer.class)))
+        .thenReturn(Flux.just(1L));
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    RedisRateLimiter scripted =
+        new RedisRateLimiter(redisTemplate, Clock.fixed(FIXED_TIME, ZoneOffset.UTC), "ratelimiter", false, true);
+
+    RateLimitDecision decision = scripted.evaluateAsync("customer-1", policy).toCompletableFuture().join();
+
+    assertThat(decision.isAllowed()).isTrue();
+    verify(redisTemplate, never()).execute(any(RedisCallback.class));
+    verify(valueOperations, never()).increment(anyString());
+  }
+
+  @Test
+  void evaluateAsyncKeepsCommandModeOnLettuce() {
+    LettuceLikeConnectionFactory connectionFactory = mock(LettuceLikeConnectionFactory.class);
+    when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+    when(valueOperations.increment(anyString())).thenReturn(1L);
+    when(redisTemplate.expire(anyString(), any(Duration.class))).thenReturn(true);
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+
+    RateLimitDecision decision = rateLimiter.evaluateAsync("customer-1", policy).toCompletableFuture().join();
+
+    assertThat(decision.isAllowed()).isTrue();
+    verify(valueOperations).increment("ratelimiter:customer-1:1700000000000");
+    verify(connectionFactory, never()).getReactiveConnection();
+  }
+
   @Test
   void evaluateBlocksRequestWhenLimitExceeded() {
     RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
@@ -115,4 +184,365 @@ class RedisRateLimiterTest {
     assertThat(decision.getRetryAfter()).isEmpty();
     assertThat(decision.getResetAfter()).isPresent();
   }
+
+  @Test
+  void evaluateUsesSingleScriptCallInScriptMode() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RedisRateLimiter scriptLimiter = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "ratelimiter",
+        false,
+        true
+    );
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class)))
+        .thenReturn(List.of(3L));
+
+    RateLimitDecision decision = scriptLimiter.evaluate("customer-5", policy);
+
+    assertThat(decision.isAllowed()).isFalse();
+    assertThat(decision.getRetryAfter()).isPresent();
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(1),
+        eq("ratelimiter:customer-5:1700000000000".getBytes()),
+        eq("11000".getBytes()),
+        eq("2".getBytes()),
+        eq("1".getBytes())
+    );
+    verify(valueOperations, never()).increment(anyString());
+    verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+  }
+
+  @Test
+  void weightedEvaluationSendsCostToScript() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RedisRateLimiter scriptLimiter = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "ratelimiter",
+        false,
+        true
+    );
+    RateLimitPolicy policy = new RateLimitPolicy(100, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class)))
+        .thenReturn(List.of(120L, 6_000L));
+
+    RateLimitDecision decision = scriptLimiter.evaluate("export", policy, 50);
+
+    assertThat(decision.isAllowed()).isFalse();
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(1),
+        eq("ratelimiter:export:1700000000000".getBytes()),
+        eq("11000".getBytes()),
+        eq("100".getBytes()),
+        eq("50".getBytes())
+    );
+  }
+
+  @Test
+  void weightedEvaluationIsScriptedInCommandMode() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy policy = new RateLimitPolicy(100, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class)))
+        .thenReturn(List.of(30L, 6_000L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("export", policy, 30);
+
+    assertThat(decision.isAllowed()).isTrue();
+    verify(valueOperations, never()).increment(anyString(), anyLong());
+    verify(valueOperations, never()).decrement(anyString(), anyLong());
+  }
+
+  @Test
+  void compactCodecSendsKeyDigestAndWindowIndex() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RedisRateLimiter compactLimiter = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "ratelimiter",
+        false,
+        true,
+        RedisKeyLayout.STANDARD,
+        RedisKeyCodec.COMPACT
+    );
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class)))
+        .thenReturn(List.of(1L));
+
+    assertThat(compactLimiter.evaluate("customer-5", policy).isAllowed()).isTrue();
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(1),
+        eq("ratelimiter:a88UOo0BixD4hZc4:2t7ou8".getBytes()),
+        eq("11000".getBytes()),
+        eq("2".getBytes()),
+        eq("1".getBytes())
+    );
+  }
+
+  @Test
+  void evaluateFallsBackToEvalWhenScriptIsNotCached() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RedisRateLimiter scriptLimiter = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "ratelimiter",
+        false,
+        true
+    );
+    RateLimitPolicy policy = new RateLimitPolicy(2, Duration.ofSeconds(10), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), any(ReturnType.class), anyInt(), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class)))
+        .thenThrow(new RedisSystemException("NOSCRIPT No matching script", null));
+    when(scriptingCommands.eval(any(byte[].class), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class)))
+        .thenReturn(List.of(1L));
+
+    RateLimitDecision decision = scriptLimiter.evaluate("customer-6", policy);
+
+    assertThat(decision.isAllowed()).isTrue();
+    verify(scriptingCommands).eval(any(byte[].class), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class));
+  }
+
+  @Test
+  void evaluateSlidingWindowReadsCurrentAndPreviousBucket() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy policy = new RateLimitPolicy(5, Duration.ofSeconds(10), "GLOBAL", RateLimitAlgorithm.SLIDING_WINDOW);
+    when(scriptingCommands.evalSha(
+        anyString(), eq(ReturnType.MULTI), eq(2), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class), any(byte[].class), any(byte[].class), any(byte[].class)
+    )).thenReturn(List.of(0L, 3L, 6L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("customer-7", policy);
+
+    assertThat(decision.isAllowed()).isFalse();
+    // 6 * (10000 - t) / 10000 + 3 <= 4 once t >= 8334ms into the window; 5123ms have elapsed.
+    assertThat(decision.getRetryAfter()).contains(Duration.ofMillis(3211));
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(2),
+        eq("ratelimiter:customer-7:1700000000000".getBytes()),
+        eq("ratelimiter:customer-7:1699999990000".getBytes()),
+        eq("5".getBytes()),
+        eq("10000".getBytes()),
+        eq("5123".getBytes()),
+        eq("21000".getBytes()),
+        eq("1".getBytes())
+    );
+    verify(valueOperations, never()).increment(anyString());
+  }
+
+  @Test
+  void evaluateSlidingWindowAllowsWhenScriptAdmits() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy policy = new RateLimitPolicy(5, Duration.ofSeconds(10), "GLOBAL", RateLimitAlgorithm.SLIDING_WINDOW);
+    when(scriptingCommands.evalSha(
+        anyString(), eq(ReturnType.MULTI), eq(2), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class), any(byte[].class), any(byte[].class), any(byte[].class)
+    )).thenReturn(List.of(1L, 1L, 2L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("customer-8", policy);
+
+    assertThat(decision.isAllowed()).isTrue();
+    assertThat(decision.getRetryAfter()).isEmpty();
+    assertThat(decision.getResetAfter()).contains(Duration.ofMillis(4877));
+  }
+
+  @Test
+  void evaluateTokenBucketReturnsExactTimeUntilNextToken() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy policy = new RateLimitPolicy(10, Duration.ofSeconds(1), "GLOBAL", RateLimitAlgorithm.TOKEN_BUCKET, 20);
+    when(scriptingCommands.evalSha(
+        anyString(), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class), any(byte[].class),
+        any(byte[].class), any(byte[].class), any(byte[].class), any(byte[].class)
+    )).thenReturn(List.of(0L, 0L, 37L, 1_937L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("customer-9", policy);
+
+    assertThat(decision.isAllowed()).isFalse();
+    assertThat(decision.getRetryAfter()).contains(Duration.ofMillis(37));
+    assertThat(decision.getResetAfter()).contains(Duration.ofMillis(1_937));
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(1),
+        eq("ratelimiter:customer-9:tb".getBytes()),
+        eq("20".getBytes()),
+        eq("10".getBytes()),
+        eq("1000".getBytes()),
+        eq("1700000005123".getBytes()),
+        eq("1".getBytes()),
+        eq("1000".getBytes())
+    );
+  }
+
+  @Test
+  void evaluateGcraSendsEmissionIntervalAndIgnoresLocalClock() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy policy = new RateLimitPolicy(4, Duration.ofSeconds(1), "GLOBAL", RateLimitAlgorithm.GCRA, 2);
+    when(scriptingCommands.evalSha(
+        anyString(), eq(ReturnType.MULTI), eq(1), any(byte[].class), any(byte[].class), any(byte[].class),
+        any(byte[].class)
+    )).thenReturn(List.of(0L, 0L, 250L, 250L));
+
+    RateLimitDecision decision = rateLimiter.evaluate("customer-10", policy);
+
+    assertThat(decision.isAllowed()).isFalse();
+    assertThat(decision.getRetryAfter()).contains(Duration.ofMillis(250));
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(1),
+        eq("ratelimiter:customer-10:gcra".getBytes()),
+        eq("250000".getBytes()),
+        eq("2".getBytes()),
+        eq("1".getBytes())
+    );
+  }
+
+  @Test
+  void leasedPolicyAdmitsFromLocalSliceAndDeniesLocallyOnceBudgetIsUsed() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy policy = new RateLimitPolicy(4, Duration.ofSeconds(10), "GLOBAL", RateLimitAlgorithm.FIXED_WINDOW, 4, 3);
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(1), any(byte[][].class)))
+        .thenReturn(List.of(3L, 9_000L))
+        .thenReturn(List.of(1L, 9_000L))
+        .thenReturn(List.of(0L, 9_000L));
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(rateLimiter.evaluate("hot", policy).isAllowed()).isTrue();
+    }
+    assertThat(rateLimiter.evaluate("hot", policy).isAllowed()).isFalse();
+    RateLimitDecision denied = rateLimiter.evaluate("hot", policy);
+
+    assertThat(denied.isAllowed()).isFalse();
+    assertThat(denied.getRetryAfter()).contains(Duration.ofMillis(4_877));
+    verify(scriptingCommands, times(3)).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(1),
+        eq("ratelimiter:hot:1700000000000".getBytes()),
+        eq("4".getBytes()),
+        eq("3".getBytes()),
+        eq("11000".getBytes())
+    );
+  }
+
+  @Test
+  void evaluateCompositeChecksAllTiersInOneScriptCall() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RateLimitPolicy perSecond = new RateLimitPolicy(2, Duration.ofSeconds(1), "GLOBAL");
+    RateLimitPolicy perMinute = new RateLimitPolicy(100, Duration.ofMinutes(1), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(4), any(byte[][].class)))
+        .thenReturn(List.of(0L, 3L, 0L, 0L, 1L, 50L, 0L, 0L));
+
+    List<RateLimitDecision> decisions = rateLimiter.evaluateComposite(List.of(
+        new RateLimitRequest("second", perSecond),
+        new RateLimitRequest("minute", perMinute)
+    ));
+
+    assertThat(decisions).hasSize(2);
+    assertThat(decisions.get(0).isAllowed()).isFalse();
+    assertThat(decisions.get(0).getRetryAfter()).contains(Duration.ofMillis(877));
+    assertThat(decisions.get(1).isAllowed()).isTrue();
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(4),
+        eq("ratelimiter:second:1700000005000".getBytes()),
+        eq("ratelimiter:second:1700000005000".getBytes()),
+        eq("ratelimiter:minute:1699999980000".getBytes()),
+        eq("ratelimiter:minute:1699999980000".getBytes()),
+        eq("1700000005123".getBytes()),
+        eq("fw".getBytes()),
+        eq("2".getBytes()),
+        eq("2000".getBytes()),
+        eq("0".getBytes()),
+        eq("0".getBytes()),
+        eq("1".getBytes()),
+        eq("fw".getBytes()),
+        eq("100".getBytes()),
+        eq("61000".getBytes()),
+        eq("0".getBytes()),
+        eq("0".getBytes()),
+        eq("1".getBytes())
+    );
+  }
+
+  @Test
+  void hashTagLayoutKeepsAllBucketsOfKeyAndCompositeTiersInOneSlot() {
+    RedisScriptingCommands scriptingCommands = stubScriptingCommands();
+    RedisRateLimiter clusterLimiter = new RedisRateLimiter(
+        redisTemplate,
+        Clock.fixed(FIXED_TIME, ZoneOffset.UTC),
+        "ratelimiter",
+        false,
+        true,
+        RedisKeyLayout.HASH_TAG,
+        RedisKeyCodec.PLAIN
+    );
+    RateLimitPolicy sliding = new RateLimitPolicy(5, Duration.ofSeconds(10), "GLOBAL", RateLimitAlgorithm.SLIDING_WINDOW);
+    RateLimitPolicy perMinute = new RateLimitPolicy(100, Duration.ofMinutes(1), "GLOBAL");
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(2), any(byte[][].class)))
+        .thenReturn(List.of(1L, 1L, 2L));
+    when(scriptingCommands.evalSha(anyString(), eq(ReturnType.MULTI), eq(4), any(byte[][].class)))
+        .thenReturn(List.of(1L, 1L, 2L, 0L, 1L, 50L, 0L, 0L));
+
+    clusterLimiter.evaluate("customer-9", sliding);
+    clusterLimiter.evaluateComposite(List.of(
+        new RateLimitRequest("customer-9", sliding),
+        new RateLimitRequest("customer-9:minute", perMinute)
+    ));
+
+    verify(scriptingCommands).evalSha(
+        anyString(),
+        eq(ReturnType.MULTI),
+        eq(2),
+        eq("ratelimiter:{customer-9}:1700000000000".getBytes()),
+        eq("ratelimiter:{customer-9}:1699999990000".getBytes()),
+        eq("5".getBytes()),
+        eq("10000".getBytes()),
+        eq("5123".getBytes()),
+        eq("21000".getBytes()),
+        eq("1".getBytes())
+    );
+    ArgumentCaptor<byte[][]> keysAndArgs = ArgumentCaptor.forClass(byte[][].class);
+    verify(scriptingCommands).evalSha(anyString(), eq(ReturnType.MULTI), eq(4), keysAndArgs.capture());
+    assertThat(List.of(keysAndArgs.getValue()).subList(0, 4))
+        .extracting(String::new)
+        .containsExactly(
+            "ratelimiter:{customer-9}:1700000000000",
+            "ratelimiter:{customer-9}:1699999990000",
+            "ratelimiter:{customer-9}:customer-9:minute:1699999980000",
+            "ratelimiter:{customer-9}:customer-9:minute:1699999980000"
+        );
+  }
+
+  @SuppressWarnings("unchecked")
+  private RedisScriptingCommands stubScriptingCommands() {
+    RedisConnection connection = mock(RedisConnection.class);
+    RedisScriptingCommands scriptingCommands = mock(RedisScriptingCommands.class);
+    when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+    when(redisTemplate.execute(any(RedisCallback.class)))
+        .thenAnswer(invocation -> ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+    return scriptingCommands;
+  }
+
+  /**
+   * Mirrors {@code LettuceConnectionFactory}, which serves both blocking and reactive connections.
+   */
+  interface LettuceLikeConnectionFactory extends RedisConnectionFactory, ReactiveRedisConnectionFactory {
+  }
 }
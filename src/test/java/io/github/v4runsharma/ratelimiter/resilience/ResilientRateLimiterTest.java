@@ -0,0 +1,71 @@
+package io.github.v4runsharma.ratelimiter.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.exception.RateLimiterBackendException;
+import io.github.v4runsharma.ratelimiter.metrics.RateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ResilientRateLimiterTest {
+
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(10, Duration.ofSeconds(1), "GLOBAL");
+  private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L, null, null);
+  private static final RateLimitDecision DENIED =
+      new RateLimitDecision(false, 500L, Duration.ofMillis(500), Duration.ofMillis(500));
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final RateLimiter delegate = mock(RateLimiter.class);
+  private final RateLimiter localFallback = mock(RateLimiter.class);
+  private final RateLimitMetricsRecorder metricsRecorder = mock(RateLimitMetricsRecorder.class);
+
+  @Test
+  void opensOnFailuresDegradesLocallyAndClosesAfterProbes() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(
+        4, 2, 0.5d, Duration.ofSeconds(1), 1.0d, Duration.ofSeconds(5), 1, nanoTime::get);
+    ResilientRateLimiter rateLimiter = new ResilientRateLimiter(
+        delegate, Duration.ofSeconds(1), circuitBreaker, FailureMode.DEGRADE_LOCAL, localFallback, metricsRecorder);
+    when(delegate.evaluateAsync("k", POLICY))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")))
+        .thenReturn(CompletableFuture.completedFuture(ALLOWED));
+    when(localFallback.evaluateAsync("k", POLICY)).thenReturn(CompletableFuture.completedFuture(DENIED));
+
+    assertThat(rateLimiter.evaluate("k", POLICY)).isSameAs(DENIED);
+    assertThat(rateLimiter.evaluate("k", POLICY)).isSameAs(ALLOWED);
+    assertThat(rateLimiter.getCircuitState()).isEqualTo(CircuitState.OPEN);
+    assertThat(rateLimiter.evaluate("k", POLICY)).isSameAs(DENIED);
+    verify(delegate, times(2)).evaluateAsync("k", POLICY);
+
+    nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+    assertThat(rateLimiter.evaluate("k", POLICY)).isSameAs(ALLOWED);
+    assertThat(rateLimiter.getCircuitState()).isEqualTo(CircuitState.CLOSED);
+    verify(metricsRecorder, times(2)).recordCircuitState(CircuitState.CLOSED);
+    verify(metricsRecorder).recordCircuitState(CircuitState.OPEN);
+    verify(metricsRecorder).recordCircuitState(CircuitState.HALF_OPEN);
+  }
+
+  @Test
+  void failsClosedWhenBackendMissesDeadline() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker(
+        10, 10, 0.5d, Duration.ofSeconds(1), 1.0d, Duration.ofSeconds(5), 1, nanoTime::get);
+    ResilientRateLimiter rateLimiter = new ResilientRateLimiter(
+        delegate, Duration.ofMillis(20), circuitBreaker, FailureMode.FAIL_CLOSED, null, metricsRecorder);
+    when(delegate.evaluateAsync("k", POLICY)).thenReturn(new CompletableFuture<>());
+
+    assertThatThrownBy(() -> rateLimiter.evaluate("k", POLICY))
+        .isInstanceOf(RateLimiterBackendException.class)
+        .hasMessageContaining("did not answer");
+    verify(localFallback, never()).evaluateAsync("k", POLICY);
+  }
+}
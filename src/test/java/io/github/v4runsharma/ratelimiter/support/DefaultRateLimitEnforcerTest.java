@@ -0,0 +1,68 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.key.DefaultRateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DefaultRateLimitEnforcerTest {
+
+  private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L, null, Duration.ofSeconds(1));
+
+  private final RateLimiter rateLimiter = mock(RateLimiter.class);
+
+  @Test
+  void rejectsWeightedMethodWhenLimiterDoesNotSupportCost() throws NoSuchMethodException {
+    DefaultRateLimitEnforcer enforcer = enforcer();
+
+    assertThatThrownBy(() -> enforcer.evaluate(context("bulk")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Orders.bulk()")
+        .hasMessageContaining(rateLimiter.getClass().getName());
+    verify(rateLimiter, never()).evaluate(anyString(), any(RateLimitPolicy.class), eq(5));
+  }
+
+  @Test
+  void chargesDeclaredCostWhenLimiterSupportsCost() throws NoSuchMethodException {
+    when(rateLimiter.supportsCost()).thenReturn(true);
+    when(rateLimiter.evaluate(anyString(), any(RateLimitPolicy.class), eq(5))).thenReturn(ALLOWED);
+
+    assertThat(enforcer().evaluate(context("bulk")).isAllowed()).isTrue();
+  }
+
+  private DefaultRateLimitEnforcer enforcer() {
+    return new DefaultRateLimitEnforcer(
+        rateLimiter,
+        new AnnotationRateLimitPolicyProvider(),
+        new DefaultRateLimitKeyResolver(),
+        List.of()
+    );
+  }
+
+  private static DefaultRateLimitContext context(String methodName) throws NoSuchMethodException {
+    Method method = Orders.class.getMethod(methodName);
+    return new DefaultRateLimitContext(method.getAnnotation(RateLimit.class), Orders.class, method, null, new Orders());
+  }
+
+  static class Orders {
+
+    @RateLimit(limit = 10, duration = 1, cost = 5)
+    public void bulk() {
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.model.RateLimitAlgorithm;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicyOverride;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OverridableRateLimitPolicyProviderTest {
+
+  private final OverridableRateLimitPolicyProvider provider =
+      new OverridableRateLimitPolicyProvider(new AnnotationRateLimitPolicyProvider());
+
+  @Test
+  void appliesOverridesByNameAndRevertsWhenRemoved() throws NoSuchMethodException {
+    DefaultRateLimitContext context = context("search");
+    RateLimitPolicy declared = provider.resolvePolicy(context);
+
+    provider.update(Map.of("search", new RateLimitPolicyOverride(50, Duration.ofMinutes(1), null, null)));
+    RateLimitPolicy overridden = provider.resolvePolicy(context);
+    provider.update(Map.of());
+    RateLimitPolicy reverted = provider.resolvePolicy(context);
+
+    assertThat(declared.getLimit()).isEqualTo(10);
+    assertThat(overridden.getLimit()).isEqualTo(50);
+    assertThat(overridden.getWindow()).isEqualTo(Duration.ofMinutes(1));
+    assertThat(overridden.getBurstCapacity()).isEqualTo(50);
+    assertThat(overridden.getScope()).isEqualTo("USER");
+    assertThat(overridden.getAlgorithm()).isEqualTo(RateLimitAlgorithm.FIXED_WINDOW);
+    assertThat(reverted).isEqualTo(declared);
+  }
+
+  @Test
+  void resolvesEachPolicyOncePerUpdate() throws NoSuchMethodException {
+    provider.update(Map.of("search", new RateLimitPolicyOverride(null, null, RateLimitAlgorithm.TOKEN_BUCKET, 5)));
+
+    RateLimitPolicy first = provider.resolvePolicy(context("search"));
+    RateLimitPolicy second = provider.resolvePolicy(context("search"));
+
+    assertThat(first).isSameAs(second);
+    assertThat(first.getAlgorithm()).isEqualTo(RateLimitAlgorithm.TOKEN_BUCKET);
+    assertThat(first.getBurstCapacity()).isEqualTo(5);
+    assertThat(provider.resolvePolicy(context("export")).getAlgorithm()).isEqualTo(RateLimitAlgorithm.FIXED_WINDOW);
+  }
+
+  private static DefaultRateLimitContext context(String methodName) throws NoSuchMethodException {
+    Method method = Endpoints.class.getMethod(methodName);
+    return new DefaultRateLimitContext(
+        method.getAnnotation(RateLimit.class), Endpoints.class, method, new Object[0], null);
+  }
+
+  static class Endpoints {
+
+    @RateLimit(name = "search", scope = "USER", limit = 10, duration = 1)
+    public void search() {
+    }
+
+    @RateLimit(name = "export", limit = 2, duration = 1)
+    public void export() {
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package io.github.v4runsharma.ratelimiter.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RateLimitMetadataCacheTest {
+
+  private final RateLimitMetadataCache<String> cache = new RateLimitMetadataCache<>();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void loadsOncePerMethodAndAnnotation() throws NoSuchMethodException {
+    Method method = Endpoints.class.getMethod("list");
+    RateLimit annotation = method.getAnnotation(RateLimit.class);
+
+    String first = cache.get(context(annotation, method), this::load);
+    String second = cache.get(context(annotation, method), this::load);
+
+    assertThat(first).isSameAs(second);
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void reloadsWhenContextCarriesAnotherAnnotation() throws NoSuchMethodException {
+    Method method = Endpoints.class.getMethod("list");
+
+    cache.get(context(method.getAnnotation(RateLimit.class), method), this::load);
+    cache.get(context(Endpoints.class.getMethod("other").getAnnotation(RateLimit.class), method), this::load);
+
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  private String load(Object context) {
+    loads.incrementAndGet();
+    return "value-" + loads.get();
+  }
+
+  private static DefaultRateLimitContext context(RateLimit annotation, Method method) {
+    return new DefaultRateLimitContext(annotation, Endpoints.class, method, new Object[0], null);
+  }
+
+  static class Endpoints {
+
+    @RateLimit(limit = 1, duration = 1)
+    public void list() {
+    }
+
+    @RateLimit(limit = 2, duration = 1)
+    public void other() {
+    }
+  }
+}
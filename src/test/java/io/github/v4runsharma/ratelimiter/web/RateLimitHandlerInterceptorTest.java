@@ -0,0 +1,180 @@
+package io.github.v4runsharma.ratelimiter.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.v4runsharma.ratelimiter.annotation.RateLimit;
+import io.github.v4runsharma.ratelimiter.core.RateLimitContext;
+import io.github.v4runsharma.ratelimiter.core.RateLimitEnforcer;
+import io.github.v4runsharma.ratelimiter.core.RateLimiter;
+import io.github.v4runsharma.ratelimiter.key.DefaultRateLimitKeyResolver;
+import io.github.v4runsharma.ratelimiter.metrics.NoOpRateLimitMetricsRecorder;
+import io.github.v4runsharma.ratelimiter.model.RateLimitDecision;
+import io.github.v4runsharma.ratelimiter.model.RateLimitPolicy;
+import io.github.v4runsharma.ratelimiter.support.AnnotationRateLimitPolicyProvider;
+import io.github.v4runsharma.ratelimiter.support.DefaultRateLimitEnforcer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class RateLimitHandlerInterceptorTest {
+
+  private static final RateLimitPolicy POLICY = new RateLimitPolicy(5, Duration.ofSeconds(10), "IP");
+  private static final RateLimitDecision DENIED =
+      new RateLimitDecision(false, 3_000L, Duration.ofSeconds(3), Duration.ofSeconds(3));
+  private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L, null, Duration.ofSeconds(10));
+
+  private RateLimitEnforcer enforcer;
+  private RateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    enforcer = mock(RateLimitEnforcer.class);
+    rateLimiter = mock(RateLimiter.class);
+  }
+
+  @Test
+  void deniedRuleWritesTooManyRequestsWithoutReachingHandler() throws Exception {
+    RateLimitRule rule = new RateLimitRule("/api/**", Set.of("get"), "api", POLICY);
+    RateLimitHandlerInterceptor interceptor = interceptor(List.of(rule));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+    request.setRemoteAddr("10.0.0.7");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    when(rateLimiter.evaluate("ip:api:10.0.0.7", POLICY)).thenReturn(DENIED);
+
+    boolean proceed = interceptor.preHandle(request, response, handler("limited"));
+
+    assertThat(proceed).isFalse();
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getContentType()).startsWith("application/problem+json");
+    assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+    assertThat(response.getContentAsString())
+        .contains("\"status\":429", "\"limit\":5", "\"retryAfterSeconds\":3", "\"name\":\"api\"");
+    verifyNoInteractions(enforcer);
+  }
+
+  @Test
+  void admittedHandlerIsMarkedForTheAopInterceptor() throws Exception {
+    RateLimitHandlerInterceptor interceptor = interceptor(List.of());
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    HandlerMethod handler = handler("limited");
+
+    boolean proceed = interceptor.preHandle(request, response, handler);
+
+    assertThat(proceed).isTrue();
+    assertThat(request.getAttribute(RateLimitHandlerInterceptor.ENFORCED_HANDLER_ATTRIBUTE))
+        .isEqualTo(handler.getMethod());
+    verify(enforcer).enforce(any(RateLimitContext.class));
+  }
+
+  @Test
+  void deniedHandlerReportsTheTierThatDenied() throws Exception {
+    enforcer = new DefaultRateLimitEnforcer(
+        rateLimiter,
+        new AnnotationRateLimitPolicyProvider(),
+        new DefaultRateLimitKeyResolver(),
+        List.of()
+    );
+    RateLimitHandlerInterceptor interceptor = interceptor(List.of());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    when(rateLimiter.evaluateComposite(any())).thenReturn(List.of(ALLOWED, DENIED));
+
+    boolean proceed = interceptor.preHandle(
+        new MockHttpServletRequest("GET", "/orders"), response, handler("tiered"));
+
+    assertThat(proceed).isFalse();
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getContentAsString())
+        .contains("\"name\":\"per-minute\"", "\"limit\":100")
+        .doesNotContain("per-second");
+  }
+
+  @Test
+  void handlerWithCostExpressionIsLeftToTheAopInterceptor() throws Exception {
+    RateLimitHandlerInterceptor interceptor = interceptor(List.of());
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+
+    boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), handler("weighted"));
+
+    assertThat(proceed).isTrue();
+    assertThat(request.getAttribute(RateLimitHandlerInterceptor.ENFORCED_HANDLER_ATTRIBUTE)).isNull();
+    verifyNoInteractions(enforcer);
+  }
+
+  @Test
+  void inheritedHandlerUsesTheClassLevelLimitsOfEachController() throws Exception {
+    RateLimitHandlerInterceptor interceptor = interceptor(List.of());
+    ArgumentCaptor<RateLimitContext> contexts = ArgumentCaptor.forClass(RateLimitContext.class);
+
+    interceptor.preHandle(new MockHttpServletRequest("GET", "/a"), new MockHttpServletResponse(),
+        new HandlerMethod(new StrictController(), BaseController.class.getMethod("list")));
+    interceptor.preHandle(new MockHttpServletRequest("GET", "/b"), new MockHttpServletResponse(),
+        new HandlerMethod(new RelaxedController(), BaseController.class.getMethod("list")));
+
+    verify(enforcer, times(2)).enforce(contexts.capture());
+    assertThat(contexts.getAllValues())
+        .extracting(context -> context.getAnnotation().limit())
+        .containsExactly(1, 1000);
+  }
+
+  private RateLimitHandlerInterceptor interceptor(List<RateLimitRule> rules) {
+    return new RateLimitHandlerInterceptor(
+        enforcer,
+        rateLimiter,
+        rules,
+        new NoOpRateLimitMetricsRecorder(),
+        new RateLimitResponseWriter(true)
+    );
+  }
+
+  private static HandlerMethod handler(String methodName) throws NoSuchMethodException {
+    return new HandlerMethod(new OrderController(), OrderController.class.getMethod(methodName, List.class));
+  }
+
+  static class BaseController {
+
+    public String list() {
+      return "ok";
+    }
+  }
+
+  @RateLimit(limit = 1, duration = 1)
+  static class StrictController extends BaseController {
+  }
+
+  @RateLimit(limit = 1000, duration = 1)
+  static class RelaxedController extends BaseController {
+  }
+
+  static class OrderController {
+
+    @RateLimit(limit = 5, duration = 10)
+    public String limited(List<String> items) {
+      return "ok";
+    }
+
+    @RateLimit(name = "per-second", limit = 10, duration = 1)
+    @RateLimit(name = "per-minute", limit = 100, duration = 1, timeUnit = TimeUnit.MINUTES)
+    public String tiered(List<String> items) {
+      return "ok";
+    }
+
+    @RateLimit(limit = 100, duration = 1, costExpression = "#items.size()")
+    public String weighted(List<String> items) {
+      return "ok";
+    }
+  }
+}